@@ -27,11 +27,22 @@ java {
     targetCompatibility = JavaVersion.VERSION_14
 }
 
+// Source Sets
+// ========================================
+
+sourceSets {
+    create("benchmark") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
 // Dependency Management
 // ========================================
 
 dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.6.1")
+    testImplementation("org.openjdk.jol:jol-core:0.10")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.6.1")
 }
 
@@ -80,3 +91,10 @@ val jar by tasks.getting(Jar::class) {
 val test by tasks.getting(Test::class) {
     useJUnitPlatform()
 }
+
+val benchmark by tasks.registering(JavaExec::class) {
+    description = "Runs the throughput benchmarks."
+    group       = "verification"
+    classpath   = sourceSets["benchmark"].runtimeClasspath
+    main        = "griz.jadt.graph.Benchmarks"
+}
@@ -0,0 +1,108 @@
+package griz.jadt.graph;
+
+import griz.jadt.graph.AllPairsShortestPaths.Strategy;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Reports the running time of graph algorithms on generated inputs. Correctness is covered by the unit tests; these
+ * runs only measure, and are started with the {@code benchmark} Gradle task.
+ *
+ * @author nichollsmc
+ */
+final class Benchmarks {
+
+    private static final int WARMUPS = 2;
+    private static final int RUNS    = 5;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs every benchmark.
+     *
+     * @param args unused
+     */
+    public static void main(final String[] args) {
+        allPairsShortestPaths();
+        compressedGraph();
+    }
+
+    private static void allPairsShortestPaths() {
+        final var n = 1_000;
+        final var random = new Random(11);
+        final var graph = new DirectedGraph<Integer, SimpleWeightedEdge<Integer>>();
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+        for (int i = 0; i < 8 * n; i++) {
+            graph.addEdge(new SimpleWeightedEdge<>(random.nextInt(n), random.nextInt(n), random.nextInt(100) / 4d));
+        }
+
+        for (final var strategy : new Strategy[] { Strategy.FLOYD_WARSHALL, Strategy.DIJKSTRA }) {
+            final var millis = bestMillis(() -> new AllPairsShortestPaths<>(graph, strategy, false));
+            System.out.printf("all-pairs over %d vertices and %d edges: %s %d ms%n", n, 8 * n, strategy, millis);
+        }
+    }
+
+    private static void compressedGraph() {
+        final var n = 50_000;
+        final var degree = 16;
+        final var random = new Random(5);
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+        var previous = new int[0];
+        for (int v = 0; v < n; v++) {
+            final var neighbors = new int[degree];
+            for (int i = 0; i < degree; i++) {
+                if (i < previous.length && random.nextInt(4) != 0) {
+                    neighbors[i] = previous[i];
+                } else if (random.nextInt(10) == 0) {
+                    neighbors[i] = random.nextInt(n);
+                } else {
+                    neighbors[i] = Math.floorMod(v + random.nextInt(64) - 16, n);
+                }
+                graph.addEdge(new SimpleEdge<>(v, neighbors[i]));
+            }
+            previous = neighbors;
+        }
+
+        final var compressed = CompressedGraph.of(graph);
+        final var millis = bestMillis(() -> {
+            var decoded = 0L;
+            for (final var vertex : compressed) {
+                for (final var edges = compressed.edgesFrom(vertex); edges.hasNext(); edges.next()) {
+                    decoded++;
+                }
+            }
+
+            return decoded;
+        });
+        System.out.printf("compressed adjacency: ratio=%.2f, %.2f bits per edge, %.1f M edges/s%n",
+                compressed.compressionRatio(), compressed.bitsPerEdge(),
+                compressed.numEdges() / 1e3 / Math.max(1, millis));
+    }
+
+    /**
+     * Runs the provided task a few times after warming it up.
+     *
+     * @param task the task
+     * @return the shortest running time in milliseconds
+     */
+    private static long bestMillis(final Supplier<?> task) {
+        for (int i = 0; i < WARMUPS; i++) {
+            task.get();
+        }
+
+        var best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            final var start = System.nanoTime();
+            task.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        return best / 1_000_000;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -24,9 +25,19 @@ import java.util.Optional;
  */
 public abstract class AbstractGraph<V, E extends Edge<V>> implements Graph<V, E> {
 
+    /**
+     * The {@link #modificationCount() modification count} reported by graphs that cannot track structural
+     * modifications, such as views of graphs that do not extend {@code AbstractGraph}. Results derived from such graphs
+     * are never reused.
+     */
+    public static final long UNTRACKED = -1L;
+
     private Map<V, DepthFirstMetaModel<E>> depthFirstForest;
     private Deque<V>                       topologicalOrder;
     private Deque<E>                       directedCycle;
+    private AlgorithmRecorder              recorder;
+    private long                           modificationCount;
+    private long                           depthFirstVersion = -1L;
 
     /**
      * Default no-arg constructor. (For invocation by subclass constructors, typically implicit.)
@@ -62,11 +73,45 @@ public abstract class AbstractGraph<V, E extends Edge<V>> implements Graph<V, E>
         throw new GraphException(new LinkedList<>(directedCycle));
     }
 
+    /**
+     * Returns the number of structural modifications made to the graph.
+     * <p>
+     * The count is incremented whenever an edge or vertex is added to or removed from the graph, and is used to
+     * invalidate results derived from the structure of the graph, such as its topological order.
+     *
+     * @return the number of structural modifications made to the graph
+     */
+    public long modificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Records a structural modification of the graph. Implementations must invoke this method whenever an edge or
+     * vertex is added or removed.
+     */
+    void structureModified() {
+        modificationCount++;
+    }
+
     private void depthFirstUpdate() {
-        if (topologicalOrder == null) {
+        final var version = modificationCount();
+        if (topologicalOrder == null || depthFirstVersion != version || version == UNTRACKED) {
+            directedCycle = null;
             topologicalOrder = new ArrayDeque<>();
             depthFirstForest = new HashMap<>(numVertices());
-            visitDepthFirst();
+            recorder = AlgorithmRecorder.start(GraphMetrics.DEPTH_FIRST_SEARCH, numVertices());
+            try {
+                visitDepthFirst();
+            } catch (final RuntimeException e) {
+                topologicalOrder = null;
+                depthFirstForest = null;
+                recorder = null;
+                throw e;
+            }
+
+            recorder.finish(directedCycle != null);
+            recorder = null;
+            depthFirstVersion = version;
         }
     }
 
@@ -81,8 +126,10 @@ public abstract class AbstractGraph<V, E extends Edge<V>> implements Graph<V, E>
     }
 
     private void visitDepthFirst(final V vertex, final DepthFirstMetaModel<E> dfmm) {
+        recorder.vertexVisited();
         for (final var outEdges = edgesFrom(vertex); outEdges.hasNext();) {
             final var edge = outEdges.next();
+            recorder.edgeRelaxed();
             if (edge != dfmm.edgeFromParent) {
                 final var neighbor = neighbor(vertex, edge);
                 if (!depthFirstForest.containsKey(neighbor)) {
@@ -97,8 +144,18 @@ public abstract class AbstractGraph<V, E extends Edge<V>> implements Graph<V, E>
         topologicalOrder.addFirst(vertex);
     }
 
-    private V neighbor(final V vertex, final E edge) {
-        if (edge.source() == vertex) {
+    /**
+     * Returns the endpoint of the provided edge opposite to the provided vertex, which for a directed edge traversed
+     * from its source is its destination. Unlike {@link Edge#other(Object)}, this also supports edges traversed against
+     * their direction, such as those of a {@link Graph#reverse() reversed} view.
+     *
+     * @param <V> the type of the vertices connected by the edge
+     * @param vertex one of the endpoints of the edge
+     * @param edge the edge
+     * @return the opposite endpoint of the edge, or the vertex itself for a self-loop
+     */
+    static <V> V neighbor(final V vertex, final Edge<V> edge) {
+        if (Objects.equals(edge.source(), vertex)) {
             return edge.destination();
         } else {
             return edge.source();
@@ -106,11 +163,11 @@ public abstract class AbstractGraph<V, E extends Edge<V>> implements Graph<V, E>
     }
 
     private void checkForCycle(final V source, final E edge) {
-        var destination = edge.destination();
+        var destination = neighbor(source, edge);
         final var dfmm = depthFirstForest.get(destination);
         if (!dfmm.isFinished()) {
             directedCycle = new ArrayDeque<>(numVertices());
-            while (source != destination) {
+            while (!Objects.equals(source, destination)) {
                 final var nextEdge = depthFirstForest.get(destination).edgeFromParent;
                 if (nextEdge == null) {
                     break;
@@ -0,0 +1,232 @@
+package griz.jadt.graph;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Set} whose storage adapts to the number of elements it contains.
+ * <p>
+ * Small sets keep their elements in a compact array sized to fit, and are searched linearly. Once a set grows beyond
+ * {@link #HASH_THRESHOLD} elements its contents are moved into a {@link HashSet}, and once removals bring it back down
+ * to {@link #ARRAY_THRESHOLD} elements it returns to the array form. The gap between the two thresholds avoids
+ * repeatedly converting a set whose size hovers around a single boundary.
+ * <p>
+ * This is intended for the adjacency of graph vertices, where most vertices of real-world (power-law) graphs have only
+ * a handful of edges and a full hash table per vertex would mostly hold empty buckets.
+ * <p>
+ * <b>Note: this implementation is not thread-safe.</b>
+ *
+ * @param <E> the type of elements maintained by this set
+ *
+ * @author nichollsmc
+ */
+class AdaptiveSet<E> extends AbstractSet<E> implements Set<E>, Serializable {
+
+    private static final long serialVersionUID = 3318442468542893716L;
+
+    /**
+     * The number of elements above which the set switches to hashed storage.
+     */
+    static final int HASH_THRESHOLD = 8;
+
+    /**
+     * The number of elements at or below which a hashed set switches back to array storage.
+     */
+    static final int ARRAY_THRESHOLD = 4;
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private Object[]      elements = EMPTY;
+    private HashSet<E>    hashed;
+    private int           size;
+    private transient int modCount;
+
+    /**
+     * Creates a new, empty {@link AdaptiveSet}.
+     */
+    AdaptiveSet() {}
+
+    /**
+     * @return {@code true} if the elements are currently held in hashed storage, {@code false} if in array storage
+     */
+    boolean isHashed() {
+        return hashed != null;
+    }
+
+    @Override
+    public int size() {
+        return hashed != null ? hashed.size() : size;
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        if (hashed != null) {
+            return hashed.contains(object);
+        }
+
+        return indexOf(object) >= 0;
+    }
+
+    @Override
+    public boolean add(final E element) {
+        if (hashed != null) {
+            return hashed.add(element);
+        } else if (indexOf(element) >= 0) {
+            return false;
+        }
+
+        if (size == HASH_THRESHOLD) {
+            toHashed().add(element);
+        } else {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size == 0 ? 1 : Math.min(size << 1, HASH_THRESHOLD));
+            }
+            elements[size++] = element;
+        }
+        modCount++;
+
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object object) {
+        if (hashed != null) {
+            if (hashed.remove(object)) {
+                if (hashed.size() <= ARRAY_THRESHOLD) {
+                    toArray0();
+                }
+
+                return true;
+            }
+
+            return false;
+        }
+
+        final var index = indexOf(object);
+        if (index >= 0) {
+            removeAt(index);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        hashed = null;
+        elements = EMPTY;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        if (hashed != null) {
+            return hashed.iterator();
+        }
+
+        return new ArrayIterator();
+    }
+
+    private int indexOf(final Object object) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(elements[i], object)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void removeAt(final int index) {
+        final var moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        elements[--size] = null;
+
+        if (size == 0) {
+            elements = EMPTY;
+        } else if (size <= elements.length >> 2) {
+            elements = Arrays.copyOf(elements, size);
+        }
+        modCount++;
+    }
+
+    private HashSet<E> toHashed() {
+        hashed = new HashSet<>((HASH_THRESHOLD << 2) / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            hashed.add(element(i));
+        }
+        elements = EMPTY;
+        size = 0;
+
+        return hashed;
+    }
+
+    private void toArray0() {
+        elements = hashed.toArray();
+        size = elements.length;
+        hashed = null;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(final int index) {
+        return (E) elements[index];
+    }
+
+    /**
+     * {@link Iterator} over the elements of an {@link AdaptiveSet} in array storage.
+     */
+    private final class ArrayIterator implements Iterator<E> {
+
+        private int cursor;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public E next() {
+            checkForComodification();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+
+            last = cursor++;
+
+            return element(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+
+            removeAt(last);
+            cursor = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package griz.jadt.graph;
+
+/**
+ * Collects the statistics of a single graph algorithm run, and reports them to the installed {@link MetricsSink} and
+ * as a {@link GraphAlgorithmEvent} once the run completes.
+ * <p>
+ * Algorithms create a recorder with {@link #start(String, int)}, count their work with {@link #vertexVisited()} and
+ * {@link #edgeRelaxed()}, and call {@link #finish(boolean)} at the end of the run. When metrics are disabled and no
+ * flight recording is active, the only cost is incrementing two counters.
+ * <p>
+ * When the run takes place within a computation submitted to a {@link GraphExecutor}, every visited vertex is also a
+ * cancellation checkpoint, and the progress of the run is reported to the computation's {@link ProgressListener}.
+ * Algorithms whose inner loops do not visit vertices can add checkpoints with {@link #checkpoint()}.
+ *
+ * @author nichollsmc
+ */
+final class AlgorithmRecorder {
+
+    private final String              algorithm;
+    private final int                 graphVertices;
+    private final GraphAlgorithmEvent event;
+    private final MetricsSink         sink;
+    private final long                startNanos;
+    private final ExecutionContext    context;
+
+    private long verticesVisited;
+    private long edgesRelaxed;
+
+    private AlgorithmRecorder(final String algorithm, final int graphVertices) {
+        this.algorithm = algorithm;
+        this.graphVertices = graphVertices;
+        this.event = new GraphAlgorithmEvent();
+        this.sink = GraphMetrics.sink();
+        this.startNanos = sink != null ? System.nanoTime() : 0L;
+        this.context = ExecutionContext.current();
+        event.begin();
+    }
+
+    /**
+     * Starts recording an algorithm run.
+     *
+     * @param algorithm the name of the algorithm
+     * @param graphVertices the number of vertices of the graph the algorithm runs on
+     * @return the recorder for the run
+     */
+    static AlgorithmRecorder start(final String algorithm, final int graphVertices) {
+        return new AlgorithmRecorder(algorithm, graphVertices);
+    }
+
+    /**
+     * Counts a visited vertex.
+     *
+     * @throws java.util.concurrent.CancellationException if the computation running the algorithm has been cancelled
+     */
+    void vertexVisited() {
+        verticesVisited++;
+        if (context != null) {
+            context.checkpoint(algorithm, verticesVisited, graphVertices);
+        }
+    }
+
+    /**
+     * Checks whether the computation running the algorithm has been cancelled, without counting any work. Unlike the
+     * counting methods, this method may be invoked from threads other than the one that started the run.
+     *
+     * @throws java.util.concurrent.CancellationException if the computation running the algorithm has been cancelled
+     */
+    void checkpoint() {
+        if (context != null) {
+            context.checkpoint();
+        }
+    }
+
+    /**
+     * Counts a relaxed (examined) edge.
+     */
+    void edgeRelaxed() {
+        edgesRelaxed++;
+    }
+
+    /**
+     * Counts the provided number of relaxed edges.
+     *
+     * @param count the number of edges
+     */
+    void edgesRelaxed(final long count) {
+        edgesRelaxed += count;
+    }
+
+    /**
+     * Completes the run, reporting its statistics.
+     *
+     * @param cycleFound {@code true} if the run found a cycle, {@code false} if not
+     */
+    void finish(final boolean cycleFound) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.graphVertices = graphVertices;
+            event.verticesVisited = verticesVisited;
+            event.edgesRelaxed = edgesRelaxed;
+            event.cycleFound = cycleFound;
+            event.commit();
+        }
+
+        if (context != null) {
+            context.completed(algorithm, verticesVisited, graphVertices);
+        }
+
+        if (sink != null) {
+            sink.recordAlgorithm(algorithm, verticesVisited, edgesRelaxed, System.nanoTime() - startNanos, cycleFound);
+        }
+    }
+}
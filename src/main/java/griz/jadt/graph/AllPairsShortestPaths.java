@@ -0,0 +1,513 @@
+package griz.jadt.graph;
+
+import static griz.jadt.graph.WeightedEdge.weightOf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the shortest paths between all pairs of vertices of a {@link Graph}.
+ * <p>
+ * The length of a path is the sum of the {@link WeightedEdge#weight() weights} of its edges, where edges that are not
+ * weighted count as {@code 1.0}. Negative weights are supported as long as the graph contains no cycle of negative
+ * length. The distances are held in a flat {@code double} matrix of {@code n * n} entries, and are computed by one of
+ * two {@link Strategy strategies}:
+ * <ul>
+ * <li>{@link Strategy#FLOYD_WARSHALL}: the matrix is divided into tiles of {@value #TILE} by {@value #TILE} entries
+ * that fit in the processor cache. For each diagonal tile, the tile itself is updated first, then the tiles of its row
+ * and column in parallel, and finally all other tiles in parallel.</li>
+ * <li>{@link Strategy#DIJKSTRA}: Dijkstra's algorithm is run from every vertex in parallel. If any weight is negative,
+ * the weights are first made non-negative by Johnson's reweighting, with vertex potentials computed by the
+ * Bellman-Ford algorithm.</li>
+ * </ul>
+ * {@link Strategy#AUTOMATIC} picks Dijkstra's algorithm for sparse graphs, whose {@code m} edges satisfy
+ * {@code m * log2(n) < n * n / 4}, and Floyd-Warshall otherwise.
+ * <p>
+ * Optionally, the shortest paths themselves can be reconstructed by {@link #path(Object, Object)} from a successor
+ * matrix, which holds the vertex following the source on the shortest path to each destination. The matrix takes two
+ * bytes per entry, since {@link #MAX_VERTICES} keeps every vertex index below {@code 65535}.
+ *
+ * @param <V> the type of vertices contained within the graph
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ */
+public class AllPairsShortestPaths<V, E extends Edge<V>> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "all-pairs-shortest-paths";
+
+    /**
+     * The maximum number of vertices, so that the distance matrix fits in a single array.
+     */
+    public static final int MAX_VERTICES = 46_340;
+
+    /**
+     * The number of rows and columns of the tiles of the Floyd-Warshall strategy.
+     */
+    static final int TILE = 64;
+
+    private static final int  NO_SUCCESSOR        = -1;
+    private static final char STORED_NO_SUCCESSOR = Character.MAX_VALUE;
+
+    /**
+     * The strategy used to compute the shortest paths.
+     */
+    public enum Strategy {
+
+        /**
+         * Chooses {@link #DIJKSTRA} for sparse graphs and {@link #FLOYD_WARSHALL} otherwise.
+         */
+        AUTOMATIC,
+
+        /**
+         * Runs the Floyd-Warshall algorithm over tiles of the distance matrix, in {@code O(n^3)} time.
+         */
+        FLOYD_WARSHALL,
+
+        /**
+         * Runs Dijkstra's algorithm from each vertex, in {@code O(n * m * log(n))} time, after Johnson's reweighting if
+         * any weight is negative.
+         */
+        DIJKSTRA
+    }
+
+    private final VertexIndex<V> index;
+    private final int            n;
+    private final Strategy       strategy;
+    private final double[]       distances;
+    private final char[]         successors;
+
+    /**
+     * Computes the shortest paths between all pairs of vertices of the provided graph with the
+     * {@link Strategy#AUTOMATIC automatic} strategy, without path reconstruction.
+     *
+     * @param graph the graph
+     * @throws GraphException if the graph contains a cycle of negative length or more than {@link #MAX_VERTICES}
+     *             vertices
+     */
+    public AllPairsShortestPaths(final Graph<V, E> graph) {
+        this(graph, Strategy.AUTOMATIC, false);
+    }
+
+    /**
+     * Computes the shortest paths between all pairs of vertices of the provided graph.
+     *
+     * @param graph the graph
+     * @param strategy the strategy
+     * @param reconstructPaths {@code true} to record the successor matrix needed by {@link #path(Object, Object)},
+     *            {@code false} to compute distances only
+     * @throws GraphException if the graph contains a cycle of negative length or more than {@link #MAX_VERTICES}
+     *             vertices
+     */
+    public AllPairsShortestPaths(final Graph<V, E> graph, final Strategy strategy, final boolean reconstructPaths) {
+        index = VertexIndex.of(graph);
+        n = index.size();
+        if (n > MAX_VERTICES) {
+            throw new GraphException("Graph has too many vertices for an all-pairs distance matrix: " + n);
+        }
+
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, n);
+        final var adjacency = new WeightedAdjacency(graph, index);
+        this.strategy = strategy != Strategy.AUTOMATIC ? strategy : choose(n, adjacency.numEdges());
+
+        distances = new double[n * n];
+        successors = reconstructPaths ? new char[n * n] : null;
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(distances, i * n, (i + 1) * n, Double.POSITIVE_INFINITY);
+            distances[i * n + i] = 0d;
+        }
+        if (reconstructPaths) {
+            for (int i = 0; i < n * n; i++) {
+                setSuccessor(i, i % n == i / n ? i % n : NO_SUCCESSOR);
+            }
+        }
+
+        if (this.strategy == Strategy.FLOYD_WARSHALL) {
+            floydWarshall(adjacency, recorder);
+        } else {
+            dijkstra(adjacency, recorder);
+        }
+
+        recorder.edgesRelaxed(adjacency.numEdges());
+        recorder.finish(false);
+    }
+
+    /**
+     * @return the strategy used to compute the shortest paths, which is never {@link Strategy#AUTOMATIC}
+     */
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the length of the shortest path between the provided vertices.
+     *
+     * @param source the source vertex
+     * @param destination the destination vertex
+     * @return the length of the shortest path, or {@link Double#POSITIVE_INFINITY} if the destination is not reachable
+     * @throws GraphException if either vertex is not contained within the graph
+     */
+    public double distance(final V source, final V destination) {
+        return distances[indexOf(source) * n + indexOf(destination)];
+    }
+
+    /**
+     * Returns a boolean indicating whether a path leads from the provided source vertex to the provided destination
+     * vertex.
+     *
+     * @param source the source vertex
+     * @param destination the destination vertex
+     * @return {@code true} if the destination is reachable from the source, {@code false} if not
+     * @throws GraphException if either vertex is not contained within the graph
+     */
+    public boolean hasPath(final V source, final V destination) {
+        return distance(source, destination) < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns an {@link Optional} that contains the vertices of the shortest path between the provided vertices, from
+     * the source to the destination inclusive.
+     *
+     * @param source the source vertex
+     * @param destination the destination vertex
+     * @return an {@link Optional} that contains the shortest path, empty if the destination is not reachable
+     * @throws GraphException if either vertex is not contained within the graph
+     * @throws IllegalStateException if the paths were not reconstructed
+     */
+    public Optional<List<V>> path(final V source, final V destination) {
+        if (successors == null) {
+            throw new IllegalStateException("Paths were not reconstructed.");
+        }
+
+        final var t = indexOf(destination);
+        var u = indexOf(source);
+        if (successor(u * n + t) == NO_SUCCESSOR) {
+            return Optional.empty();
+        }
+
+        final var path = new ArrayList<V>();
+        path.add(index.vertex(u));
+        while (u != t) {
+            u = successor(u * n + t);
+            path.add(index.vertex(u));
+        }
+
+        return Optional.of(path);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { vertices: %d, strategy: %s, paths: %b }", getClass().getSimpleName(), n, strategy,
+                hasSuccessors());
+    }
+
+    private static Strategy choose(final int n, final long numEdges) {
+        final var log = 32 - Integer.numberOfLeadingZeros(Math.max(1, n));
+
+        return numEdges * log < (long) n * n / 4 ? Strategy.DIJKSTRA : Strategy.FLOYD_WARSHALL;
+    }
+
+    private void floydWarshall(final WeightedAdjacency adjacency, final AlgorithmRecorder recorder) {
+        for (int u = 0; u < n; u++) {
+            for (int i = adjacency.start[u]; i < adjacency.start[u + 1]; i++) {
+                final var v = adjacency.targets[i];
+                final var weight = adjacency.weights[i];
+                if (weight < distances[u * n + v]) {
+                    distances[u * n + v] = weight;
+                    if (hasSuccessors()) {
+                        setSuccessor(u * n + v, v);
+                    }
+                }
+            }
+        }
+
+        final var tiles = (n + TILE - 1) / TILE;
+        for (int k = 0; k < tiles; k++) {
+            final var kb = k;
+            recorder.checkpoint();
+            updateTile(kb, kb, kb);
+            IntStream.range(0, tiles).parallel().filter(t -> t != kb).forEach(t -> {
+                updateTile(kb, t, kb);
+                updateTile(t, kb, kb);
+            });
+            IntStream.range(0, tiles * tiles).parallel().forEach(tile -> {
+                final var i = tile / tiles;
+                final var j = tile % tiles;
+                if (i != kb && j != kb) {
+                    recorder.checkpoint();
+                    updateTile(i, j, kb);
+                }
+            });
+        }
+
+        for (int v = 0; v < n; v++) {
+            if (distances[v * n + v] < 0d) {
+                throw new GraphException("Graph contains a cycle of negative length through: " + index.vertex(v));
+            }
+        }
+    }
+
+    /**
+     * Relaxes the entries of tile {@code (ti, tj)} through the intermediate vertices of diagonal tile {@code tk}.
+     */
+    private void updateTile(final int ti, final int tj, final int tk) {
+        final var iEnd = Math.min(n, (ti + 1) * TILE);
+        final var jStart = tj * TILE;
+        final var jEnd = Math.min(n, jStart + TILE);
+        final var kEnd = Math.min(n, (tk + 1) * TILE);
+        final var paths = hasSuccessors();
+        for (int k = tk * TILE; k < kEnd; k++) {
+            final var kRow = k * n;
+            for (int i = ti * TILE; i < iEnd; i++) {
+                final var iRow = i * n;
+                final var ik = distances[iRow + k];
+                if (ik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+
+                for (int j = jStart; j < jEnd; j++) {
+                    final var through = ik + distances[kRow + j];
+                    if (through < distances[iRow + j]) {
+                        distances[iRow + j] = through;
+                        if (paths) {
+                            setSuccessor(iRow + j, successor(iRow + k));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void dijkstra(final WeightedAdjacency adjacency, final AlgorithmRecorder recorder) {
+        final var potentials = adjacency.hasNegativeWeights() ? bellmanFord(adjacency, recorder) : null;
+        if (potentials != null) {
+            for (int u = 0; u < n; u++) {
+                for (int i = adjacency.start[u]; i < adjacency.start[u + 1]; i++) {
+                    final var weight = adjacency.weights[i] + potentials[u] - potentials[adjacency.targets[i]];
+                    adjacency.weights[i] = Math.max(0d, weight);
+                }
+            }
+        }
+
+        IntStream.range(0, n).parallel().forEach(s -> {
+            recorder.checkpoint();
+            dijkstra(s, adjacency);
+            if (potentials != null) {
+                for (int t = 0; t < n; t++) {
+                    distances[s * n + t] += potentials[t] - potentials[s];
+                }
+            }
+        });
+    }
+
+    /**
+     * Computes the shortest paths from the provided source into its row of the matrices.
+     */
+    private void dijkstra(final int s, final WeightedAdjacency adjacency) {
+        final var row = s * n;
+        final var settled = new boolean[n];
+        final var parent = hasSuccessors() ? new int[n] : null;
+        final var heap = new Heap(Math.max(16, adjacency.start[s + 1] - adjacency.start[s]));
+        heap.add(0d, s);
+        while (!heap.isEmpty()) {
+            final var distance = heap.minKey();
+            final var u = heap.poll();
+            if (settled[u]) {
+                continue;
+            }
+            settled[u] = true;
+            if (parent != null && u != s) {
+                setSuccessor(row + u, parent[u] == s ? u : successor(row + parent[u]));
+            }
+
+            for (int i = adjacency.start[u]; i < adjacency.start[u + 1]; i++) {
+                final var v = adjacency.targets[i];
+                final var through = distance + adjacency.weights[i];
+                if (through < distances[row + v]) {
+                    distances[row + v] = through;
+                    if (parent != null) {
+                        parent[v] = u;
+                    }
+                    heap.add(through, v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes vertex potentials that make all weights non-negative, as the distances from a virtual vertex with an
+     * edge of weight {@code 0} to every vertex.
+     */
+    private double[] bellmanFord(final WeightedAdjacency adjacency, final AlgorithmRecorder recorder) {
+        final var potentials = new double[n];
+        for (int round = 0; round <= n; round++) {
+            recorder.checkpoint();
+            var relaxed = false;
+            for (int u = 0; u < n; u++) {
+                for (int i = adjacency.start[u]; i < adjacency.start[u + 1]; i++) {
+                    final var v = adjacency.targets[i];
+                    if (potentials[u] + adjacency.weights[i] < potentials[v]) {
+                        potentials[v] = potentials[u] + adjacency.weights[i];
+                        relaxed = true;
+                    }
+                }
+            }
+
+            if (!relaxed) {
+                return potentials;
+            }
+        }
+
+        throw new GraphException("Graph contains a cycle of negative length");
+    }
+
+    private boolean hasSuccessors() {
+        return successors != null;
+    }
+
+    private int successor(final int entry) {
+        final var successor = successors[entry];
+
+        return successor == STORED_NO_SUCCESSOR ? NO_SUCCESSOR : successor;
+    }
+
+    private void setSuccessor(final int entry, final int successor) {
+        successors[entry] = successor == NO_SUCCESSOR ? STORED_NO_SUCCESSOR : (char) successor;
+    }
+
+    private int indexOf(final V vertex) {
+        final var i = index.indexOf(vertex);
+        if (i < 0) {
+            throw new GraphException("Vertex is not contained within the graph: " + vertex);
+        }
+
+        return i;
+    }
+
+    /**
+     * The out-bound edges of all vertices with their weights, in compressed sparse row form.
+     */
+    private static final class WeightedAdjacency {
+
+        private final int[]    start;
+        private final int[]    targets;
+        private final double[] weights;
+
+        <V, E extends Edge<V>> WeightedAdjacency(final Graph<V, E> graph, final VertexIndex<V> index) {
+            final var n = index.size();
+            start = new int[n + 1];
+            var targets = new int[Math.max(16, n)];
+            var weights = new double[targets.length];
+            var size = 0;
+            for (int u = 0; u < n; u++) {
+                final var vertex = index.vertex(u);
+                for (final var edges = graph.edgesFrom(vertex); edges.hasNext();) {
+                    final var edge = edges.next();
+                    final var v = index.indexOf(AbstractGraph.neighbor(vertex, edge));
+                    if (v >= 0) {
+                        if (size == targets.length) {
+                            targets = Arrays.copyOf(targets, size << 1);
+                            weights = Arrays.copyOf(weights, size << 1);
+                        }
+                        targets[size] = v;
+                        weights[size++] = weightOf(edge);
+                    }
+                }
+                start[u + 1] = size;
+            }
+
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        long numEdges() {
+            return start[start.length - 1];
+        }
+
+        boolean hasNegativeWeights() {
+            for (int i = 0; i < numEdges(); i++) {
+                if (weights[i] < 0d) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * A binary min-heap of vertices keyed by tentative distance, held in primitive arrays. Vertices are added again
+     * rather than moved when their distance decreases, and stale entries are skipped when polled.
+     */
+    private static final class Heap {
+
+        private double[] keys;
+        private int[]    values;
+        private int      size;
+
+        Heap(final int capacity) {
+            keys = new double[capacity];
+            values = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        double minKey() {
+            return keys[0];
+        }
+
+        void add(final double key, final int value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+                values = Arrays.copyOf(values, size << 1);
+            }
+
+            var i = size++;
+            while (i > 0) {
+                final var parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                values[i] = values[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int poll() {
+            final var result = values[0];
+            final var key = keys[--size];
+            final var value = values[size];
+            var i = 0;
+            while (true) {
+                var child = (i << 1) + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (key <= keys[child]) {
+                    break;
+                }
+                keys[i] = keys[child];
+                values[i] = values[child];
+                i = child;
+            }
+            keys[i] = key;
+            values[i] = value;
+
+            return result;
+        }
+    }
+}
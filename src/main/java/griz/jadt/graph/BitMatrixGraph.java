@@ -0,0 +1,683 @@
+package griz.jadt.graph;
+
+import static java.lang.Double.isNaN;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Directed {@link Graph} implementation backed by an adjacency matrix of bits, for dense and small graphs.
+ * <p>
+ * Each vertex is assigned a dense slot, and the out-bound and in-bound adjacency of a slot are rows of a bit matrix held
+ * in {@code long[]} arrays, so an edge costs two bits and {@link #containsEdge(Object, Object)} takes constant time.
+ * Neighbors are found a word of 64 candidates at a time, and the topological order, cycle detection and reachability
+ * queries operate on whole rows. Edge weights are kept in an optional {@code float} or {@code double} matrix, as chosen
+ * by the {@link WeightStorage}. Memory grows with the square of the number of vertices, whatever the number of edges.
+ * <p>
+ * No {@link Edge} objects are stored: they are created on demand by {@link #edgesFrom(Object)},
+ * {@link #edgesTo(Object)} and {@link #getEdge(Object, Object)}, as {@link SimpleWeightedEdge}s for weighted edges and
+ * {@link SimpleEdge}s otherwise. Edges are identified by their vertices, so there is at most one edge between a source
+ * (u) vertex and destination (v) vertex, and {@link #removeEdge(Edge)} removes the edge between the vertices of the
+ * provided edge whatever its weight.
+ * <p>
+ * <b>Note: this implementation is not thread-safe.</b>
+ *
+ * @param <V> the type of vertices contained within the graph
+ *
+ * @author nichollsmc
+ */
+public class BitMatrixGraph<V> extends AbstractGraph<V, Edge<V>> {
+
+    /**
+     * The name under which topological sorts of this graph are reported to {@link GraphMetrics}.
+     */
+    public static final String TOPOLOGICAL_SORT = "bit-matrix-topological-sort";
+
+    /**
+     * The name under which reachability queries of this graph are reported to {@link GraphMetrics}.
+     */
+    public static final String REACHABILITY = "bit-matrix-reachability";
+
+    private static final int MIN_CAPACITY = Long.SIZE;
+
+    /**
+     * The storage of edge weights.
+     */
+    public enum WeightStorage {
+
+        /**
+         * Weights are not stored, and all edges are unweighted.
+         */
+        NONE,
+
+        /**
+         * Weights are stored with {@code float} precision, in 4 bytes per vertex pair.
+         */
+        FLOAT,
+
+        /**
+         * Weights are stored with {@code double} precision, in 8 bytes per vertex pair.
+         */
+        DOUBLE
+    }
+
+    private final Map<V, Integer> slots = new HashMap<>();
+    private final WeightStorage   weightStorage;
+
+    private Object[]   vertices;
+    private long[]     occupied;
+    private long[][]   out;
+    private long[][]   in;
+    private float[][]  floatWeights;
+    private double[][] doubleWeights;
+
+    private int[] freeSlots = new int[0];
+    private int   numFreeSlots;
+    private int   numSlots;
+    private long  numEdges;
+
+    private int[] order;
+    private long  orderVersion = -1L;
+
+    /**
+     * Constructs a new unweighted {@link BitMatrixGraph}.
+     */
+    public BitMatrixGraph() {
+        this(MIN_CAPACITY, WeightStorage.NONE);
+    }
+
+    /**
+     * Constructs a new {@link BitMatrixGraph} able to hold the provided number of vertices without resizing.
+     *
+     * @param expectedVertices the expected number of vertices
+     * @param weightStorage the storage of edge weights
+     */
+    public BitMatrixGraph(final int expectedVertices, final WeightStorage weightStorage) {
+        this.weightStorage = requireNonNull(weightStorage, "Weight storage cannot be null.");
+
+        final var capacity = Math.max(MIN_CAPACITY, (expectedVertices + Long.SIZE - 1) & -Long.SIZE);
+        vertices = new Object[capacity];
+        occupied = new long[capacity >>> 6];
+        out = new long[capacity][];
+        in = new long[capacity][];
+        if (weightStorage == WeightStorage.FLOAT) {
+            floatWeights = new float[capacity][];
+        } else if (weightStorage == WeightStorage.DOUBLE) {
+            doubleWeights = new double[capacity][];
+        }
+    }
+
+    @Override
+    public final boolean isDirected() {
+        return true;
+    }
+
+    /**
+     * Adds the provided edge, and its vertices, to this graph. The weight of a {@link WeightedEdge} is retained unless
+     * the {@link WeightStorage} is {@link WeightStorage#NONE NONE}. If an edge between the vertex pair already exists,
+     * the edge is not added.
+     *
+     * @param edge the edge to add
+     */
+    @Override
+    public void addEdge(final Edge<V> edge) {
+        if (edge == null) {
+            return;
+        }
+
+        final var before = numVertices();
+        final var u = slotOrAllocate(edge.source());
+        final var v = slotOrAllocate(edge.destination());
+        if (!isSet(out[u], v)) {
+            set(out[u], v);
+            set(in[v], u);
+            setWeight(u, v, edge instanceof WeightedEdge ? ((WeightedEdge<?>) edge).weight() : Double.NaN);
+            numEdges++;
+            structureModified();
+        } else if (numVertices() != before) {
+            structureModified();
+        }
+    }
+
+    @Override
+    public Edge<V> getEdge(final V source, final V destination) {
+        final var u = slots.get(source);
+        final var v = slots.get(destination);
+
+        return u != null && v != null && isSet(out[u], v) ? edge(u, v) : null;
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        if (slots.containsKey(vertex)) {
+            return false;
+        }
+
+        allocateSlot(vertex);
+        structureModified();
+
+        return true;
+    }
+
+    @Override
+    public boolean removeEdge(final Edge<V> edge) {
+        if (edge == null) {
+            return false;
+        }
+
+        final var u = slots.get(edge.source());
+        final var v = slots.get(edge.destination());
+        if (u == null || v == null || !isSet(out[u], v)) {
+            return false;
+        }
+
+        clear(out[u], v);
+        clear(in[v], u);
+        setWeight(u, v, Double.NaN);
+        numEdges--;
+        structureModified();
+
+        return true;
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        final var slot = slots.remove(vertex);
+        if (slot == null) {
+            return false;
+        }
+
+        final int u = slot;
+        numEdges -= bitCount(out[u]) + bitCount(in[u]) - (isSet(out[u], u) ? 1 : 0);
+        for (int w = nextSetBit(out[u], 0); w >= 0; w = nextSetBit(out[u], w + 1)) {
+            clear(in[w], u);
+            setWeight(u, w, Double.NaN);
+        }
+        for (int w = nextSetBit(in[u], 0); w >= 0; w = nextSetBit(in[u], w + 1)) {
+            clear(out[w], u);
+            setWeight(w, u, Double.NaN);
+        }
+
+        Arrays.fill(out[u], 0L);
+        Arrays.fill(in[u], 0L);
+        vertices[u] = null;
+        clear(occupied, u);
+        if (numFreeSlots == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(MIN_CAPACITY, numFreeSlots << 1));
+        }
+        freeSlots[numFreeSlots++] = u;
+        structureModified();
+
+        return true;
+    }
+
+    @Override
+    public boolean containsEdge(final V source, final V destination) {
+        final var u = slots.get(source);
+        final var v = slots.get(destination);
+
+        return u != null && v != null && isSet(out[u], v);
+    }
+
+    @Override
+    public boolean containsVertex(final V vertex) {
+        return slots.containsKey(vertex);
+    }
+
+    @Override
+    public int numVertices() {
+        return slots.size();
+    }
+
+    /**
+     * @return the number of edges within the graph
+     */
+    public long numEdges() {
+        return numEdges;
+    }
+
+    /**
+     * Returns the number of out-bound edges from the provided vertex.
+     *
+     * @param vertex the vertex
+     * @return the out-degree of the vertex, {@code 0} if the vertex does not exist
+     */
+    public int outDegree(final V vertex) {
+        final var u = slots.get(vertex);
+
+        return u != null ? bitCount(out[u]) : 0;
+    }
+
+    /**
+     * Returns the number of in-bound edges to the provided vertex.
+     *
+     * @param vertex the vertex
+     * @return the in-degree of the vertex, {@code 0} if the vertex does not exist
+     */
+    public int inDegree(final V vertex) {
+        final var v = slots.get(vertex);
+
+        return v != null ? bitCount(in[v]) : 0;
+    }
+
+    /**
+     * Performs the provided action for each destination of the out-bound edges from the provided vertex, without
+     * creating {@link Edge} objects.
+     *
+     * @param vertex the source vertex
+     * @param action the action to perform
+     */
+    public void forEachSuccessor(final V vertex, final Consumer<? super V> action) {
+        final var u = slots.get(vertex);
+        if (u != null) {
+            forEach(out[u], action);
+        }
+    }
+
+    /**
+     * Performs the provided action for each source of the in-bound edges to the provided vertex, without creating
+     * {@link Edge} objects.
+     *
+     * @param vertex the destination vertex
+     * @param action the action to perform
+     */
+    public void forEachPredecessor(final V vertex, final Consumer<? super V> action) {
+        final var v = slots.get(vertex);
+        if (v != null) {
+            forEach(in[v], action);
+        }
+    }
+
+    @Override
+    public Iterator<Edge<V>> edgesFrom(final V vertex) {
+        final var u = slots.get(vertex);
+        if (u == null) {
+            return new ImmutableIterator<>();
+        }
+
+        return new ImmutableIterator<>(new BitIterator<>(out[u]) {
+
+            @Override
+            Edge<V> element(final int w) {
+                return edge(u, w);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<Edge<V>> edgesTo(final V vertex) {
+        final var v = slots.get(vertex);
+        if (v == null) {
+            return new ImmutableIterator<>();
+        }
+
+        return new ImmutableIterator<>(new BitIterator<>(in[v]) {
+
+            @Override
+            Edge<V> element(final int w) {
+                return edge(w, v);
+            }
+        });
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new ImmutableIterator<>(new BitIterator<>(occupied) {
+
+            @Override
+            V element(final int slot) {
+                return vertexAt(slot);
+            }
+        });
+    }
+
+    /**
+     * Returns a boolean indicating whether the graph contains a cycle. Vertices without remaining in-bound edges are
+     * removed one at a time, with in-degrees counted a row of bits at a time; the graph contains a cycle if some
+     * vertices remain. The result is reused until the graph is modified.
+     *
+     * @return {@code true} if the graph contains a cycle, {@code false} if not
+     */
+    @Override
+    public boolean hasCycle() {
+        return topologicalSlots() == null;
+    }
+
+    /**
+     * Returns the vertices in a topological order, computed as for {@link #hasCycle()}. The order may differ from the
+     * depth-first order returned by other graphs.
+     *
+     * @return the vertices in topological order
+     * @throws GraphException if the graph contains a cycle
+     */
+    @Override
+    public List<V> topologicalOrder() {
+        final var slots = topologicalSlots();
+        if (slots == null) {
+            return super.topologicalOrder();
+        }
+
+        final var result = new ArrayList<V>(slots.length);
+        for (final var slot : slots) {
+            result.add(vertexAt(slot));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the vertices reachable from the provided vertex, including the vertex itself. The search expands the
+     * whole frontier at once, combining the rows of its vertices word by word.
+     *
+     * @param source the vertex to search from
+     * @return the reachable vertices
+     * @throws GraphException if the vertex is not contained within the graph
+     */
+    public Set<V> reachableFrom(final V source) {
+        final var reached = reach(slotOf(source), -1);
+        final var result = new HashSet<V>(Math.max(16, (int) (bitCount(reached) / 0.75f) + 1));
+        forEach(reached, result::add);
+
+        return result;
+    }
+
+    /**
+     * Returns a boolean indicating whether a path leads from the provided source vertex to the provided destination
+     * vertex. The search stops as soon as the destination is reached.
+     *
+     * @param source the source vertex
+     * @param destination the destination vertex
+     * @return {@code true} if the destination is reachable from the source, which includes the source itself,
+     *         {@code false} if not
+     * @throws GraphException if either vertex is not contained within the graph
+     */
+    public boolean isReachable(final V source, final V destination) {
+        final var target = slotOf(destination);
+
+        return isSet(reach(slotOf(source), target), target);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { vertices: %d, edges: %d, weights: %s }", getClass().getSimpleName(), numVertices(),
+                numEdges, weightStorage);
+    }
+
+    /**
+     * Marks the slots reachable from the provided slot, stopping early once the target slot, if any, is reached.
+     */
+    private long[] reach(final int source, final int target) {
+        final var recorder = AlgorithmRecorder.start(REACHABILITY, numVertices());
+        final var words = occupied.length;
+        final var reached = new long[words];
+        var frontier = new long[words];
+        set(reached, source);
+        set(frontier, source);
+
+        var expanding = source != target;
+        while (expanding) {
+            final var next = new long[words];
+            for (int u = nextSetBit(frontier, 0); u >= 0; u = nextSetBit(frontier, u + 1)) {
+                recorder.vertexVisited();
+                final var row = out[u];
+                for (int i = 0; i < words; i++) {
+                    next[i] |= row[i];
+                }
+            }
+
+            expanding = false;
+            for (int i = 0; i < words; i++) {
+                next[i] &= ~reached[i];
+                reached[i] |= next[i];
+                expanding |= next[i] != 0;
+            }
+            frontier = next;
+            if (target >= 0 && isSet(reached, target)) {
+                expanding = false;
+            }
+        }
+
+        recorder.finish(false);
+
+        return reached;
+    }
+
+    /**
+     * Returns the slots in topological order, or {@code null} if the graph contains a cycle.
+     */
+    private int[] topologicalSlots() {
+        final var version = modificationCount();
+        if (orderVersion == version) {
+            return order;
+        }
+
+        final var n = numVertices();
+        final var recorder = AlgorithmRecorder.start(TOPOLOGICAL_SORT, n);
+        final var inDegree = new int[numSlots];
+        final var queue = new int[n];
+        var tail = 0;
+        for (int v = nextSetBit(occupied, 0); v >= 0; v = nextSetBit(occupied, v + 1)) {
+            inDegree[v] = bitCount(in[v]);
+            if (inDegree[v] == 0) {
+                queue[tail++] = v;
+            }
+        }
+
+        for (int head = 0; head < tail; head++) {
+            final var u = queue[head];
+            recorder.vertexVisited();
+            for (int w = nextSetBit(out[u], 0); w >= 0; w = nextSetBit(out[u], w + 1)) {
+                recorder.edgeRelaxed();
+                if (--inDegree[w] == 0) {
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        order = tail == n ? queue : null;
+        orderVersion = version;
+        recorder.finish(order == null);
+
+        return order;
+    }
+
+    private int slotOf(final V vertex) {
+        final var slot = slots.get(vertex);
+        if (slot == null) {
+            throw new GraphException("Vertex is not contained within the graph: " + vertex);
+        }
+
+        return slot;
+    }
+
+    private int slotOrAllocate(final V vertex) {
+        final var slot = slots.get(vertex);
+
+        return slot != null ? slot : allocateSlot(vertex);
+    }
+
+    private int allocateSlot(final V vertex) {
+        final int u;
+        if (numFreeSlots > 0) {
+            u = freeSlots[--numFreeSlots];
+        } else {
+            if (numSlots == vertices.length) {
+                grow();
+            }
+            u = numSlots++;
+
+            final var words = occupied.length;
+            out[u] = new long[words];
+            in[u] = new long[words];
+            if (floatWeights != null) {
+                floatWeights[u] = new float[vertices.length];
+                Arrays.fill(floatWeights[u], Float.NaN);
+            } else if (doubleWeights != null) {
+                doubleWeights[u] = new double[vertices.length];
+                Arrays.fill(doubleWeights[u], Double.NaN);
+            }
+        }
+
+        vertices[u] = vertex;
+        set(occupied, u);
+        slots.put(vertex, u);
+
+        return u;
+    }
+
+    /**
+     * Doubles the capacity of the matrix.
+     */
+    private void grow() {
+        final var capacity = vertices.length << 1;
+        final var words = capacity >>> 6;
+        vertices = Arrays.copyOf(vertices, capacity);
+        occupied = Arrays.copyOf(occupied, words);
+        out = Arrays.copyOf(out, capacity);
+        in = Arrays.copyOf(in, capacity);
+        for (int u = 0; u < numSlots; u++) {
+            out[u] = Arrays.copyOf(out[u], words);
+            in[u] = Arrays.copyOf(in[u], words);
+        }
+
+        if (floatWeights != null) {
+            floatWeights = Arrays.copyOf(floatWeights, capacity);
+            for (int u = 0; u < numSlots; u++) {
+                final var length = floatWeights[u].length;
+                floatWeights[u] = Arrays.copyOf(floatWeights[u], capacity);
+                Arrays.fill(floatWeights[u], length, capacity, Float.NaN);
+            }
+        } else if (doubleWeights != null) {
+            doubleWeights = Arrays.copyOf(doubleWeights, capacity);
+            for (int u = 0; u < numSlots; u++) {
+                final var length = doubleWeights[u].length;
+                doubleWeights[u] = Arrays.copyOf(doubleWeights[u], capacity);
+                Arrays.fill(doubleWeights[u], length, capacity, Double.NaN);
+            }
+        }
+    }
+
+    private Edge<V> edge(final int u, final int v) {
+        final var weight = weight(u, v);
+
+        return isNaN(weight)
+                ? new SimpleEdge<>(vertexAt(u), vertexAt(v))
+                : new SimpleWeightedEdge<>(vertexAt(u), vertexAt(v), weight);
+    }
+
+    private double weight(final int u, final int v) {
+        if (floatWeights != null) {
+            return floatWeights[u][v];
+        } else if (doubleWeights != null) {
+            return doubleWeights[u][v];
+        }
+
+        return Double.NaN;
+    }
+
+    private void setWeight(final int u, final int v, final double weight) {
+        if (floatWeights != null) {
+            floatWeights[u][v] = (float) weight;
+        } else if (doubleWeights != null) {
+            doubleWeights[u][v] = weight;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertexAt(final int slot) {
+        return (V) vertices[slot];
+    }
+
+    private void forEach(final long[] row, final Consumer<? super V> action) {
+        for (int w = nextSetBit(row, 0); w >= 0; w = nextSetBit(row, w + 1)) {
+            action.accept(vertexAt(w));
+        }
+    }
+
+    private static boolean isSet(final long[] row, final int bit) {
+        return (row[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static void set(final long[] row, final int bit) {
+        row[bit >>> 6] |= 1L << bit;
+    }
+
+    private static void clear(final long[] row, final int bit) {
+        row[bit >>> 6] &= ~(1L << bit);
+    }
+
+    private static int bitCount(final long[] row) {
+        var count = 0;
+        for (final var word : row) {
+            count += Long.bitCount(word);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the first set bit of the row at or after the provided index, skipping empty words whole, or {@code -1}
+     * if there is none.
+     */
+    static int nextSetBit(final long[] row, final int from) {
+        var word = from >>> 6;
+        if (word >= row.length) {
+            return -1;
+        }
+
+        var bits = row[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == row.length) {
+                return -1;
+            }
+            bits = row[word];
+        }
+
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Iterates over the set bits of a row, mapping each to an element.
+     *
+     * @param <T> the type of the elements
+     */
+    private abstract static class BitIterator<T> implements Iterator<T> {
+
+        private final long[] row;
+
+        private int next;
+
+        BitIterator(final long[] row) {
+            this.row = row;
+            this.next = nextSetBit(row, 0);
+        }
+
+        abstract T element(int bit);
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final var bit = next;
+            next = nextSetBit(row, bit + 1);
+
+            return element(bit);
+        }
+    }
+}
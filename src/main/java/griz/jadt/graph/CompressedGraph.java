@@ -0,0 +1,499 @@
+package griz.jadt.graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A read-only {@link Graph} that stores its adjacency lists compressed, for keeping large graphs, such as historical
+ * snapshots, in memory.
+ * <p>
+ * Vertices are numbered by their position in the iteration order of the graph they were copied from. The out-bound and
+ * in-bound neighbors of each vertex are sorted by number and stored as the gaps between consecutive numbers, each
+ * encoded as a variable-length integer of seven bits per byte. With reference compression enabled, a list may also be
+ * encoded relative to the list of one of the preceding {@value #WINDOW} vertices: a bitmask selects the neighbors the
+ * lists have in common, and only the remaining neighbors are gap-encoded. References are followed at most
+ * {@value #MAX_REFERENCE_CHAIN} deep, so decoding a list stays cheap.
+ * <p>
+ * Lists are decoded on the fly by {@link #edgesFrom(Object)}, {@link #edgesTo(Object)} and the edge queries. Edges
+ * are materialized as {@link SimpleEdge}s, so weights are not retained, and parallel edges between the same pair of
+ * vertices are stored once. The encoded size is reported by {@link #compressedSize()} and compared with an equivalent
+ * uncompressed {@code int} array representation by {@link #compressionRatio()}.
+ *
+ * @param <V> the type of vertices contained within the graph
+ *
+ * @author nichollsmc
+ */
+public final class CompressedGraph<V> extends AbstractGraph<V, Edge<V>> {
+
+    /**
+     * The number of preceding vertices whose lists are considered as references.
+     */
+    public static final int WINDOW = 7;
+
+    /**
+     * The maximum length of a chain of references.
+     */
+    public static final int MAX_REFERENCE_CHAIN = 3;
+
+    private static final int[] EMPTY = new int[0];
+
+    private final VertexIndex<V> index;
+    private final boolean        directed;
+    private final long           numEdges;
+    private final Lists          out;
+    private final Lists          in;
+
+    private CompressedGraph(final VertexIndex<V> index, final boolean directed, final Lists out, final Lists in) {
+        this.index = index;
+        this.directed = directed;
+        this.numEdges = out.entries;
+        this.out = out;
+        this.in = in;
+    }
+
+    /**
+     * Creates a compressed copy of the provided graph, with reference compression.
+     *
+     * @param <V> the type of vertices contained within the graph
+     * @param graph the graph
+     * @return the compressed copy
+     */
+    public static <V> CompressedGraph<V> of(final Graph<V, ? extends Edge<V>> graph) {
+        return of(graph, true);
+    }
+
+    /**
+     * Creates a compressed copy of the provided graph.
+     *
+     * @param <V> the type of vertices contained within the graph
+     * @param graph the graph
+     * @param referenceCompression {@code true} to encode lists relative to similar preceding lists, {@code false} to
+     *            gap-encode every list on its own, which compresses less but decodes faster
+     * @return the compressed copy
+     */
+    public static <V> CompressedGraph<V> of(final Graph<V, ? extends Edge<V>> graph,
+            final boolean referenceCompression) {
+        final var adjacency = IndexedAdjacency.of(graph);
+        final var window = referenceCompression ? WINDOW : 0;
+
+        return new CompressedGraph<>(adjacency.index(), graph.isDirected(),
+                Lists.encode(adjacency, Direction.OUT, window), Lists.encode(adjacency, Direction.IN, window));
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int numVertices() {
+        return index.size();
+    }
+
+    /**
+     * @return the number of edges, counting parallel edges once
+     */
+    public long numEdges() {
+        return numEdges;
+    }
+
+    @Override
+    public boolean containsVertex(final V vertex) {
+        return index.indexOf(vertex) >= 0;
+    }
+
+    @Override
+    public Edge<V> getEdge(final V source, final V destination) {
+        return containsEdge(source, destination) ? new SimpleEdge<>(source, destination) : null;
+    }
+
+    @Override
+    public boolean containsEdge(final V source, final V destination) {
+        final var s = index.indexOf(source);
+        final var d = index.indexOf(destination);
+
+        return s >= 0 && d >= 0 && Arrays.binarySearch(out.decode(s), d) >= 0;
+    }
+
+    @Override
+    public Iterator<Edge<V>> edgesFrom(final V vertex) {
+        final var v = index.indexOf(vertex);
+
+        return new EdgeIterator(vertex, v >= 0 ? out.decode(v) : EMPTY, true);
+    }
+
+    @Override
+    public Iterator<Edge<V>> edgesTo(final V vertex) {
+        final var v = index.indexOf(vertex);
+
+        return new EdgeIterator(vertex, v >= 0 ? in.decode(v) : EMPTY, false);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<>() {
+
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < index.size();
+            }
+
+            @Override
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return index.vertex(next++);
+            }
+        };
+    }
+
+    @Override
+    public void addEdge(final Edge<V> edge) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEdge(final Edge<V> edge) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        throw readOnly();
+    }
+
+    /**
+     * @return the number of bytes of the encoded adjacency lists and their offsets, in both directions
+     */
+    public long compressedSize() {
+        return out.size() + in.size();
+    }
+
+    /**
+     * @return the number of bytes of the same adjacency in both directions stored as {@code int} arrays of neighbors
+     *         and offsets
+     */
+    public long uncompressedSize() {
+        return 2 * (Integer.BYTES * numEdges + Integer.BYTES * (index.size() + 1L));
+    }
+
+    /**
+     * @return the ratio of the {@link #uncompressedSize() uncompressed} to the {@link #compressedSize() compressed}
+     *         size
+     */
+    public double compressionRatio() {
+        return (double) uncompressedSize() / compressedSize();
+    }
+
+    /**
+     * @return the mean number of bits of encoded list data per edge and direction, excluding offsets
+     */
+    public double bitsPerEdge() {
+        return numEdges > 0 ? 8d * (out.data.length + in.data.length) / (2 * numEdges) : 0d;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { vertices: %d, edges: %d, bytes: %d, ratio: %.2f }", getClass().getSimpleName(),
+                numVertices(), numEdges, compressedSize(), compressionRatio());
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Compressed graphs are read-only");
+    }
+
+    /**
+     * Iterates over the edges of a vertex, materializing them from the decoded neighbor numbers.
+     */
+    private final class EdgeIterator implements Iterator<Edge<V>> {
+
+        private final V       vertex;
+        private final int[]   neighbors;
+        private final boolean outbound;
+
+        private int next;
+
+        EdgeIterator(final V vertex, final int[] neighbors, final boolean outbound) {
+            this.vertex = vertex;
+            this.neighbors = neighbors;
+            this.outbound = outbound;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < neighbors.length;
+        }
+
+        @Override
+        public Edge<V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final var neighbor = index.vertex(neighbors[next++]);
+
+            return outbound ? new SimpleEdge<>(vertex, neighbor) : new SimpleEdge<>(neighbor, vertex);
+        }
+    }
+
+    /**
+     * The encoded adjacency lists of all vertices in one direction.
+     * <p>
+     * The list of vertex {@code v} starts at {@code data[offsets[v]]} with the number of neighbors. Non-empty lists
+     * continue with the distance to the referenced vertex, or {@code 0} for none, then for a reference a bitmask of
+     * the referenced list's neighbors that are copied, and finally the remaining neighbors: the first as the
+     * zig-zag encoded difference to {@code v}, the following as the gap to their predecessor minus one.
+     */
+    private static final class Lists {
+
+        private final byte[] data;
+        private final int[]  offsets;
+        private final long   entries;
+
+        private Lists(final byte[] data, final int[] offsets, final long entries) {
+            this.data = data;
+            this.offsets = offsets;
+            this.entries = entries;
+        }
+
+        static Lists encode(final IndexedAdjacency<?> adjacency, final Direction direction, final int window) {
+            final var n = adjacency.size();
+            final var start = adjacency.start(direction);
+            final var targets = adjacency.targets(direction);
+            final var lists = new int[n][];
+            var entries = 0L;
+            for (int v = 0; v < n; v++) {
+                lists[v] = Arrays.copyOfRange(targets, start[v], start[v + 1]);
+                Arrays.sort(lists[v]);
+                lists[v] = distinct(lists[v]);
+                entries += lists[v].length;
+            }
+
+            final var offsets = new int[n];
+            final var chain = new int[n];
+            final var output = new Output(Math.max(16, targets.length));
+            final var candidate = new Output(64);
+            final var best = new Output(64);
+            for (int v = 0; v < n; v++) {
+                offsets[v] = output.size;
+                final var list = lists[v];
+                output.varint(list.length);
+                if (list.length == 0) {
+                    continue;
+                }
+
+                best.size = 0;
+                encode(best, v, list, 0, null);
+                var bestReference = 0;
+                for (int r = 1; r <= window && r <= v; r++) {
+                    if (chain[v - r] < MAX_REFERENCE_CHAIN && lists[v - r].length > 0) {
+                        candidate.size = 0;
+                        encode(candidate, v, list, r, lists[v - r]);
+                        if (candidate.size < best.size) {
+                            best.size = 0;
+                            best.append(candidate);
+                            bestReference = r;
+                        }
+                    }
+                }
+
+                chain[v] = bestReference > 0 ? chain[v - bestReference] + 1 : 0;
+                output.append(best);
+            }
+
+            return new Lists(Arrays.copyOf(output.bytes, output.size), offsets, entries);
+        }
+
+        /**
+         * Encodes a non-empty list, without its length, relative to the provided reference list.
+         */
+        private static void encode(final Output output, final int v, final int[] list, final int distance,
+                final int[] reference) {
+            output.varint(distance);
+            var residuals = list;
+            if (reference != null) {
+                final var mask = new byte[(reference.length + 7) >>> 3];
+                residuals = new int[list.length];
+                var size = 0;
+                var j = 0;
+                for (final var w : list) {
+                    while (j < reference.length && reference[j] < w) {
+                        j++;
+                    }
+                    if (j < reference.length && reference[j] == w) {
+                        mask[j >>> 3] |= 1 << (j & 7);
+                    } else {
+                        residuals[size++] = w;
+                    }
+                }
+                output.bytes(mask);
+                residuals = Arrays.copyOf(residuals, size);
+            }
+
+            for (int i = 0; i < residuals.length; i++) {
+                if (i == 0) {
+                    final var delta = residuals[0] - v;
+                    output.varint((delta << 1) ^ (delta >> 31));
+                } else {
+                    output.varint(residuals[i] - residuals[i - 1] - 1);
+                }
+            }
+        }
+
+        /**
+         * Decodes the sorted neighbors of the provided vertex.
+         */
+        int[] decode(final int v) {
+            final var input = new Input(data, offsets[v]);
+            final var length = input.varint();
+            if (length == 0) {
+                return EMPTY;
+            }
+
+            final var distance = input.varint();
+            final var result = new int[length];
+            var copied = 0;
+            var referenced = EMPTY;
+            if (distance > 0) {
+                referenced = decode(v - distance);
+                final var copy = new int[referenced.length];
+                for (int j = 0; j < referenced.length; j++) {
+                    if ((data[input.position + (j >>> 3)] & (1 << (j & 7))) != 0) {
+                        copy[copied++] = referenced[j];
+                    }
+                }
+                input.position += (referenced.length + 7) >>> 3;
+                referenced = copy;
+            }
+
+            final var residuals = length - copied;
+            var previous = 0;
+            var i = 0;
+            var j = 0;
+            var k = 0;
+            var next = residuals > 0 ? nextResidual(input, v, previous, true) : Integer.MAX_VALUE;
+            while (k < length) {
+                if (j < copied && (i == residuals || referenced[j] < next)) {
+                    result[k++] = referenced[j++];
+                } else {
+                    result[k++] = next;
+                    previous = next;
+                    i++;
+                    next = i < residuals ? nextResidual(input, v, previous, false) : Integer.MAX_VALUE;
+                }
+            }
+
+            return result;
+        }
+
+        private static int nextResidual(final Input input, final int v, final int previous, final boolean first) {
+            final var value = input.varint();
+            if (first) {
+                return v + ((value >>> 1) ^ -(value & 1));
+            }
+
+            return previous + value + 1;
+        }
+
+        /**
+         * @return the number of bytes of the encoded lists and their offsets
+         */
+        long size() {
+            return data.length + (long) Integer.BYTES * offsets.length;
+        }
+
+        private static int[] distinct(final int[] sorted) {
+            var size = 0;
+            for (final var w : sorted) {
+                if (size == 0 || sorted[size - 1] != w) {
+                    sorted[size++] = w;
+                }
+            }
+
+            return size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+        }
+    }
+
+    /**
+     * A growable byte buffer receiving encoded values.
+     */
+    private static final class Output {
+
+        private byte[] bytes;
+        private int    size;
+
+        Output(final int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void varint(final int value) {
+            var remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                write((byte) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            write((byte) remaining);
+        }
+
+        void bytes(final byte[] values) {
+            ensureCapacity(values.length);
+            System.arraycopy(values, 0, bytes, size, values.length);
+            size += values.length;
+        }
+
+        void append(final Output other) {
+            ensureCapacity(other.size);
+            System.arraycopy(other.bytes, 0, bytes, size, other.size);
+            size += other.size;
+        }
+
+        private void write(final byte value) {
+            ensureCapacity(1);
+            bytes[size++] = value;
+        }
+
+        private void ensureCapacity(final int additional) {
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + additional));
+            }
+        }
+    }
+
+    /**
+     * A cursor decoding values from encoded lists.
+     */
+    private static final class Input {
+
+        private final byte[] data;
+
+        private int position;
+
+        Input(final byte[] data, final int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        int varint() {
+            var result = 0;
+            var shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                result |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package griz.jadt.graph;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free disjoint-set forest over the dense integer ids {@code [0, capacity)}.
+ * <p>
+ * Sets are linked by index, the root with the higher id becoming a child of the other, with a single compare-and-set
+ * on the parent of the root being linked, so any number of threads can perform {@link #union(int, int)} and
+ * {@link #find(int)} concurrently. {@link #find(int)} shortens paths by halving: every other vertex on the path is
+ * made to point to its grandparent, again with a compare-and-set, so concurrent finds never undo each other's work.
+ *
+ * @author nichollsmc
+ */
+final class ConcurrentUnionFind {
+
+    private final AtomicIntegerArray parent;
+
+    /**
+     * Creates a new {@link ConcurrentUnionFind} in which every id is a singleton set.
+     *
+     * @param capacity the number of ids
+     */
+    ConcurrentUnionFind(final int capacity) {
+        parent = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    /**
+     * @return the number of ids
+     */
+    int capacity() {
+        return parent.length();
+    }
+
+    /**
+     * Returns the representative of the set containing the provided id.
+     *
+     * @param id the id
+     * @return the id of the root of the set
+     */
+    int find(final int id) {
+        var x = id;
+        while (true) {
+            final var p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+
+            final var grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets containing the provided ids.
+     *
+     * @param first the first id
+     * @param second the second id
+     * @return {@code true} if the ids were in different sets, {@code false} if they were already in the same set
+     */
+    boolean union(final int first, final int second) {
+        var a = first;
+        var b = second;
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b) {
+                return false;
+            }
+
+            final var child = Math.max(a, b);
+            final var root = Math.min(a, b);
+            if (parent.compareAndSet(child, child, root)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a boolean indicating whether the provided ids are in the same set.
+     *
+     * @param first the first id
+     * @param second the second id
+     * @return {@code true} if the ids are in the same set, {@code false} if not
+     */
+    boolean connected(final int first, final int second) {
+        var a = first;
+        var b = second;
+        while (true) {
+            a = find(a);
+            b = find(b);
+            if (a == b) {
+                return true;
+            } else if (parent.get(a) == a) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of this forest with additional singleton ids. Must not be invoked concurrently with
+     * {@link #union(int, int)}.
+     *
+     * @param capacity the number of ids of the copy, which must not be less than the current capacity
+     * @return the copy
+     */
+    ConcurrentUnionFind grow(final int capacity) {
+        final var result = new ConcurrentUnionFind(capacity);
+        for (int i = 0; i < parent.length(); i++) {
+            result.parent.set(i, parent.get(i));
+        }
+
+        return result;
+    }
+}
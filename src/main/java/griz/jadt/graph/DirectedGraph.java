@@ -4,6 +4,7 @@ import static java.util.Collections.emptyIterator;
 
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -47,27 +48,104 @@ public class DirectedGraph<V, E extends Edge<V>> extends AbstractGraph<V, E> imp
     private void addEdge(final V vertex, final E edge) {
         addVertex(vertex);
         addVertex(edge.destination());
-        outEdges.put0(vertex, edge);
-        inEdges.put0(edge.destination(), edge);
+        if (outEdges.put0(vertex, edge)) {
+            inEdges.put0(edge.destination(), edge);
+            structureModified();
+        }
+    }
+
+    /**
+     * Adds the provided edges, and their vertices, to this graph as a single structural modification.
+     * <p>
+     * Unlike repeated calls to {@link #addEdge(Edge)}, the {@link #modificationCount() modification count} of this
+     * graph changes at most once, so results derived from the graph are invalidated once per batch rather than once
+     * per edge. Edges that are {@code null} are ignored.
+     *
+     * @param edges the edges to add
+     * @return the number of edges that were added
+     */
+    public int addEdges(final Iterable<? extends E> edges) {
+        final var before = numVertices();
+        var added = 0;
+        for (final E edge : edges) {
+            if (edge != null && addEdge0(edge)) {
+                added++;
+            }
+        }
+
+        if (added > 0 || numVertices() != before) {
+            structureModified();
+        }
+
+        return added;
+    }
+
+    /**
+     * Adds an edge and its vertices without recording a structural modification.
+     *
+     * @return {@code true} if the edge was added, {@code false} if it was already contained within the graph
+     */
+    boolean addEdge0(final E edge) {
+        addVertex0(edge.source());
+        addVertex0(edge.destination());
+        if (outEdges.put0(edge.source(), edge)) {
+            inEdges.put0(edge.destination(), edge);
+
+            return true;
+        }
+
+        return false;
     }
 
     @Override
     public boolean addVertex(final V vertex) {
-        if (!vertices.contains(vertex)) {
-            vertices.add(vertex);
-            
+        if (addVertex0(vertex)) {
+            structureModified();
+
             return true;
         }
 
         return false;
     }
 
+    /**
+     * Adds the provided vertices to this graph as a single structural modification. Vertices that are {@code null}
+     * are ignored.
+     *
+     * @param vertices the vertices to add
+     * @return the number of vertices that were added
+     * @see #addEdges(Iterable)
+     */
+    public int addVertices(final Iterable<? extends V> vertices) {
+        var added = 0;
+        for (final V vertex : vertices) {
+            if (vertex != null && addVertex0(vertex)) {
+                added++;
+            }
+        }
+
+        if (added > 0) {
+            structureModified();
+        }
+
+        return added;
+    }
+
+    /**
+     * Adds a vertex without recording a structural modification.
+     *
+     * @return {@code true} if the vertex was added, {@code false} if it was already contained within the graph
+     */
+    boolean addVertex0(final V vertex) {
+        return vertices.add(vertex);
+    }
+
     @Override
     public E getEdge(final V source, final V destination) {
         if (outEdges.containsKey(source)) {
             for (final var edgesFrom = edgesFrom(source); edgesFrom.hasNext();) {
                 final var nextEdge = edgesFrom.next();
-                if (nextEdge.destination() == destination && nextEdge.source() == source) {
+                if (Objects.equals(nextEdge.destination(), destination) && Objects.equals(nextEdge.source(), source)) {
                     return nextEdge;
                 }
             }
@@ -86,8 +164,48 @@ public class DirectedGraph<V, E extends Edge<V>> extends AbstractGraph<V, E> imp
     }
 
     private boolean removeEdge(final V vertex, final E edge) {
-        if (outEdges.get(vertex).remove(edge)) {
-            inEdges.get(edge.destination()).remove(edge);
+        if (removeEdge0(vertex, edge)) {
+            structureModified();
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes the provided edges from this graph as a single structural modification.
+     * <p>
+     * Unlike repeated calls to {@link #removeEdge(Edge)}, the {@link #modificationCount() modification count} of this
+     * graph changes at most once, so results derived from the graph are invalidated once per batch rather than once
+     * per edge. Edges that are {@code null} or not contained within this graph are ignored.
+     *
+     * @param edges the edges to remove
+     * @return the number of edges that were removed
+     */
+    public int removeEdges(final Iterable<? extends E> edges) {
+        var removed = 0;
+        for (final E edge : edges) {
+            if (edge != null && removeEdge0(edge.source(), edge)) {
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            structureModified();
+        }
+
+        return removed;
+    }
+
+    /**
+     * Removes an edge without recording a structural modification.
+     *
+     * @return {@code true} if the edge was removed, {@code false} if it was not contained within the graph
+     */
+    boolean removeEdge0(final V vertex, final E edge) {
+        if (outEdges.remove(vertex, edge)) {
+            inEdges.remove(edge.destination(), edge);
 
             return true;
         }
@@ -97,19 +215,30 @@ public class DirectedGraph<V, E extends Edge<V>> extends AbstractGraph<V, E> imp
 
     @Override
     public boolean removeVertex(final V vertex) {
+        if (removeVertex0(vertex)) {
+            structureModified();
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes a vertex and its edges without recording a structural modification.
+     *
+     * @return {@code true} if the vertex was removed, {@code false} if it was not contained within the graph
+     */
+    boolean removeVertex0(final V vertex) {
         if (containsVertex(vertex)) {
             for (final var edgesFrom = edgesFrom(vertex); edgesFrom.hasNext();) {
                 final var edge = edgesFrom.next();
-                inEdges.entrySet().stream()
-                    .filter(n -> n.getValue().contains(edge))
-                    .forEach(n -> inEdges.remove(n.getKey(), edge));
+                inEdges.remove(edge.destination(), edge);
             }
 
             for (final var edgesTo = edgesTo(vertex); edgesTo.hasNext();) {
                 final var edge = edgesTo.next();
-                outEdges.entrySet().stream()
-                        .filter(n -> n.getValue().contains(edge))
-                        .forEach(n -> outEdges.remove(n.getKey(), edge));
+                outEdges.remove(edge.source(), edge);
             }
 
             outEdges.remove(vertex);
@@ -0,0 +1,24 @@
+package griz.jadt.graph;
+
+/**
+ * Enumerates the directions in which the edges of a {@link Graph} can be traversed.
+ *
+ * @author nichollsmc
+ */
+public enum Direction {
+
+    /**
+     * Follow out-bound edges, see {@link Graph#edgesFrom(Object)}.
+     */
+    OUT,
+
+    /**
+     * Follow in-bound edges, see {@link Graph#edgesTo(Object)}.
+     */
+    IN,
+
+    /**
+     * Follow both out-bound and in-bound edges.
+     */
+    BOTH
+}
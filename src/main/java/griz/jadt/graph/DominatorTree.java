@@ -0,0 +1,431 @@
+package griz.jadt.graph;
+
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Computes the dominator tree of a directed {@link Graph} rooted at a vertex with the Lengauer-Tarjan algorithm.
+ * <p>
+ * A vertex {@code a} dominates a vertex {@code b} if every path from the root to {@code b} passes through {@code a};
+ * every vertex dominates itself. The immediate dominator of a vertex other than the root is its unique strict
+ * dominator that is dominated by all of its other strict dominators. Only vertices reachable from the root take part
+ * in the tree.
+ * <p>
+ * The depth-first search and the path compression of the algorithm are iterative and keep their state in {@code int}
+ * arrays, so the size of the graph is not limited by the depth of the call stack. Once the tree is built, it is
+ * numbered by a depth-first traversal so that {@link #dominates(Object, Object)} is answered in constant time by
+ * comparing the intervals of the two vertices. Dominance frontiers are computed on first use.
+ * <p>
+ * Post-dominators are the dominators of the {@link Graph#reverse() reversed} graph, see
+ * {@link #postDominators(Graph, Object)}.
+ *
+ * @param <V> the type of vertices contained within the graph
+ *
+ * @author nichollsmc
+ */
+public class DominatorTree<V> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "dominator-tree";
+
+    private final Map<V, Integer> preorder;
+    private final Object[]        vertices;
+    private final int[]           idom;
+    private final int[]           predecessorStart;
+    private final int[]           predecessors;
+    private final int[]           childStart;
+    private final int[]           children;
+    private final int[]           enter;
+    private final int[]           exit;
+
+    private Set<V>[] frontiers;
+
+    /**
+     * Computes the dominator tree of the provided graph rooted at the provided vertex.
+     *
+     * @param <E> the type of the {@link Edge}s between vertices
+     * @param graph the graph
+     * @param root the root vertex, such as the entry of a control-flow graph
+     * @throws GraphException if the root vertex is not contained within the graph
+     */
+    public <E extends Edge<V>> DominatorTree(final Graph<V, E> graph, final V root) {
+        if (!graph.containsVertex(root)) {
+            throw new GraphException("Vertex is not contained within the graph: " + root);
+        }
+
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, graph.numVertices());
+        preorder = new HashMap<>();
+
+        final var parent = search(graph, root, recorder);
+        final var n = preorder.size();
+        vertices = new Object[n];
+        preorder.forEach((vertex, i) -> vertices[i] = vertex);
+
+        predecessorStart = new int[n + 1];
+        predecessors = predecessors(graph, predecessorStart, recorder);
+        idom = dominators(parent);
+
+        childStart = new int[n + 1];
+        children = new int[Math.max(0, n - 1)];
+        enter = new int[n];
+        exit = new int[n];
+        number();
+        recorder.finish(false);
+    }
+
+    /**
+     * Computes the post-dominator tree of the provided graph, that is, the dominator tree of its reverse rooted at the
+     * provided exit vertex. A vertex {@code a} post-dominates a vertex {@code b} if every path from {@code b} to the
+     * exit passes through {@code a}.
+     *
+     * @param <V> the type of vertices contained within the graph
+     * @param <E> the type of the {@link Edge}s between vertices
+     * @param graph the graph
+     * @param exit the exit vertex
+     * @return the post-dominator tree
+     * @throws GraphException if the exit vertex is not contained within the graph
+     */
+    public static <V, E extends Edge<V>> DominatorTree<V> postDominators(final Graph<V, E> graph, final V exit) {
+        return new DominatorTree<>(graph.reverse(), exit);
+    }
+
+    /**
+     * @return the root of the tree
+     */
+    public V root() {
+        return vertex(0);
+    }
+
+    /**
+     * @return the number of vertices reachable from the root, including the root itself
+     */
+    public int size() {
+        return vertices.length;
+    }
+
+    /**
+     * Returns a boolean indicating whether the provided vertex is reachable from the root, and therefore part of the
+     * tree.
+     *
+     * @param vertex the vertex
+     * @return {@code true} if the vertex is reachable from the root, {@code false} if not
+     */
+    public boolean isReachable(final V vertex) {
+        return preorder.containsKey(vertex);
+    }
+
+    /**
+     * Returns the immediate dominator of the provided vertex.
+     *
+     * @param vertex the vertex
+     * @return an {@link Optional} that contains the immediate dominator, which is empty for the root
+     * @throws GraphException if the vertex is not reachable from the root
+     */
+    public Optional<V> immediateDominator(final V vertex) {
+        final var v = indexOf(vertex);
+
+        return v == 0 ? Optional.empty() : Optional.of(vertex(idom[v]));
+    }
+
+    /**
+     * Returns a boolean indicating whether the first vertex dominates the second, in constant time.
+     *
+     * @param dominator the potential dominator
+     * @param vertex the potentially dominated vertex
+     * @return {@code true} if both vertices are reachable from the root and every path from the root to
+     *         {@code vertex} passes through {@code dominator}, {@code false} if not
+     */
+    public boolean dominates(final V dominator, final V vertex) {
+        final var a = preorder.get(dominator);
+        final var b = preorder.get(vertex);
+
+        return a != null && b != null && enter[a] <= enter[b] && exit[b] <= exit[a];
+    }
+
+    /**
+     * Returns a boolean indicating whether the first vertex dominates the second, and the vertices are different.
+     *
+     * @param dominator the potential dominator
+     * @param vertex the potentially dominated vertex
+     * @return {@code true} if {@code dominator} dominates {@code vertex} and is not equal to it, {@code false} if not
+     */
+    public boolean strictlyDominates(final V dominator, final V vertex) {
+        return dominates(dominator, vertex) && !preorder.get(dominator).equals(preorder.get(vertex));
+    }
+
+    /**
+     * Returns the vertices immediately dominated by the provided vertex, that is, its children in the tree.
+     *
+     * @param vertex the vertex
+     * @return the vertices whose immediate dominator is the provided vertex
+     * @throws GraphException if the vertex is not reachable from the root
+     */
+    public Set<V> children(final V vertex) {
+        final var v = indexOf(vertex);
+        final var result = new HashSet<V>();
+        for (int i = childStart[v]; i < childStart[v + 1]; i++) {
+            result.add(vertex(children[i]));
+        }
+
+        return unmodifiableSet(result);
+    }
+
+    /**
+     * Returns the dominance frontier of the provided vertex, that is, the vertices that have a predecessor dominated
+     * by the provided vertex but are not strictly dominated by it themselves.
+     *
+     * @param vertex the vertex
+     * @return the dominance frontier of the vertex
+     * @throws GraphException if the vertex is not reachable from the root
+     */
+    public Set<V> dominanceFrontier(final V vertex) {
+        final var v = indexOf(vertex);
+
+        return frontiers()[v];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { root: %s, size: %d }", getClass().getSimpleName(), root(), size());
+    }
+
+    /**
+     * Numbers the reachable vertices in depth-first preorder from the root.
+     *
+     * @return the preorder number of the depth-first parent of each vertex
+     */
+    private <E extends Edge<V>> int[] search(final Graph<V, E> graph, final V root,
+            final AlgorithmRecorder recorder) {
+        var parent = new int[16];
+        var stack = new int[16];
+        var vertexStack = new Object[16];
+        @SuppressWarnings("unchecked")
+        Iterator<E>[] iterators = (Iterator<E>[]) new Iterator<?>[16];
+
+        preorder.put(root, 0);
+        parent[0] = -1;
+        stack[0] = 0;
+        vertexStack[0] = root;
+        iterators[0] = graph.edgesFrom(root);
+        recorder.vertexVisited();
+
+        var depth = 1;
+        while (depth > 0) {
+            final var edges = iterators[depth - 1];
+            if (!edges.hasNext()) {
+                iterators[--depth] = null;
+                continue;
+            }
+
+            recorder.edgeRelaxed();
+            @SuppressWarnings("unchecked")
+            final var vertex = (V) vertexStack[depth - 1];
+            final var neighbor = AbstractGraph.neighbor(vertex, edges.next());
+            if (preorder.containsKey(neighbor)) {
+                continue;
+            }
+
+            final var w = preorder.size();
+            preorder.put(neighbor, w);
+            if (w == parent.length) {
+                parent = Arrays.copyOf(parent, w << 1);
+            }
+            parent[w] = stack[depth - 1];
+
+            if (depth == stack.length) {
+                stack = Arrays.copyOf(stack, depth << 1);
+                vertexStack = Arrays.copyOf(vertexStack, depth << 1);
+                iterators = Arrays.copyOf(iterators, depth << 1);
+            }
+            stack[depth] = w;
+            vertexStack[depth] = neighbor;
+            iterators[depth++] = graph.edgesFrom(neighbor);
+            recorder.vertexVisited();
+        }
+
+        return parent;
+    }
+
+    /**
+     * Collects the reachable predecessors of each reachable vertex in compressed sparse row form.
+     */
+    private <E extends Edge<V>> int[] predecessors(final Graph<V, E> graph, final int[] start,
+            final AlgorithmRecorder recorder) {
+        var result = new int[Math.max(16, vertices.length)];
+        var size = 0;
+        for (int w = 0; w < vertices.length; w++) {
+            start[w] = size;
+            final var vertex = vertex(w);
+            for (final var edges = graph.edgesTo(vertex); edges.hasNext();) {
+                recorder.edgeRelaxed();
+                final var v = preorder.get(AbstractGraph.neighbor(vertex, edges.next()));
+                if (v != null) {
+                    if (size == result.length) {
+                        result = Arrays.copyOf(result, size << 1);
+                    }
+                    result[size++] = v;
+                }
+            }
+        }
+        start[vertices.length] = size;
+
+        return result;
+    }
+
+    /**
+     * Computes the immediate dominator of each vertex with the Lengauer-Tarjan algorithm, using path compression
+     * without balancing.
+     */
+    private int[] dominators(final int[] parent) {
+        final var n = vertices.length;
+        final var semi = new int[n];
+        final var label = new int[n];
+        final var ancestor = new int[n];
+        final var dominator = new int[n];
+        final var bucketHead = new int[n];
+        final var bucketNext = new int[n];
+        final var path = new int[n];
+        for (int v = 0; v < n; v++) {
+            semi[v] = label[v] = v;
+        }
+        Arrays.fill(ancestor, -1);
+        Arrays.fill(bucketHead, -1);
+
+        for (int w = n - 1; w > 0; w--) {
+            for (int i = predecessorStart[w]; i < predecessorStart[w + 1]; i++) {
+                final var u = eval(predecessors[i], ancestor, label, semi, path);
+                if (semi[u] < semi[w]) {
+                    semi[w] = semi[u];
+                }
+            }
+
+            bucketNext[w] = bucketHead[semi[w]];
+            bucketHead[semi[w]] = w;
+
+            final var p = parent[w];
+            ancestor[w] = p;
+            for (int v = bucketHead[p]; v >= 0; v = bucketNext[v]) {
+                final var u = eval(v, ancestor, label, semi, path);
+                dominator[v] = semi[u] < semi[v] ? u : p;
+            }
+            bucketHead[p] = -1;
+        }
+
+        dominator[0] = -1;
+        for (int w = 1; w < n; w++) {
+            if (dominator[w] != semi[w]) {
+                dominator[w] = dominator[dominator[w]];
+            }
+        }
+
+        return dominator;
+    }
+
+    private static int eval(final int v, final int[] ancestor, final int[] label, final int[] semi, final int[] path) {
+        if (ancestor[v] < 0) {
+            return v;
+        }
+
+        var length = 0;
+        for (int x = v; ancestor[ancestor[x]] >= 0; x = ancestor[x]) {
+            path[length++] = x;
+        }
+
+        while (length > 0) {
+            final var x = path[--length];
+            final var a = ancestor[x];
+            if (semi[label[a]] < semi[label[x]]) {
+                label[x] = label[a];
+            }
+            ancestor[x] = ancestor[a];
+        }
+
+        return label[v];
+    }
+
+    /**
+     * Groups the vertices of the tree by parent, and numbers them by an iterative depth-first traversal that records
+     * the interval of each subtree.
+     */
+    private void number() {
+        final var n = vertices.length;
+        for (int w = 1; w < n; w++) {
+            childStart[idom[w] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            childStart[v + 1] += childStart[v];
+        }
+
+        final var next = Arrays.copyOf(childStart, n);
+        for (int w = 1; w < n; w++) {
+            children[next[idom[w]]++] = w;
+        }
+
+        final var stack = new int[n];
+        final var position = Arrays.copyOf(childStart, n);
+        var clock = 0;
+        var depth = 0;
+        stack[depth++] = 0;
+        enter[0] = clock++;
+        while (depth > 0) {
+            final var v = stack[depth - 1];
+            if (position[v] < childStart[v + 1]) {
+                final var w = children[position[v]++];
+                enter[w] = clock++;
+                stack[depth++] = w;
+            } else {
+                exit[v] = clock++;
+                depth--;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized Set<V>[] frontiers() {
+        if (frontiers == null) {
+            final var n = vertices.length;
+            final var result = (Set<V>[]) new Set<?>[n];
+            for (int v = 0; v < n; v++) {
+                result[v] = new HashSet<>();
+            }
+
+            for (int b = 0; b < n; b++) {
+                for (int i = predecessorStart[b]; i < predecessorStart[b + 1]; i++) {
+                    for (int runner = predecessors[i]; runner != idom[b] && runner >= 0; runner = idom[runner]) {
+                        result[runner].add(vertex(b));
+                    }
+                }
+            }
+
+            for (int v = 0; v < n; v++) {
+                result[v] = unmodifiableSet(result[v]);
+            }
+            frontiers = result;
+        }
+
+        return frontiers;
+    }
+
+    private int indexOf(final V vertex) {
+        final var v = preorder.get(vertex);
+        if (v == null) {
+            throw new GraphException("Vertex is not reachable from the root: " + vertex);
+        }
+
+        return v;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertex(final int index) {
+        return (V) vertices[index];
+    }
+}
@@ -0,0 +1,123 @@
+package griz.jadt.graph;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
+
+/**
+ * The state shared between a graph computation submitted to a {@link GraphExecutor} and the thread running it.
+ * <p>
+ * While a computation runs, its context is bound to the running thread. {@link AlgorithmRecorder}s capture the bound
+ * context when an algorithm run starts, and check it for cancellation whenever the algorithm visits a vertex, so
+ * algorithms stop at their next checkpoint once the computation has been cancelled.
+ *
+ * @author nichollsmc
+ */
+final class ExecutionContext {
+
+    /**
+     * The number of checkpoints between two progress reports.
+     */
+    static final int REPORT_INTERVAL = 1 << 10;
+
+    private static final ThreadLocal<ExecutionContext> CURRENT = new ThreadLocal<>();
+
+    private final ProgressListener listener;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Approximate number of checkpoints passed, which is only used to sample progress reports and may lose updates
+     * when an algorithm checks the context from several threads.
+     */
+    private long checkpoints;
+
+    /**
+     * Creates a new {@link ExecutionContext}.
+     *
+     * @param listener the listener to report progress to, or {@code null}
+     */
+    ExecutionContext(final ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @return the context bound to the current thread, or {@code null} if there is none
+     */
+    static ExecutionContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the provided computation with this context bound to the current thread.
+     *
+     * @param <R> the type of the result
+     * @param computation the computation
+     * @return the result of the computation
+     */
+    <R> R run(final Supplier<R> computation) {
+        final var previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return computation.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Requests the computation to stop at its next checkpoint.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return {@code true} if the computation has been cancelled, {@code false} if not
+     */
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks whether the computation has been cancelled, see {@link #checkpoint()}, and periodically reports its progress.
+     *
+     * @param algorithm the name of the running algorithm
+     * @param verticesVisited the number of vertices the algorithm has visited
+     * @param graphVertices the number of vertices of the graph
+     * @throws CancellationException if the computation has been cancelled
+     */
+    void checkpoint(final String algorithm, final long verticesVisited, final int graphVertices) {
+        checkpoint();
+        if (listener != null && (++checkpoints & (REPORT_INTERVAL - 1)) == 0) {
+            listener.progress(algorithm, verticesVisited, graphVertices);
+        }
+    }
+
+    /**
+     * Checks whether the computation has been cancelled, or the thread running it interrupted.
+     *
+     * @throws CancellationException if the computation has been cancelled
+     */
+    void checkpoint() {
+        if (cancelled || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Graph computation was cancelled");
+        }
+    }
+
+    /**
+     * Reports the completion of an algorithm run.
+     *
+     * @param algorithm the name of the algorithm
+     * @param verticesVisited the number of vertices the algorithm visited
+     * @param graphVertices the number of vertices of the graph
+     */
+    void completed(final String algorithm, final long verticesVisited, final int graphVertices) {
+        if (listener != null) {
+            listener.progress(algorithm, verticesVisited, graphVertices);
+        }
+    }
+}
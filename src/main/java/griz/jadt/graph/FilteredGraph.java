@@ -0,0 +1,138 @@
+package griz.jadt.graph;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A view of the vertices and edges of a {@link Graph} that match a pair of predicates.
+ * <p>
+ * An edge is part of the view if it matches the edge predicate and both of its endpoints are part of the view. When
+ * the view is restricted to an explicit set of vertices, the view iterates over that set rather than the vertices of
+ * the backing graph, so the cost of traversing a small subgraph does not depend on the size of the backing graph.
+ * <p>
+ * The set and the predicates may change independently of the backing graph, so the view reports its modifications as
+ * {@link AbstractGraph#UNTRACKED untracked}, and results such as the topological order are recomputed on every query.
+ *
+ * @param <V> the type of vertices contained within the {@link Graph}
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ *
+ * @see Graph#subgraph(Set)
+ * @see Graph#filterVertices(Predicate)
+ * @see Graph#filterEdges(Predicate)
+ */
+final class FilteredGraph<V, E extends Edge<V>> extends GraphView<V, E> {
+
+    private final Set<? extends V>     vertices;
+    private final Predicate<? super V> vertexFilter;
+    private final Predicate<? super E> edgeFilter;
+
+    /**
+     * Creates a new {@link FilteredGraph}.
+     *
+     * @param graph the backing graph
+     * @param vertices the set of vertices the view is restricted to, or {@code null} for all vertices
+     * @param vertexFilter the predicate vertices must match, or {@code null} to match all vertices
+     * @param edgeFilter the predicate edges must match, or {@code null} to match all edges
+     */
+    FilteredGraph(final Graph<V, E> graph, final Set<? extends V> vertices, final Predicate<? super V> vertexFilter,
+            final Predicate<? super E> edgeFilter) {
+        super(graph);
+        this.vertices = vertices;
+        this.vertexFilter = vertexFilter;
+        this.edgeFilter = edgeFilter;
+    }
+
+    @Override
+    public Graph<V, E> filterVertices(final Predicate<? super V> predicate) {
+        final Predicate<V> combined = vertexFilter == null
+                ? predicate::test
+                : vertex -> vertexFilter.test(vertex) && predicate.test(vertex);
+
+        return new FilteredGraph<>(graph, vertices, combined, edgeFilter);
+    }
+
+    @Override
+    public Graph<V, E> filterEdges(final Predicate<? super E> predicate) {
+        final Predicate<E> combined = edgeFilter == null
+                ? predicate::test
+                : edge -> edgeFilter.test(edge) && predicate.test(edge);
+
+        return new FilteredGraph<>(graph, vertices, vertexFilter, combined);
+    }
+
+    @Override
+    public long modificationCount() {
+        return UNTRACKED;
+    }
+
+    @Override
+    public E getEdge(final V source, final V destination) {
+        if (containsVertex(source) && containsVertex(destination)) {
+            final var edge = graph.getEdge(source, destination);
+            if (edge != null && (edgeFilter == null || edgeFilter.test(edge))) {
+                return edge;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean containsEdge(final V source, final V destination) {
+        return getEdge(source, destination) != null;
+    }
+
+    @Override
+    public boolean containsVertex(final V vertex) {
+        return (vertices == null || vertices.contains(vertex))
+                && (vertexFilter == null || vertexFilter.test(vertex))
+                && graph.containsVertex(vertex);
+    }
+
+    @Override
+    public int numVertices() {
+        if (vertices == null && vertexFilter == null) {
+            return graph.numVertices();
+        }
+
+        var count = 0;
+        for (final var iterator = iterator(); iterator.hasNext(); iterator.next()) {
+            count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public Iterator<E> edgesFrom(final V vertex) {
+        return adjacent(vertex, graph.edgesFrom(vertex));
+    }
+
+    @Override
+    public Iterator<E> edgesTo(final V vertex) {
+        return adjacent(vertex, graph.edgesTo(vertex));
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        if (vertices != null) {
+            return new ImmutableIterator<>(new FilteringIterator<V>(vertices.iterator(), this::containsVertex));
+        } else if (vertexFilter != null) {
+            return new ImmutableIterator<>(new FilteringIterator<>(graph.iterator(), vertexFilter));
+        }
+
+        return new ImmutableIterator<>(graph.iterator());
+    }
+
+    private Iterator<E> adjacent(final V vertex, final Iterator<E> edges) {
+        if (!containsVertex(vertex)) {
+            return new ImmutableIterator<>();
+        }
+
+        return new ImmutableIterator<>(new FilteringIterator<>(edges,
+                edge -> (edgeFilter == null || edgeFilter.test(edge)) && containsVertex(neighbor(vertex, edge))));
+    }
+}
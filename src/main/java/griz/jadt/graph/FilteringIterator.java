@@ -0,0 +1,58 @@
+package griz.jadt.graph;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * An {@link Iterator} that only returns the elements of another iterator that match a predicate.
+ *
+ * @param <E> the type to iterate over
+ *
+ * @author nichollsmc
+ */
+class FilteringIterator<E> implements Iterator<E> {
+
+    private final Iterator<? extends E> iterator;
+    private final Predicate<? super E>  predicate;
+
+    private E       next;
+    private boolean hasNext;
+
+    /**
+     * Creates a new {@link FilteringIterator}.
+     *
+     * @param iterator the iterator to filter
+     * @param predicate the predicate that returned elements must match
+     */
+    FilteringIterator(final Iterator<? extends E> iterator, final Predicate<? super E> predicate) {
+        this.iterator = iterator;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!hasNext && iterator.hasNext()) {
+            final var candidate = iterator.next();
+            if (predicate.test(candidate)) {
+                next = candidate;
+                hasNext = true;
+            }
+        }
+
+        return hasNext;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        hasNext = false;
+        final var result = next;
+        next = null;
+
+        return result;
+    }
+}
@@ -2,7 +2,10 @@ package griz.jadt.graph;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Defines the behavior for a graph {@code G = (V,E)}, where {@code V} is a set of vertices and {@code E} is a set of
@@ -136,4 +139,59 @@ public interface Graph<V, E extends Edge<V>> extends Iterable<V> {
      * @throws GraphException if a cycle is detected while calculating the topological order of the graph
      */
     List<V> topologicalOrder() throws GraphException;
+
+    /**
+     * Returns a view of the subgraph induced by the provided set of vertices, that is, the vertices of this graph that
+     * are contained within the set, and the edges of this graph between them.
+     * <p>
+     * The view is backed by this graph without copying, so later changes to this graph (or to the set) are reflected
+     * in the view. The view is read-only, and iterates over the provided set rather than over this graph's vertices.
+     * Since changes to the set cannot be detected, the view does not cache results such as its topological order.
+     *
+     * @param vertices the vertices of the subgraph
+     * @return a view of the induced subgraph
+     */
+    default Graph<V, E> subgraph(final Set<? extends V> vertices) {
+        return new FilteredGraph<>(this, Objects.requireNonNull(vertices, "Vertices cannot be null."), null, null);
+    }
+
+    /**
+     * Returns a view of the vertices of this graph that match the provided predicate, and the edges of this graph
+     * between them.
+     * <p>
+     * The view is backed by this graph without copying, so later changes to this graph are reflected in the view. The
+     * view is read-only.
+     *
+     * @param predicate the predicate vertices of the view must match
+     * @return a view of the matching vertices
+     */
+    default Graph<V, E> filterVertices(final Predicate<? super V> predicate) {
+        return new FilteredGraph<>(this, null, Objects.requireNonNull(predicate, "Predicate cannot be null."), null);
+    }
+
+    /**
+     * Returns a view of all vertices of this graph and the edges of this graph that match the provided predicate.
+     * <p>
+     * The view is backed by this graph without copying, so later changes to this graph are reflected in the view. The
+     * view is read-only.
+     *
+     * @param predicate the predicate edges of the view must match
+     * @return a view of the matching edges
+     */
+    default Graph<V, E> filterEdges(final Predicate<? super E> predicate) {
+        return new FilteredGraph<>(this, null, null, Objects.requireNonNull(predicate, "Predicate cannot be null."));
+    }
+
+    /**
+     * Returns a view of this graph with the direction of every edge reversed, that is, where {@link #edgesFrom(Object)}
+     * and {@link #edgesTo(Object)} are swapped.
+     * <p>
+     * The view is backed by this graph without copying, so later changes to this graph are reflected in the view. The
+     * view is read-only, and returns the {@link Edge} instances of this graph unchanged.
+     *
+     * @return a reversed view of this graph
+     */
+    default Graph<V, E> reverse() {
+        return new ReversedGraph<>(this);
+    }
 }
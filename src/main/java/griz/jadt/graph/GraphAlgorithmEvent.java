@@ -0,0 +1,40 @@
+package griz.jadt.graph;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted for each run of a graph algorithm.
+ * <p>
+ * The event is only committed while a recording with the {@code griz.jadt.GraphAlgorithm} event enabled is active;
+ * otherwise creating and timing it has negligible cost.
+ *
+ * @author nichollsmc
+ */
+@Name("griz.jadt.GraphAlgorithm")
+@Label("Graph Algorithm")
+@Category({ "JADT", "Graph" })
+@Description("Run of a graph algorithm")
+@StackTrace(false)
+class GraphAlgorithmEvent extends Event {
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Graph Vertices")
+    @Description("Number of vertices in the graph")
+    int graphVertices;
+
+    @Label("Vertices Visited")
+    long verticesVisited;
+
+    @Label("Edges Relaxed")
+    long edgesRelaxed;
+
+    @Label("Cycle Found")
+    boolean cycleFound;
+}
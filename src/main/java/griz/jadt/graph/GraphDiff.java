@@ -0,0 +1,512 @@
+package griz.jadt.graph;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * The structural difference between two versions of a {@link Graph}: the vertices and edges that were added or
+ * removed, and the edges whose {@link WeightedEdge#weight() weight} changed.
+ * <p>
+ * Edges are matched by their source and destination vertices. An edge present in both versions with a different
+ * weight is reported as a {@link WeightChange} rather than as a removal and an addition. Parallel edges between the
+ * same vertices are matched by weight first, and the remaining ones are paired in order of weight as weight changes,
+ * so removing one of several parallel edges is reported as a removal. The versions are compared one source vertex at
+ * a time, by sorting the out-bound edges of the vertex in both versions by the hash of their destination and by
+ * weight, and merging them. The sort buffers are reused by each thread, so only vertices that differ allocate a
+ * result. Vertices are compared in parallel.
+ * <p>
+ * A diff can be applied to a {@link DirectedGraph} with {@link #applyTo(DirectedGraph)}, and undone with the diff
+ * returned by {@link #inverse()}.
+ *
+ * @param <V> the type of vertices contained within the graphs
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ */
+public final class GraphDiff<V, E extends Edge<V>> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "graph-diff";
+
+    private static final int                  PARALLEL_THRESHOLD = 1 << 10;
+    private static final ThreadLocal<Buffers> BUFFERS            = ThreadLocal.withInitial(Buffers::new);
+
+    private final Set<V>                addedVertices;
+    private final Set<V>                removedVertices;
+    private final List<E>               addedEdges;
+    private final List<E>               removedEdges;
+    private final List<WeightChange<E>> changedEdges;
+
+    private GraphDiff(final Set<V> addedVertices, final Set<V> removedVertices, final List<E> addedEdges,
+            final List<E> removedEdges, final List<WeightChange<E>> changedEdges) {
+        this.addedVertices = unmodifiableSet(addedVertices);
+        this.removedVertices = unmodifiableSet(removedVertices);
+        this.addedEdges = unmodifiableList(addedEdges);
+        this.removedEdges = unmodifiableList(removedEdges);
+        this.changedEdges = unmodifiableList(changedEdges);
+    }
+
+    /**
+     * Computes the difference between the provided versions of a graph. The graphs must not be modified while the
+     * difference is computed.
+     *
+     * @param <V> the type of vertices contained within the graphs
+     * @param <E> the type of the {@link Edge}s between vertices
+     * @param before the earlier version of the graph
+     * @param after the later version of the graph
+     * @return the changes that turn {@code before} into {@code after}
+     */
+    public static <V, E extends Edge<V>> GraphDiff<V, E> between(final Graph<V, E> before, final Graph<V, E> after) {
+        Objects.requireNonNull(before, "Graph cannot be null.");
+        Objects.requireNonNull(after, "Graph cannot be null.");
+
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, Math.max(before.numVertices(), after.numVertices()));
+        final var fromAfter = compare(after, before, false, recorder);
+        final var fromBefore = compare(before, after, true, recorder);
+
+        final var addedVertices = new HashSet<V>();
+        final var removedVertices = new HashSet<V>();
+        final var addedEdges = new ArrayList<E>();
+        final var removedEdges = new ArrayList<E>();
+        final var changedEdges = new ArrayList<WeightChange<E>>();
+        for (final var delta : fromAfter) {
+            if (delta.vertexMissing) {
+                addedVertices.add(delta.vertex);
+            }
+            addedEdges.addAll(delta.missing);
+            changedEdges.addAll(delta.changed);
+        }
+        for (final var delta : fromBefore) {
+            if (delta.vertexMissing) {
+                removedVertices.add(delta.vertex);
+            }
+            removedEdges.addAll(delta.missing);
+        }
+
+        recorder.finish(false);
+
+        return new GraphDiff<>(addedVertices, removedVertices, addedEdges, removedEdges, changedEdges);
+    }
+
+    /**
+     * @return the vertices that were added
+     */
+    public Set<V> addedVertices() {
+        return addedVertices;
+    }
+
+    /**
+     * @return the vertices that were removed
+     */
+    public Set<V> removedVertices() {
+        return removedVertices;
+    }
+
+    /**
+     * @return the edges that were added, not including edges whose weight changed
+     */
+    public List<E> addedEdges() {
+        return addedEdges;
+    }
+
+    /**
+     * @return the edges that were removed, not including edges whose weight changed
+     */
+    public List<E> removedEdges() {
+        return removedEdges;
+    }
+
+    /**
+     * @return the edges whose weight changed
+     */
+    public List<WeightChange<E>> changedEdges() {
+        return changedEdges;
+    }
+
+    /**
+     * @return {@code true} if the compared graphs have the same structure and weights, {@code false} if not
+     */
+    public boolean isEmpty() {
+        return addedVertices.isEmpty() && removedVertices.isEmpty() && addedEdges.isEmpty() && removedEdges.isEmpty()
+                && changedEdges.isEmpty();
+    }
+
+    /**
+     * Returns the diff that undoes this diff, that is, the changes that turn the later version of the graph back into
+     * the earlier one.
+     *
+     * @return the inverse of this diff
+     */
+    public GraphDiff<V, E> inverse() {
+        final var inverted = new ArrayList<WeightChange<E>>(changedEdges.size());
+        for (final var change : changedEdges) {
+            inverted.add(new WeightChange<>(change.after, change.before));
+        }
+
+        return new GraphDiff<>(removedVertices, addedVertices, removedEdges, addedEdges, inverted);
+    }
+
+    /**
+     * Applies this diff to the provided graph as a single structural modification, so the
+     * {@link AbstractGraph#modificationCount() modification count} of the graph changes at most once. Edges are
+     * removed before they are added, so that edges whose weight changed are replaced. Changes that are already
+     * reflected by the graph are ignored.
+     *
+     * @param graph the graph to modify
+     * @return {@code true} if the graph changed, {@code false} if not
+     */
+    public boolean applyTo(final DirectedGraph<V, E> graph) {
+        var modified = false;
+        for (final var edge : removedEdges) {
+            modified |= graph.removeEdge0(edge.source(), edge);
+        }
+        for (final var change : changedEdges) {
+            modified |= graph.removeEdge0(change.before.source(), change.before);
+        }
+        for (final var vertex : removedVertices) {
+            modified |= graph.removeVertex0(vertex);
+        }
+        for (final var vertex : addedVertices) {
+            modified |= graph.addVertex0(vertex);
+        }
+        for (final var edge : addedEdges) {
+            modified |= graph.addEdge0(edge);
+        }
+        for (final var change : changedEdges) {
+            modified |= graph.addEdge0(change.after);
+        }
+
+        if (modified) {
+            graph.structureModified();
+        }
+
+        return modified;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { +vertices: %d, -vertices: %d, +edges: %d, -edges: %d, ~edges: %d }",
+                getClass().getSimpleName(), addedVertices.size(), removedVertices.size(), addedEdges.size(),
+                removedEdges.size(), changedEdges.size());
+    }
+
+    /**
+     * Compares the out-bound edges of every vertex of {@code graph} with those of the same vertex in {@code other}.
+     */
+    private static <V, E extends Edge<V>> List<Delta<V, E>> compare(final Graph<V, E> graph, final Graph<V, E> other,
+            final boolean missingOnly, final AlgorithmRecorder recorder) {
+        final var vertices = new ArrayList<V>(graph.numVertices());
+        graph.forEach(vertices::add);
+
+        final var n = vertices.size();
+        final var degrees = new int[n];
+        @SuppressWarnings("unchecked")
+        final Delta<V, E>[] deltas = (Delta<V, E>[]) new Delta<?, ?>[n];
+        final var stream = IntStream.range(0, n);
+        (n >= PARALLEL_THRESHOLD ? stream.parallel() : stream).forEach(v -> {
+            recorder.checkpoint();
+            deltas[v] = compare(vertices.get(v), graph, other, missingOnly, degrees, v);
+        });
+
+        final var result = new ArrayList<Delta<V, E>>();
+        var edges = 0L;
+        for (int v = 0; v < n; v++) {
+            edges += degrees[v];
+            if (deltas[v] != null) {
+                result.add(deltas[v]);
+            }
+        }
+        recorder.edgesRelaxed(edges);
+
+        return result;
+    }
+
+    /**
+     * Compares the out-bound edges of a single vertex. The edges of both versions are copied into the reusable buffers
+     * of the current thread, sorted by the hash of their destination and then by weight, and merged.
+     *
+     * @return the differences, or {@code null} if there are none
+     */
+    private static <V, E extends Edge<V>> Delta<V, E> compare(final V vertex, final Graph<V, E> graph,
+            final Graph<V, E> other, final boolean missingOnly, final int[] degrees, final int v) {
+        final var vertexMissing = !other.containsVertex(vertex);
+        final var buffers = BUFFERS.get();
+        final var edges = buffers.edges;
+        final var others = buffers.others;
+
+        Delta<V, E> delta = vertexMissing ? new Delta<>(vertex, true) : null;
+        try {
+            edges.fill(vertex, graph.edgesFrom(vertex));
+            if (!vertexMissing) {
+                others.fill(vertex, other.edgesFrom(vertex));
+            }
+            degrees[v] = edges.size;
+
+            var j = 0;
+            for (int i = 0; i < edges.size;) {
+                final var hash = edges.hashes[i];
+                var iEnd = i;
+                while (iEnd < edges.size && edges.hashes[iEnd] == hash) {
+                    iEnd++;
+                }
+                while (j < others.size && others.hashes[j] < hash) {
+                    j++;
+                }
+                var jEnd = j;
+                while (jEnd < others.size && others.hashes[jEnd] == hash) {
+                    jEnd++;
+                }
+
+                delta = merge(vertex, edges, i, iEnd, others, j, jEnd, missingOnly, delta);
+                i = iEnd;
+                j = jEnd;
+            }
+        } finally {
+            edges.clear();
+            others.clear();
+        }
+
+        return delta;
+    }
+
+    /**
+     * Merges the runs of edges whose destinations share a hash, one destination at a time. Edges of equal weight are
+     * matched first; the remaining edges to the same destination are then paired in order of weight as weight
+     * changes, and any edges left over are missing from the other version.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V, E extends Edge<V>> Delta<V, E> merge(final V vertex, final Edges edges, final int from,
+            final int to, final Edges others, final int otherFrom, final int otherTo, final boolean missingOnly,
+            final Delta<V, E> delta) {
+        var result = delta;
+        for (int k = from; k < to; k++) {
+            if (edges.done[k]) {
+                continue;
+            }
+
+            final var destination = edges.neighbors[k];
+            for (int i = k, j = next(others, otherFrom, otherTo, destination, false); i < to && j < otherTo;) {
+                final var order = Double.compare(edges.weights[i], others.weights[j]);
+                if (order == 0) {
+                    edges.matched[i] = true;
+                    others.matched[j] = true;
+                }
+                if (order <= 0) {
+                    i = next(edges, i + 1, to, destination, false);
+                }
+                if (order >= 0) {
+                    j = next(others, j + 1, otherTo, destination, false);
+                }
+            }
+
+            var j = next(others, otherFrom, otherTo, destination, true);
+            for (int i = next(edges, k, to, destination, true); i < to; i = next(edges, i + 1, to, destination, true)) {
+                if (j < otherTo) {
+                    if (!missingOnly) {
+                        result = result != null ? result : new Delta<>(vertex, false);
+                        result.changed.add(new WeightChange<>((E) others.edges[j], (E) edges.edges[i]));
+                    }
+                    j = next(others, j + 1, otherTo, destination, true);
+                } else {
+                    result = result != null ? result : new Delta<>(vertex, false);
+                    result.missing.add((E) edges.edges[i]);
+                }
+            }
+
+            for (int i = k; i < to; i = next(edges, i + 1, to, destination, false)) {
+                edges.done[i] = true;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the position of the next edge in {@code [from, to)} that leads to the provided destination, skipping
+     * matched edges if requested, or {@code to} if there is none.
+     */
+    private static int next(final Edges edges, final int from, final int to, final Object destination,
+            final boolean unmatched) {
+        for (int i = from; i < to; i++) {
+            if (!(unmatched && edges.matched[i])
+                    && Objects.equals(edges.neighbors[i], destination)) {
+                return i;
+            }
+        }
+
+        return to;
+    }
+
+    /**
+     * The buffers of a thread for the out-bound edges of a vertex in both versions of the graph.
+     */
+    private static final class Buffers {
+
+        private final Edges edges  = new Edges();
+        private final Edges others = new Edges();
+    }
+
+    /**
+     * Reusable parallel arrays of edges, sorted by the hash of their destination and then by weight.
+     */
+    private static final class Edges {
+
+        private Object[]  edges     = new Object[16];
+        private Object[]  neighbors = new Object[16];
+        private int[]     hashes    = new int[16];
+        private double[]  weights   = new double[16];
+        private boolean[] matched   = new boolean[16];
+        private boolean[] done      = new boolean[16];
+        private int       size;
+
+        /**
+         * Fills the buffers with the provided out-bound edges of a vertex, resolving the vertex each edge leads to
+         * with {@link AbstractGraph#neighbor(Object, Edge)} so that the edges of reversed views are followed.
+         */
+        <V> void fill(final V vertex, final Iterator<? extends Edge<V>> iterator) {
+            while (iterator.hasNext()) {
+                final var edge = iterator.next();
+                if (size == edges.length) {
+                    final var capacity = size << 1;
+                    edges = Arrays.copyOf(edges, capacity);
+                    neighbors = Arrays.copyOf(neighbors, capacity);
+                    hashes = Arrays.copyOf(hashes, capacity);
+                    weights = Arrays.copyOf(weights, capacity);
+                    matched = new boolean[capacity];
+                    done = new boolean[capacity];
+                }
+                final var neighbor = AbstractGraph.neighbor(vertex, edge);
+                edges[size] = edge;
+                neighbors[size] = neighbor;
+                hashes[size] = Objects.hashCode(neighbor);
+                weights[size++] = WeightedEdge.weightOf(edge);
+            }
+            sort();
+        }
+
+        /**
+         * Releases the edges and resets the flags of the filled positions.
+         */
+        void clear() {
+            Arrays.fill(edges, 0, size, null);
+            Arrays.fill(neighbors, 0, size, null);
+            Arrays.fill(matched, 0, size, false);
+            Arrays.fill(done, 0, size, false);
+            size = 0;
+        }
+
+        /**
+         * Heap sort, which sorts the parallel arrays in place without allocating.
+         */
+        private void sort() {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i, size);
+            }
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+        }
+
+        private void siftDown(final int from, final int end) {
+            var i = from;
+            while (true) {
+                var child = (i << 1) + 1;
+                if (child >= end) {
+                    return;
+                }
+                if (child + 1 < end && compare(child + 1, child) > 0) {
+                    child++;
+                }
+                if (compare(i, child) >= 0) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private int compare(final int i, final int j) {
+            final var order = Integer.compare(hashes[i], hashes[j]);
+
+            return order != 0 ? order : Double.compare(weights[i], weights[j]);
+        }
+
+        private void swap(final int i, final int j) {
+            final var edge = edges[i];
+            edges[i] = edges[j];
+            edges[j] = edge;
+            final var neighbor = neighbors[i];
+            neighbors[i] = neighbors[j];
+            neighbors[j] = neighbor;
+            final var hash = hashes[i];
+            hashes[i] = hashes[j];
+            hashes[j] = hash;
+            final var weight = weights[i];
+            weights[i] = weights[j];
+            weights[j] = weight;
+        }
+    }
+
+    /**
+     * The change of the weight of an edge, represented by the instances of the edge in both versions of the graph.
+     *
+     * @param <E> the type of the edge
+     */
+    public static final class WeightChange<E extends Edge<?>> {
+
+        private final E before;
+        private final E after;
+
+        WeightChange(final E before, final E after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        /**
+         * @return the edge in the earlier version of the graph
+         */
+        public E before() {
+            return before;
+        }
+
+        /**
+         * @return the edge in the later version of the graph
+         */
+        public E after() {
+            return after;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s -> %s", before, after);
+        }
+    }
+
+    /**
+     * The differences found for a single source vertex.
+     */
+    private static final class Delta<V, E extends Edge<V>> {
+
+        private final V                     vertex;
+        private final boolean               vertexMissing;
+        private final List<E>               missing = new ArrayList<>(1);
+        private final List<WeightChange<E>> changed = new ArrayList<>(1);
+
+        Delta(final V vertex, final boolean vertexMissing) {
+            this.vertex = vertex;
+            this.vertexMissing = vertexMissing;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package griz.jadt.graph;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs graph algorithms asynchronously, returning {@link CompletableFuture}s of their results.
+ * <p>
+ * Computations are submitted to an {@link Executor}. Executors created by {@link #create()} start a virtual thread per
+ * computation when the running JDK supports them, and a daemon platform thread otherwise. Each computation can be
+ * given a timeout and a {@link ProgressListener}.
+ * <p>
+ * Cancellation is cooperative: when the returned future completes before the computation does, because it was
+ * {@link CompletableFuture#cancel(boolean) cancelled}, timed out or otherwise completed by the caller, the computation
+ * is cancelled as well. The algorithms of this package check for cancellation each time they visit a vertex and stop
+ * by throwing a {@link CancellationException}, which leaves the graph unchanged. Custom computations can add their own
+ * checkpoints with {@link #checkpoint()}.
+ * <p>
+ * A future can complete while its computation is still running, until the computation reaches its next checkpoint.
+ * The graphs of this package are not thread-safe: a graph must not be used by other threads while a computation over it
+ * runs, which includes the algorithms that update results cached by the graph. The
+ * {@link Computation#termination() termination} stage of the returned {@link Computation} completes once the
+ * computation has stopped, after which the graph can safely be used again.
+ *
+ * @author nichollsmc
+ */
+public final class GraphExecutor implements AutoCloseable {
+
+    private final Executor        executor;
+    private final ExecutorService owned;
+
+    /**
+     * Creates a new {@link GraphExecutor} that submits computations to the provided executor. The executor is not shut
+     * down by {@link #close()}.
+     *
+     * @param executor the executor
+     */
+    public GraphExecutor(final Executor executor) {
+        this(requireNonNull(executor, "Executor cannot be null."), null);
+    }
+
+    private GraphExecutor(final Executor executor, final ExecutorService owned) {
+        this.executor = executor;
+        this.owned = owned;
+    }
+
+    /**
+     * Creates a new {@link GraphExecutor} that runs each computation on its own virtual thread if the JDK supports
+     * virtual threads, or on a daemon platform thread otherwise. Threads are released by {@link #close()}.
+     *
+     * @return the executor
+     */
+    public static GraphExecutor create() {
+        final var executor = newThreadPerTaskExecutor();
+
+        return new GraphExecutor(executor, executor);
+    }
+
+    /**
+     * Checks whether the computation running on the current thread has been cancelled. Has no effect outside of
+     * computations submitted to a {@code GraphExecutor}.
+     *
+     * @throws CancellationException if the computation has been cancelled
+     */
+    public static void checkpoint() {
+        final var context = ExecutionContext.current();
+        if (context != null) {
+            context.checkpoint();
+        }
+    }
+
+    /**
+     * Computes the topological order of the provided graph asynchronously.
+     *
+     * @param <V> the type of vertices contained within the graph
+     * @param graph the graph
+     * @param timeout the maximum duration of the computation
+     * @return a future of the topological order, which completes exceptionally with a {@link GraphException} if the
+     *         graph contains a cycle
+     * @see Graph#topologicalOrder()
+     */
+    public <V> Computation<List<V>> topologicalOrder(final Graph<V, ?> graph, final Duration timeout) {
+        requireNonNull(graph, "Graph cannot be null.");
+
+        return submit(graph::topologicalOrder, timeout, null);
+    }
+
+    /**
+     * Determines asynchronously whether the provided graph contains a cycle.
+     *
+     * @param graph the graph
+     * @param timeout the maximum duration of the computation
+     * @return a future of {@code true} if the graph contains a cycle, {@code false} if not
+     * @see Graph#hasCycle()
+     */
+    public Computation<Boolean> hasCycle(final Graph<?, ?> graph, final Duration timeout) {
+        requireNonNull(graph, "Graph cannot be null.");
+
+        return submit(graph::hasCycle, timeout, null);
+    }
+
+    /**
+     * Runs the provided computation asynchronously, without a timeout.
+     *
+     * @param <R> the type of the result
+     * @param computation the computation
+     * @return a future of the result of the computation
+     */
+    public <R> Computation<R> submit(final Supplier<? extends R> computation) {
+        return submit(computation, null, null);
+    }
+
+    /**
+     * Runs the provided computation asynchronously.
+     *
+     * @param <R> the type of the result
+     * @param computation the computation
+     * @param timeout the maximum duration of the computation after which the returned future completes exceptionally
+     *            with a {@link java.util.concurrent.TimeoutException}, or {@code null} for no timeout
+     * @param listener the listener to report the progress of the algorithms run by the computation to, or
+     *            {@code null}
+     * @return a future of the result of the computation
+     */
+    public <R> Computation<R> submit(final Supplier<? extends R> computation, final Duration timeout,
+            final ProgressListener listener) {
+        requireNonNull(computation, "Computation cannot be null.");
+
+        final var context = new ExecutionContext(listener);
+        final var future = new Computation<R>();
+        future.whenComplete((result, failure) -> context.cancel());
+        if (timeout != null) {
+            future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    if (!future.isDone()) {
+                        future.complete(context.run(computation));
+                    }
+                } catch (final Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    future.termination.complete(null);
+                }
+            });
+        } catch (final RuntimeException e) {
+            future.completeExceptionally(e);
+            future.termination.complete(null);
+        }
+
+        return future;
+    }
+
+    /**
+     * Shuts down the threads of an executor created by {@link #create()}, cancelling the computations that are still
+     * running. Has no effect on executors provided by the caller.
+     */
+    @Override
+    public void close() {
+        if (owned != null) {
+            owned.shutdownNow();
+        }
+    }
+
+    /**
+     * The future of the result of a computation submitted to a {@link GraphExecutor}, which also tracks when the
+     * computation stops running.
+     * <p>
+     * When the future is cancelled or times out, it completes immediately while the computation keeps running until its
+     * next checkpoint. The {@link #termination()} stage completes only once the computation has returned or thrown, or
+     * was skipped because the future completed before it started.
+     *
+     * @param <R> the type of the result
+     */
+    public static final class Computation<R> extends CompletableFuture<R> {
+
+        private final CompletableFuture<Void> termination = new CompletableFuture<>();
+
+        Computation() {
+            super();
+        }
+
+        /**
+         * Returns a stage that completes once the computation no longer runs, so that the graph it used can be
+         * queried or modified by other threads.
+         *
+         * @return the stage, which completes normally in all cases
+         */
+        public CompletableFuture<Void> termination() {
+            return termination.copy();
+        }
+    }
+
+    private static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                final var thread = new Thread(runnable, "graph-executor");
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+    }
+}
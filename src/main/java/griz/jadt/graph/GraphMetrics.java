@@ -0,0 +1,80 @@
+package griz.jadt.graph;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Entry point of the opt-in instrumentation of graph operations and algorithms.
+ * <p>
+ * Instrumentation is disabled by default. While disabled, graph algorithms only maintain a pair of local counters, and
+ * graphs that have not been wrapped by {@link #instrument(Graph)} are not measured at all. Once a {@link MetricsSink}
+ * is installed with {@link #enable(MetricsSink)}:
+ * <ul>
+ * <li>every {@link Graph} operation invoked through an instrumented graph reports its latency to the sink, and</li>
+ * <li>every run of a graph algorithm, such as the depth-first search behind {@link Graph#topologicalOrder()}, reports
+ * the vertices visited, edges relaxed, duration and whether a cycle was found.</li>
+ * </ul>
+ * Independently of the installed sink, algorithm runs are also emitted as JDK Flight Recorder events named
+ * {@code griz.jadt.GraphAlgorithm} whenever a flight recording that enables them is active.
+ *
+ * @author nichollsmc
+ *
+ * @see GraphMetricsRegistry
+ */
+public final class GraphMetrics {
+
+    /**
+     * The name under which the depth-first search used for cycle detection and topological ordering is reported.
+     */
+    public static final String DEPTH_FIRST_SEARCH = "depth-first-search";
+
+    private static volatile MetricsSink sink;
+
+    private GraphMetrics() {}
+
+    /**
+     * Enables instrumentation, reporting measurements to the provided sink.
+     *
+     * @param metricsSink the sink to report measurements to
+     */
+    public static void enable(final MetricsSink metricsSink) {
+        sink = requireNonNull(metricsSink, "Metrics sink cannot be null.");
+    }
+
+    /**
+     * Disables instrumentation.
+     */
+    public static void disable() {
+        sink = null;
+    }
+
+    /**
+     * @return {@code true} if instrumentation is enabled, {@code false} if not
+     */
+    public static boolean isEnabled() {
+        return sink != null;
+    }
+
+    /**
+     * Returns a view of the provided graph that reports the latency of each of its operations while instrumentation is
+     * enabled.
+     *
+     * @param <V> the type of vertices contained within the graph
+     * @param <E> the type of the {@link Edge}s between vertices
+     * @param graph the graph to instrument
+     * @return an instrumented view of the graph
+     */
+    public static <V, E extends Edge<V>> Graph<V, E> instrument(final Graph<V, E> graph) {
+        if (graph instanceof InstrumentedGraph) {
+            return graph;
+        }
+
+        return new InstrumentedGraph<>(requireNonNull(graph, "Graph cannot be null."));
+    }
+
+    /**
+     * @return the installed sink, or {@code null} if instrumentation is disabled
+     */
+    static MetricsSink sink() {
+        return sink;
+    }
+}
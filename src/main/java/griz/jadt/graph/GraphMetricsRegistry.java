@@ -0,0 +1,144 @@
+package griz.jadt.graph;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-memory {@link MetricsSink} that aggregates operation latencies and algorithm run statistics.
+ * <p>
+ * Latencies are kept in a {@link LatencyHistogram} per {@link GraphOperation} and per algorithm, along with counters of
+ * the vertices visited, edges relaxed and cycles found by each algorithm.
+ *
+ * @author nichollsmc
+ */
+public class GraphMetricsRegistry implements MetricsSink {
+
+    private final Map<GraphOperation, LatencyHistogram> operations = new EnumMap<>(GraphOperation.class);
+    private final Map<String, AlgorithmStatistics>      algorithms = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@link GraphMetricsRegistry}.
+     */
+    public GraphMetricsRegistry() {
+        for (final var operation : GraphOperation.values()) {
+            operations.put(operation, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public void recordOperation(final GraphOperation operation, final long durationNanos) {
+        operations.get(operation).record(durationNanos);
+    }
+
+    @Override
+    public void recordAlgorithm(final String algorithm, final long verticesVisited, final long edgesRelaxed,
+            final long durationNanos, final boolean cycleFound) {
+        algorithms.computeIfAbsent(algorithm, a -> new AlgorithmStatistics())
+                .record(verticesVisited, edgesRelaxed, durationNanos, cycleFound);
+    }
+
+    /**
+     * Returns the latency histogram for the provided operation.
+     *
+     * @param operation the operation
+     * @return the latency histogram of the operation
+     */
+    public LatencyHistogram operation(final GraphOperation operation) {
+        return operations.get(operation);
+    }
+
+    /**
+     * Returns the statistics recorded for the provided algorithm.
+     *
+     * @param algorithm the name of the algorithm
+     * @return the statistics of the algorithm, empty if it has not been run
+     */
+    public AlgorithmStatistics algorithm(final String algorithm) {
+        return algorithms.getOrDefault(algorithm, new AlgorithmStatistics());
+    }
+
+    /**
+     * Discards all recorded measurements.
+     */
+    public void reset() {
+        operations.values().forEach(LatencyHistogram::reset);
+        algorithms.clear();
+    }
+
+    @Override
+    public String toString() {
+        final var result = new StringBuilder();
+        operations.forEach((operation, histogram) -> {
+            if (histogram.count() > 0) {
+                result.append(operation).append(": ").append(histogram).append('\n');
+            }
+        });
+        algorithms.forEach((algorithm, statistics) -> result.append(algorithm).append(": ").append(statistics)
+                .append('\n'));
+
+        return result.toString();
+    }
+
+    /**
+     * Aggregated statistics of the runs of a single algorithm.
+     */
+    public static final class AlgorithmStatistics {
+
+        private final LatencyHistogram latency         = new LatencyHistogram();
+        private final LongAdder        verticesVisited = new LongAdder();
+        private final LongAdder        edgesRelaxed    = new LongAdder();
+        private final LongAdder        cyclesFound     = new LongAdder();
+
+        void record(final long vertices, final long edges, final long durationNanos, final boolean cycleFound) {
+            verticesVisited.add(vertices);
+            edgesRelaxed.add(edges);
+            if (cycleFound) {
+                cyclesFound.increment();
+            }
+            latency.record(durationNanos);
+        }
+
+        /**
+         * @return the number of runs
+         */
+        public long runs() {
+            return latency.count();
+        }
+
+        /**
+         * @return the latency histogram of the runs
+         */
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        /**
+         * @return the total number of vertices visited across all runs
+         */
+        public long verticesVisited() {
+            return verticesVisited.sum();
+        }
+
+        /**
+         * @return the total number of edges relaxed across all runs
+         */
+        public long edgesRelaxed() {
+            return edgesRelaxed.sum();
+        }
+
+        /**
+         * @return the number of runs that found a cycle
+         */
+        public long cyclesFound() {
+            return cyclesFound.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("runs: %d, vertices visited: %d, edges relaxed: %d, cycles found: %d, latency: %s",
+                    runs(), verticesVisited(), edgesRelaxed(), cyclesFound(), latency);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package griz.jadt.graph;
+
+/**
+ * Enumerates the {@link Graph} operations that can be measured by an instrumented graph.
+ *
+ * @author nichollsmc
+ *
+ * @see GraphMetrics#instrument(Graph)
+ */
+public enum GraphOperation {
+
+    /**
+     * {@link Graph#addEdge(Edge)}
+     */
+    ADD_EDGE,
+
+    /**
+     * {@link Graph#getEdge(Object, Object)}
+     */
+    GET_EDGE,
+
+    /**
+     * {@link Graph#addVertex(Object)}
+     */
+    ADD_VERTEX,
+
+    /**
+     * {@link Graph#removeEdge(Edge)}
+     */
+    REMOVE_EDGE,
+
+    /**
+     * {@link Graph#removeVertex(Object)}
+     */
+    REMOVE_VERTEX,
+
+    /**
+     * {@link Graph#containsEdge(Object, Object)}
+     */
+    CONTAINS_EDGE,
+
+    /**
+     * {@link Graph#containsVertex(Object)}
+     */
+    CONTAINS_VERTEX,
+
+    /**
+     * {@link Graph#edgesFrom(Object)}
+     */
+    EDGES_FROM,
+
+    /**
+     * {@link Graph#edgesTo(Object)}
+     */
+    EDGES_TO,
+
+    /**
+     * {@link Graph#hasCycle()}
+     */
+    HAS_CYCLE,
+
+    /**
+     * {@link Graph#getCycle()}
+     */
+    GET_CYCLE,
+
+    /**
+     * {@link Graph#topologicalOrder()}
+     */
+    TOPOLOGICAL_ORDER
+}
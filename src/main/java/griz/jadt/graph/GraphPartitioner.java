@@ -0,0 +1,805 @@
+package griz.jadt.graph;
+
+import static griz.jadt.graph.WeightedEdge.weightOf;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Partitions the vertices of a {@link Graph} into a number of parts of balanced size, so that the total weight of the
+ * edges between parts, the edge cut, is small. Each part can then be exported as a {@link #subgraph(int) subgraph}
+ * together with its {@link #cutEdges(int) cut edges}, for instance to distribute a large graph across several
+ * processes.
+ * <p>
+ * The direction of edges is ignored, and edges between the same vertices are combined by summing their weights. The
+ * weight of an edge is its {@link WeightedEdge#weight() weight}, or {@code 1.0} if it is not weighted; edges of
+ * negative weight count as {@code 0.0}. No part holds more than {@code (1 + imbalance) * n / parts} of the {@code n}
+ * vertices, or {@code ceil(n / parts)} if that is larger, where the imbalance defaults to
+ * {@value #DEFAULT_IMBALANCE}. Two {@link Strategy strategies} are available:
+ * <ul>
+ * <li>{@link Strategy#MULTILEVEL}: the graph is repeatedly coarsened by contracting a matching of heavy edges, found in
+ * parallel by letting each vertex propose to its heaviest unmatched neighbor and pairing mutual proposals. The
+ * coarsest graph is partitioned by restreamed Fennel passes, and the partition is then projected back through each
+ * level and refined there, by moving vertices to the part they are most connected to while the moves reduce the cut
+ * and respect the balance.</li>
+ * <li>{@link Strategy#STREAMING}: a single Fennel pass assigns each vertex in turn to the part that best trades the
+ * weight of its edges to the vertices already in the part against the size of the part. It is faster but cuts more
+ * edges.</li>
+ * </ul>
+ * The partition is deterministic. The subgraphs and cut edges are read from the graph when they are requested, so the
+ * graph must not be modified in between; vertices added since the partition was computed belong to no part.
+ *
+ * @param <V> the type of vertices contained within the graph
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ */
+public class GraphPartitioner<V, E extends Edge<V>> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "graph-partitioning";
+
+    /**
+     * The default fraction by which the size of a part may exceed the average size of the parts.
+     */
+    public static final double DEFAULT_IMBALANCE = 0.03;
+
+    private static final int    PARALLEL_THRESHOLD = 1 << 10;
+    private static final int    VERTICES_PER_PART  = 20;
+    private static final int    MATCHING_ROUNDS    = 4;
+    private static final double MIN_CONTRACTION    = 0.95;
+    private static final int    RESTREAM_PASSES    = 4;
+    private static final int    REFINEMENT_PASSES  = 6;
+    private static final double GAMMA              = 1.5;
+
+    /**
+     * The strategy used to partition the graph.
+     */
+    public enum Strategy {
+
+        /**
+         * Coarsens the graph by heavy-edge matching, partitions the coarsest graph, and refines the partition while
+         * projecting it back to the original graph.
+         */
+        MULTILEVEL,
+
+        /**
+         * Assigns the vertices to parts in a single Fennel pass.
+         */
+        STREAMING
+    }
+
+    private final Graph<V, E>    graph;
+    private final VertexIndex<V> index;
+    private final int            numParts;
+    private final Strategy       strategy;
+    private final int[]          parts;
+    private final int[]          partStart;
+    private final int[]          members;
+    private final double         edgeCut;
+
+    /**
+     * Partitions the provided graph into the provided number of parts with the {@link Strategy#MULTILEVEL multilevel}
+     * strategy and the {@link #DEFAULT_IMBALANCE default imbalance}.
+     *
+     * @param graph the graph
+     * @param numParts the number of parts
+     * @throws IllegalArgumentException if the number of parts is not positive
+     */
+    public GraphPartitioner(final Graph<V, E> graph, final int numParts) {
+        this(graph, numParts, Strategy.MULTILEVEL, DEFAULT_IMBALANCE);
+    }
+
+    /**
+     * Partitions the provided graph into the provided number of parts.
+     *
+     * @param graph the graph
+     * @param numParts the number of parts
+     * @param strategy the strategy
+     * @param imbalance the fraction by which the size of a part may exceed the average size of the parts
+     * @throws IllegalArgumentException if the number of parts is not positive, or the imbalance is negative
+     */
+    public GraphPartitioner(final Graph<V, E> graph, final int numParts, final Strategy strategy,
+            final double imbalance) {
+        if (numParts < 1) {
+            throw new IllegalArgumentException("Number of parts must be positive: " + numParts);
+        }
+        if (!(imbalance >= 0d)) {
+            throw new IllegalArgumentException("Imbalance cannot be negative: " + imbalance);
+        }
+
+        this.graph = graph;
+        this.numParts = numParts;
+        this.strategy = strategy;
+        index = VertexIndex.of(graph);
+
+        final var n = index.size();
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, n);
+        final var level = Level.of(graph, index, recorder);
+        final var capacity = Math.max((n + numParts - 1) / numParts, (long) Math.floor((1d + imbalance) * n / numParts));
+        final var assignment = strategy == Strategy.STREAMING
+                ? fennel(level, numParts, capacity, 1, recorder)
+                : multilevel(level, numParts, capacity, recorder);
+
+        parts = assignment;
+        partStart = new int[numParts + 1];
+        members = new int[n];
+        for (final var part : parts) {
+            partStart[part + 1]++;
+        }
+        for (int p = 0; p < numParts; p++) {
+            partStart[p + 1] += partStart[p];
+        }
+        final var next = Arrays.copyOf(partStart, numParts);
+        for (int v = 0; v < n; v++) {
+            members[next[parts[v]]++] = v;
+        }
+        edgeCut = level.cut(parts);
+
+        recorder.edgesRelaxed(level.start[n]);
+        recorder.finish(false);
+    }
+
+    /**
+     * @return the number of parts
+     */
+    public int numParts() {
+        return numParts;
+    }
+
+    /**
+     * @return the strategy used to partition the graph
+     */
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the part to which the provided vertex belongs.
+     *
+     * @param vertex the vertex
+     * @return the part, in {@code [0, numParts())}
+     * @throws GraphException if the vertex is not contained within the graph
+     */
+    public int partOf(final V vertex) {
+        final var v = index.indexOf(vertex);
+        if (v < 0) {
+            throw new GraphException("Vertex is not contained within the graph: " + vertex);
+        }
+
+        return parts[v];
+    }
+
+    /**
+     * Returns the vertices that belong to the provided part.
+     *
+     * @param part the part
+     * @return the vertices of the part
+     * @throws IndexOutOfBoundsException if the part is not in {@code [0, numParts())}
+     */
+    public List<V> verticesOf(final int part) {
+        checkPart(part);
+        final var result = new ArrayList<V>(partStart[part + 1] - partStart[part]);
+        for (int i = partStart[part]; i < partStart[part + 1]; i++) {
+            result.add(index.vertex(members[i]));
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the number of vertices of each part, indexed by part
+     */
+    public int[] sizes() {
+        final var result = new int[numParts];
+        for (int p = 0; p < numParts; p++) {
+            result[p] = partStart[p + 1] - partStart[p];
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the fraction by which the size of the largest part exceeds the average size of the parts
+     */
+    public double imbalance() {
+        if (parts.length == 0) {
+            return 0d;
+        }
+
+        return Arrays.stream(sizes()).max().getAsInt() * (double) numParts / parts.length - 1d;
+    }
+
+    /**
+     * @return the total weight of the edges between vertices of different parts
+     */
+    public double edgeCut() {
+        return edgeCut;
+    }
+
+    /**
+     * Returns the subgraph induced by the provided part, which contains the vertices of the part and the edges
+     * between them.
+     *
+     * @param part the part
+     * @return the subgraph
+     * @throws IndexOutOfBoundsException if the part is not in {@code [0, numParts())}
+     */
+    public DirectedGraph<V, E> subgraph(final int part) {
+        final var vertices = verticesOf(part);
+        final var edges = new ArrayList<E>();
+        for (final var vertex : vertices) {
+            for (final var iterator = graph.edgesFrom(vertex); iterator.hasNext();) {
+                final var edge = iterator.next();
+                final var w = index.indexOf(AbstractGraph.neighbor(vertex, edge));
+                if (w >= 0 && parts[w] == part) {
+                    edges.add(edge);
+                }
+            }
+        }
+
+        final var result = new DirectedGraph<V, E>();
+        result.addVertices(vertices);
+        result.addEdges(edges);
+
+        return result;
+    }
+
+    /**
+     * Returns the subgraphs induced by all parts, which are built in parallel.
+     *
+     * @return the subgraphs, indexed by part
+     * @see #subgraph(int)
+     */
+    public List<DirectedGraph<V, E>> subgraphs() {
+        final var stream = IntStream.range(0, numParts);
+
+        return (parts.length >= PARALLEL_THRESHOLD ? stream.parallel() : stream).mapToObj(this::subgraph)
+                .collect(toList());
+    }
+
+    /**
+     * Returns the edges that lead from vertices of the provided part to vertices of other parts. Each edge between
+     * different parts is therefore returned for exactly one part.
+     *
+     * @param part the part
+     * @return the out-bound cut edges of the part
+     * @throws IndexOutOfBoundsException if the part is not in {@code [0, numParts())}
+     */
+    public List<E> cutEdges(final int part) {
+        checkPart(part);
+        final var result = new ArrayList<E>();
+        for (int i = partStart[part]; i < partStart[part + 1]; i++) {
+            final var vertex = index.vertex(members[i]);
+            for (final var iterator = graph.edgesFrom(vertex); iterator.hasNext();) {
+                final var edge = iterator.next();
+                final var w = index.indexOf(AbstractGraph.neighbor(vertex, edge));
+                if (w >= 0 && parts[w] != part) {
+                    result.add(edge);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { vertices: %d, parts: %d, strategy: %s, edgeCut: %s }", getClass().getSimpleName(),
+                parts.length, numParts, strategy, edgeCut);
+    }
+
+    private void checkPart(final int part) {
+        if (part < 0 || part >= numParts) {
+            throw new IndexOutOfBoundsException("Part is out of range: " + part);
+        }
+    }
+
+    private static int[] multilevel(final Level fine, final int numParts, final long capacity,
+            final AlgorithmRecorder recorder) {
+        final var coarsest = VERTICES_PER_PART * numParts;
+        final var maxVertexWeight = (int) Math.max(1L, (long) Math.ceil(1.5 * fine.n / coarsest));
+        final var levels = new ArrayList<Level>(List.of(fine));
+        while (levels.get(levels.size() - 1).n > coarsest) {
+            final var coarse = levels.get(levels.size() - 1).coarsen(maxVertexWeight, recorder);
+            if (coarse == null) {
+                break;
+            }
+            levels.add(coarse);
+        }
+
+        var level = levels.get(levels.size() - 1);
+        var parts = fennel(level, numParts, capacity, RESTREAM_PASSES, recorder);
+        refine(level, parts, numParts, capacity, recorder);
+        for (int i = levels.size() - 2; i >= 0; i--) {
+            final var projection = levels.get(i + 1).fineToCoarse;
+            final var coarseParts = parts;
+            level = levels.get(i);
+            parts = new int[level.n];
+            for (int v = 0; v < level.n; v++) {
+                parts[v] = coarseParts[projection[v]];
+            }
+            refine(level, parts, numParts, capacity, recorder);
+        }
+
+        if (rebalance(fine, parts, numParts, capacity)) {
+            refine(fine, parts, numParts, capacity, recorder);
+        }
+
+        return parts;
+    }
+
+    /**
+     * Assigns the vertices of the level to parts with the Fennel objective, which adds the weight of the edges of a
+     * vertex into a part and subtracts the increase of {@code alpha * size^1.5} caused by adding the vertex to it. The
+     * first pass only sees edges to vertices assigned earlier; later passes restream the vertices with all edges.
+     */
+    private static int[] fennel(final Level level, final int numParts, final long capacity, final int passes,
+            final AlgorithmRecorder recorder) {
+        final var parts = new int[level.n];
+        Arrays.fill(parts, -1);
+        final var partWeights = new long[numParts];
+        final var connectivity = new Connectivity(numParts);
+        final double totalWeight = Arrays.stream(level.vertexWeights).asLongStream().sum();
+        final var alpha = totalWeight == 0d ? 0d
+                : Math.sqrt(numParts) * level.totalEdgeWeight() / Math.pow(totalWeight, GAMMA);
+
+        for (int pass = 0; pass < passes; pass++) {
+            recorder.checkpoint();
+            for (int v = 0; v < level.n; v++) {
+                final var weight = level.vertexWeights[v];
+                if (parts[v] >= 0) {
+                    partWeights[parts[v]] -= weight;
+                }
+
+                connectivity.compute(level, parts, v);
+                var best = -1;
+                var bestScore = Double.NEGATIVE_INFINITY;
+                var lightest = 0;
+                for (int p = 0; p < numParts; p++) {
+                    final var size = partWeights[p];
+                    if (size < partWeights[lightest]) {
+                        lightest = p;
+                    }
+                    if (size + weight <= capacity) {
+                        final var score = connectivity.weights[p]
+                                - alpha * (Math.pow(size + weight, GAMMA) - Math.pow(size, GAMMA));
+                        if (score > bestScore || score == bestScore && size < partWeights[best]) {
+                            best = p;
+                            bestScore = score;
+                        }
+                    }
+                }
+                connectivity.clear();
+
+                parts[v] = best >= 0 ? best : lightest;
+                partWeights[parts[v]] += weight;
+            }
+        }
+
+        return parts;
+    }
+
+    /**
+     * Moves vertices to the part they are most connected to, as long as each move reduces the edge cut and keeps the
+     * part within its capacity. Candidate moves are found in parallel and then applied one by one, after checking
+     * them against the moves applied before.
+     */
+    private static void refine(final Level level, final int[] parts, final int numParts, final long capacity,
+            final AlgorithmRecorder recorder) {
+        final var partWeights = level.partWeights(parts, numParts);
+        final var local = ThreadLocal.withInitial(() -> new Connectivity(numParts));
+        final var connectivity = new Connectivity(numParts);
+        final var candidates = new int[level.n];
+        for (int pass = 0; pass < REFINEMENT_PASSES; pass++) {
+            final var stream = IntStream.range(0, level.n);
+            (level.n >= PARALLEL_THRESHOLD ? stream.parallel() : stream).forEach(v -> {
+                if ((v & 0xFFF) == 0) {
+                    recorder.checkpoint();
+                }
+                candidates[v] = local.get().bestMove(level, parts, v, null, capacity);
+            });
+
+            var moved = 0;
+            for (int v = 0; v < level.n; v++) {
+                if (candidates[v] >= 0) {
+                    final var target = connectivity.bestMove(level, parts, v, partWeights, capacity);
+                    if (target >= 0) {
+                        partWeights[parts[v]] -= level.vertexWeights[v];
+                        partWeights[target] += level.vertexWeights[v];
+                        parts[v] = target;
+                        moved++;
+                    }
+                }
+            }
+
+            if (moved == 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Moves vertices out of the parts that exceed their capacity, preferring the vertices whose move increases the
+     * edge cut the least.
+     *
+     * @return {@code true} if any vertex was moved, {@code false} if all parts were within their capacity
+     */
+    private static boolean rebalance(final Level level, final int[] parts, final int numParts, final long capacity) {
+        final var partWeights = level.partWeights(parts, numParts);
+        final var connectivity = new Connectivity(numParts);
+        var moved = false;
+        for (int p = 0; p < numParts; p++) {
+            if (partWeights[p] <= capacity) {
+                continue;
+            }
+
+            final var part = p;
+            final var losses = new double[level.n];
+            final var vertices = IntStream.range(0, level.n).filter(v -> parts[v] == part).boxed().collect(toList());
+            for (final var v : vertices) {
+                connectivity.compute(level, parts, v);
+                losses[v] = connectivity.weights[part] - connectivity.maxOther(part);
+                connectivity.clear();
+            }
+            vertices.sort((first, second) -> Double.compare(losses[first], losses[second]));
+
+            for (final var v : vertices) {
+                if (partWeights[part] <= capacity) {
+                    break;
+                }
+
+                connectivity.compute(level, parts, v);
+                var target = -1;
+                for (int q = 0; q < numParts; q++) {
+                    if (q != part && partWeights[q] + level.vertexWeights[v] <= capacity && (target < 0
+                            || connectivity.weights[q] > connectivity.weights[target]
+                            || connectivity.weights[q] == connectivity.weights[target]
+                                    && partWeights[q] < partWeights[target])) {
+                        target = q;
+                    }
+                }
+                connectivity.clear();
+
+                if (target >= 0) {
+                    partWeights[part] -= level.vertexWeights[v];
+                    partWeights[target] += level.vertexWeights[v];
+                    parts[v] = target;
+                    moved = true;
+                }
+            }
+        }
+
+        return moved;
+    }
+
+    /**
+     * Mixes the endpoints of an undirected edge into a hash, which breaks ties between edges of equal rating in the
+     * same way for both endpoints.
+     */
+    static long hash(final int u, final int v) {
+        var h = (long) Math.min(u, v) << 32 | Math.max(u, v);
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * An undirected graph with weighted vertices and edges, in compressed sparse row form, that forms one level of
+     * the multilevel partitioning.
+     */
+    private static final class Level {
+
+        private final int      n;
+        private final int[]    start;
+        private final int[]    targets;
+        private final double[] weights;
+        private final int[]    vertexWeights;
+        private final int[]    fineToCoarse;
+
+        private Level(final int[][] targets, final double[][] weights, final int[] vertexWeights,
+                final int[] fineToCoarse) {
+            n = vertexWeights.length;
+            start = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                start[v + 1] = start[v] + targets[v].length;
+            }
+            this.targets = new int[start[n]];
+            this.weights = new double[start[n]];
+            for (int v = 0; v < n; v++) {
+                System.arraycopy(targets[v], 0, this.targets, start[v], targets[v].length);
+                System.arraycopy(weights[v], 0, this.weights, start[v], weights[v].length);
+            }
+            this.vertexWeights = vertexWeights;
+            this.fineToCoarse = fineToCoarse;
+        }
+
+        static <V, E extends Edge<V>> Level of(final Graph<V, E> graph, final VertexIndex<V> index,
+                final AlgorithmRecorder recorder) {
+            final var n = index.size();
+            final var targets = new int[n][];
+            final var weights = new double[n][];
+            final var stream = IntStream.range(0, n);
+            (n >= PARALLEL_THRESHOLD ? stream.parallel() : stream).forEach(v -> {
+                recorder.checkpoint();
+                final var vertex = index.vertex(v);
+                final var neighbors = new Neighbors();
+                neighbors.addAll(graph.edgesFrom(vertex), vertex, v, index);
+                neighbors.addAll(graph.edgesTo(vertex), vertex, v, index);
+                neighbors.mergeInto(targets, weights, v);
+            });
+
+            final var vertexWeights = new int[n];
+            Arrays.fill(vertexWeights, 1);
+
+            return new Level(targets, weights, vertexWeights, null);
+        }
+
+        /**
+         * Contracts a matching of heavy edges of this level into the next, coarser level.
+         *
+         * @return the coarser level, or {@code null} if the matching would not shrink this level enough
+         */
+        Level coarsen(final int maxVertexWeight, final AlgorithmRecorder recorder) {
+            final var match = new int[n];
+            final var proposals = new int[n];
+            Arrays.fill(match, -1);
+            for (int round = 0; round < MATCHING_ROUNDS; round++) {
+                recorder.checkpoint();
+                parallel(v -> proposals[v] = match[v] < 0 ? heaviestUnmatched(v, match, maxVertexWeight) : -1);
+                parallel(v -> {
+                    final var u = proposals[v];
+                    if (u >= 0 && proposals[u] == v) {
+                        match[v] = u;
+                    }
+                });
+            }
+
+            final var coarse = new int[n];
+            var size = 0;
+            for (int v = 0; v < n; v++) {
+                if (match[v] < 0) {
+                    coarse[v] = size++;
+                } else if (v < match[v]) {
+                    coarse[v] = size;
+                    coarse[match[v]] = size++;
+                }
+            }
+            if (size > n * MIN_CONTRACTION) {
+                return null;
+            }
+
+            final var first = new int[size];
+            final var second = new int[size];
+            Arrays.fill(second, -1);
+            for (int v = n - 1; v >= 0; v--) {
+                if (match[v] >= 0 && v > match[v]) {
+                    second[coarse[v]] = v;
+                } else {
+                    first[coarse[v]] = v;
+                }
+            }
+
+            final var coarseTargets = new int[size][];
+            final var coarseWeights = new double[size][];
+            final var coarseVertexWeights = new int[size];
+            final var stream = IntStream.range(0, size);
+            (size >= PARALLEL_THRESHOLD ? stream.parallel() : stream).forEach(c -> {
+                final var neighbors = new Neighbors();
+                for (final var v : new int[] { first[c], second[c] }) {
+                    if (v >= 0) {
+                        coarseVertexWeights[c] += vertexWeights[v];
+                        for (int i = start[v]; i < start[v + 1]; i++) {
+                            if (coarse[targets[i]] != c) {
+                                neighbors.add(coarse[targets[i]], weights[i]);
+                            }
+                        }
+                    }
+                }
+                neighbors.mergeInto(coarseTargets, coarseWeights, c);
+            });
+
+            return new Level(coarseTargets, coarseWeights, coarseVertexWeights, coarse);
+        }
+
+        /**
+         * Returns the unmatched neighbor with the highest rating, the weight of the edge divided by the product of the
+         * weights of its endpoints, which favors contracting light vertices.
+         */
+        private int heaviestUnmatched(final int v, final int[] match, final int maxVertexWeight) {
+            var best = -1;
+            var bestRating = 0d;
+            var bestHash = 0L;
+            for (int i = start[v]; i < start[v + 1]; i++) {
+                final var u = targets[i];
+                if (match[u] >= 0 || vertexWeights[u] + vertexWeights[v] > maxVertexWeight) {
+                    continue;
+                }
+
+                final var rating = weights[i] / ((double) vertexWeights[u] * vertexWeights[v]);
+                final var hash = hash(u, v);
+                if (best < 0 || rating > bestRating || rating == bestRating && hash < bestHash) {
+                    best = u;
+                    bestRating = rating;
+                    bestHash = hash;
+                }
+            }
+
+            return best;
+        }
+
+        private void parallel(final IntConsumer action) {
+            final var stream = IntStream.range(0, n);
+            (n >= PARALLEL_THRESHOLD ? stream.parallel() : stream).forEach(action);
+        }
+
+        long[] partWeights(final int[] parts, final int numParts) {
+            final var result = new long[numParts];
+            for (int v = 0; v < n; v++) {
+                result[parts[v]] += vertexWeights[v];
+            }
+
+            return result;
+        }
+
+        double totalEdgeWeight() {
+            return Arrays.stream(weights).sum() / 2d;
+        }
+
+        /**
+         * Returns the total weight of the edges between parts. Each edge is stored at both endpoints.
+         */
+        double cut(final int[] parts) {
+            final var stream = IntStream.range(0, n);
+
+            return (n >= PARALLEL_THRESHOLD ? stream.parallel() : stream).mapToDouble(v -> {
+                var cut = 0d;
+                for (int i = start[v]; i < start[v + 1]; i++) {
+                    if (parts[targets[i]] != parts[v]) {
+                        cut += weights[i];
+                    }
+                }
+
+                return cut;
+            }).sum() / 2d;
+        }
+    }
+
+    /**
+     * A growable list of weighted neighbors of a vertex.
+     */
+    private static final class Neighbors {
+
+        private int[]    targets = new int[8];
+        private double[] weights = new double[8];
+        private int      size;
+
+        <V> void addAll(final Iterator<? extends Edge<V>> edges, final V vertex, final int v,
+                final VertexIndex<V> index) {
+            while (edges.hasNext()) {
+                final var edge = edges.next();
+                final var u = index.indexOf(AbstractGraph.neighbor(vertex, edge));
+                if (u >= 0 && u != v) {
+                    final var weight = weightOf(edge);
+                    add(u, weight > 0d ? weight : 0d);
+                }
+            }
+        }
+
+        void add(final int target, final double weight) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size << 1);
+                weights = Arrays.copyOf(weights, size << 1);
+            }
+            targets[size] = target;
+            weights[size++] = weight;
+        }
+
+        /**
+         * Sorts the neighbors, sums the weights of repeated neighbors, and stores the result at the provided slot.
+         */
+        void mergeInto(final int[][] allTargets, final double[][] allWeights, final int slot) {
+            final var keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = (long) targets[i] << 32 | i;
+            }
+            Arrays.sort(keys);
+
+            final var mergedTargets = new int[size];
+            final var mergedWeights = new double[size];
+            var merged = 0;
+            for (final var key : keys) {
+                final var target = (int) (key >>> 32);
+                final var weight = weights[(int) key];
+                if (merged > 0 && mergedTargets[merged - 1] == target) {
+                    mergedWeights[merged - 1] += weight;
+                } else {
+                    mergedTargets[merged] = target;
+                    mergedWeights[merged++] = weight;
+                }
+            }
+
+            allTargets[slot] = Arrays.copyOf(mergedTargets, merged);
+            allWeights[slot] = Arrays.copyOf(mergedWeights, merged);
+        }
+    }
+
+    /**
+     * The weight of the edges of a vertex into each part, with the parts that were touched so they can be cleared.
+     */
+    private static final class Connectivity {
+
+        private final double[] weights;
+        private final int[]    touched;
+        private int            size;
+
+        Connectivity(final int numParts) {
+            weights = new double[numParts];
+            touched = new int[numParts];
+        }
+
+        void compute(final Level level, final int[] parts, final int v) {
+            for (int i = level.start[v]; i < level.start[v + 1]; i++) {
+                final var part = parts[level.targets[i]];
+                if (part >= 0) {
+                    if (weights[part] == 0d) {
+                        touched[size++] = part;
+                    }
+                    weights[part] += level.weights[i];
+                    if (weights[part] == 0d) {
+                        weights[part] = Double.MIN_VALUE;
+                    }
+                }
+            }
+        }
+
+        double maxOther(final int part) {
+            var max = 0d;
+            for (int i = 0; i < size; i++) {
+                if (touched[i] != part) {
+                    max = Math.max(max, weights[touched[i]]);
+                }
+            }
+
+            return max;
+        }
+
+        /**
+         * Returns the part to which moving the vertex reduces the edge cut the most, or {@code -1} if no move reduces
+         * it. The capacity of the parts is only checked if their weights are provided.
+         */
+        int bestMove(final Level level, final int[] parts, final int v, final long[] partWeights,
+                final long capacity) {
+            compute(level, parts, v);
+            final var own = parts[v];
+            var best = -1;
+            var bestWeight = weights[own];
+            for (int i = 0; i < size; i++) {
+                final var part = touched[i];
+                if (part != own && weights[part] > bestWeight
+                        && (partWeights == null || partWeights[part] + level.vertexWeights[v] <= capacity)) {
+                    best = part;
+                    bestWeight = weights[part];
+                }
+            }
+            clear();
+
+            return best;
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                weights[touched[i]] = 0d;
+            }
+            size = 0;
+        }
+    }
+}
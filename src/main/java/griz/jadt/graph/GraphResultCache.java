@@ -0,0 +1,222 @@
+package griz.jadt.graph;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A size-bounded cache of results derived from the structure of a graph.
+ * <p>
+ * Each cached result is tagged with the {@link AbstractGraph#modificationCount() modification count} of the graph at
+ * the time it was computed. Whenever the graph's structure changes, that is, when an edge or vertex is added or
+ * removed, all cached results are discarded on the next access; results are never invalidated otherwise. Results of
+ * graphs whose modifications are {@link AbstractGraph#UNTRACKED untracked} are never reused. When the
+ * cache holds more than its maximum number of entries, the least recently used entry is evicted.
+ * <p>
+ * Besides the built-in queries for the topological order, a directed cycle, the strongly connected components and the
+ * shortest paths from a source vertex, arbitrary results can be cached with {@link #get(Object, Function)}.
+ * <p>
+ * Cached results are shared between callers, so lists returned by this cache are unmodifiable. This class is
+ * thread-safe provided the underlying graph is not modified concurrently. Results are computed while holding the
+ * cache's lock, so each result is computed at most once per graph modification.
+ *
+ * @param <V> the type of vertices contained within the graph
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ */
+public class GraphResultCache<V, E extends Edge<V>> {
+
+    /**
+     * The default maximum number of cached results.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private static final Object TOPOLOGICAL_ORDER             = new Object();
+    private static final Object DIRECTED_CYCLE                = new Object();
+    private static final Object STRONGLY_CONNECTED_COMPONENTS = new Object();
+
+    private final AbstractGraph<V, E> graph;
+    private final Map<Object, Object> entries;
+
+    private long version;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a new {@link GraphResultCache} for the provided graph, holding at most {@link #DEFAULT_MAX_ENTRIES}
+     * results.
+     *
+     * @param graph the graph whose results are cached
+     */
+    public GraphResultCache(final AbstractGraph<V, E> graph) {
+        this(graph, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a new {@link GraphResultCache} for the provided graph.
+     *
+     * @param graph the graph whose results are cached
+     * @param maxEntries the maximum number of cached results
+     */
+    public GraphResultCache(final AbstractGraph<V, E> graph, final int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Maximum number of entries must be positive: " + maxEntries);
+        }
+
+        this.graph = requireNonNull(graph, "Graph cannot be null.");
+        this.version = graph.modificationCount();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 4166287468716421553L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, Object> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached topological order of the graph, computing it if necessary.
+     *
+     * @return an unmodifiable list of the vertices of the graph in topological order
+     * @throws GraphException if the graph contains a directed cycle
+     * @see Graph#topologicalOrder()
+     */
+    public List<V> topologicalOrder() {
+        final var cycle = cycle();
+        if (cycle.isPresent()) {
+            throw new GraphException(cycle.get());
+        }
+
+        return get(TOPOLOGICAL_ORDER, g -> unmodifiableList(g.topologicalOrder()));
+    }
+
+    /**
+     * Returns the cached directed cycle of the graph, computing it if necessary.
+     *
+     * @return an {@link Optional} that contains an unmodifiable list of the edges of a cycle
+     * @see Graph#getCycle()
+     */
+    public Optional<List<E>> cycle() {
+        return get(DIRECTED_CYCLE, g -> g.getCycle().map(c -> unmodifiableList(c)));
+    }
+
+    /**
+     * Returns the cached strongly connected components of the graph, computing them if necessary.
+     *
+     * @return the strongly connected components of the graph
+     */
+    public StronglyConnectedComponents<V> stronglyConnectedComponents() {
+        return get(STRONGLY_CONNECTED_COMPONENTS, StronglyConnectedComponents::new);
+    }
+
+    /**
+     * Returns the cached shortest paths from the provided source vertex, computing them if necessary.
+     *
+     * @param source the source vertex
+     * @return the shortest paths from the source vertex
+     */
+    public ShortestPaths<V, E> shortestPaths(final V source) {
+        return get(new QueryKey(ShortestPaths.ALGORITHM, source), g -> new ShortestPaths<>(g, source));
+    }
+
+    /**
+     * Returns the result cached under the provided key, computing and caching it with the provided function if it is
+     * absent or the graph has been modified since it was computed.
+     * <p>
+     * Keys must implement {@code equals} and {@code hashCode}, and should identify both the query and its parameters.
+     *
+     * @param <R> the type of the result
+     * @param key the key of the result
+     * @param computation the function that computes the result from the graph
+     * @return the cached or computed result
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <R> R get(final Object key, final Function<? super Graph<V, E>, ? extends R> computation) {
+        requireNonNull(key, "Key cannot be null.");
+
+        validate();
+        final var cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+
+            return (R) cached;
+        }
+
+        misses++;
+        final R result = computation.apply(graph);
+        if (result != null) {
+            entries.put(key, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the number of cached results
+     */
+    public synchronized int size() {
+        validate();
+
+        return entries.size();
+    }
+
+    /**
+     * @return the number of lookups that were answered from the cache
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups that required a result to be computed
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Discards all cached results.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private void validate() {
+        final var current = graph.modificationCount();
+        if (current != version || current == AbstractGraph.UNTRACKED) {
+            entries.clear();
+            version = current;
+        }
+    }
+
+    /**
+     * Key of a parameterized query.
+     */
+    private static final class QueryKey {
+
+        private final Object[] parts;
+
+        QueryKey(final Object... parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(parts);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof QueryKey && Arrays.equals(parts, ((QueryKey) object).parts);
+        }
+    }
+}
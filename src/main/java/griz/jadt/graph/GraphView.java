@@ -0,0 +1,68 @@
+package griz.jadt.graph;
+
+import java.util.Objects;
+
+/**
+ * Skeletal implementation of a read-only, lazily evaluated view of another {@link Graph}.
+ * <p>
+ * A view holds no vertices or edges of its own; every query is answered from the backing graph, so changes to the
+ * backing graph are visible through the view. Views inherit the algorithms of {@link AbstractGraph}, which track the
+ * {@link #modificationCount() modification count} of the backing graph. All mutating operations throw an
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <V> the type of vertices contained within the {@link Graph}
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ */
+abstract class GraphView<V, E extends Edge<V>> extends AbstractGraph<V, E> {
+
+    final Graph<V, E> graph;
+
+    /**
+     * Creates a view of the provided graph.
+     *
+     * @param graph the backing graph
+     */
+    GraphView(final Graph<V, E> graph) {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null.");
+    }
+
+    @Override
+    public boolean isDirected() {
+        return graph.isDirected();
+    }
+
+    @Override
+    public long modificationCount() {
+        if (graph instanceof AbstractGraph) {
+            return ((AbstractGraph<V, E>) graph).modificationCount();
+        }
+
+        return UNTRACKED;
+    }
+
+    @Override
+    public void addEdge(final E edge) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeEdge(final E edge) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Graph views are read-only");
+    }
+}
@@ -0,0 +1,119 @@
+package griz.jadt.graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * An immutable snapshot of the adjacency of a {@link Graph} in compressed sparse row form.
+ * <p>
+ * Vertices are identified by their index within a {@link VertexIndex}. The neighbors of vertex {@code v} in a given
+ * {@link Direction} are the entries {@code [start[v], start[v + 1])} of a shared {@code int} array, so algorithms can
+ * traverse the graph without allocating iterators or boxing vertices. Edges leading to vertices that are not
+ * contained within the graph are omitted.
+ *
+ * @param <V> the type of vertices contained within the graph
+ *
+ * @author nichollsmc
+ */
+final class IndexedAdjacency<V> {
+
+    private final VertexIndex<V> index;
+    private final int[]          outStart;
+    private final int[]          outTargets;
+    private final int[]          inStart;
+    private final int[]          inTargets;
+
+    private IndexedAdjacency(final VertexIndex<V> index, final int[] outStart, final int[] outTargets,
+            final int[] inStart, final int[] inTargets) {
+        this.index = index;
+        this.outStart = outStart;
+        this.outTargets = outTargets;
+        this.inStart = inStart;
+        this.inTargets = inTargets;
+    }
+
+    /**
+     * Creates a snapshot of the adjacency of the provided graph.
+     *
+     * @param <V> the type of vertices contained within the graph
+     * @param <E> the type of the {@link Edge}s between vertices
+     * @param graph the graph
+     * @return the snapshot
+     */
+    static <V, E extends Edge<V>> IndexedAdjacency<V> of(final Graph<V, E> graph) {
+        final var index = VertexIndex.of(graph);
+        final var n = index.size();
+        final var outStart = new int[n + 1];
+        final var inStart = new int[n + 1];
+        final var outTargets = neighbors(graph, index, outStart, graph::edgesFrom);
+        final var inTargets = neighbors(graph, index, inStart, graph::edgesTo);
+
+        return new IndexedAdjacency<>(index, outStart, outTargets, inStart, inTargets);
+    }
+
+    /**
+     * @return the index of the vertices of the snapshot
+     */
+    VertexIndex<V> index() {
+        return index;
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the offsets of the neighbor lists in the provided direction. The neighbors of {@code v} are the entries
+     * {@code [start[v], start[v + 1])} of {@link #targets(Direction)}. Must not be invoked for {@link Direction#BOTH}.
+     *
+     * @param direction {@link Direction#OUT} or {@link Direction#IN}
+     * @return the offsets, which must not be modified
+     */
+    int[] start(final Direction direction) {
+        return direction == Direction.IN ? inStart : outStart;
+    }
+
+    /**
+     * Returns the concatenated neighbor lists in the provided direction. Must not be invoked for
+     * {@link Direction#BOTH}.
+     *
+     * @param direction {@link Direction#OUT} or {@link Direction#IN}
+     * @return the neighbors, which must not be modified
+     */
+    int[] targets(final Direction direction) {
+        return direction == Direction.IN ? inTargets : outTargets;
+    }
+
+    /**
+     * @return the number of out-bound edges, which equals the number of in-bound edges
+     */
+    int numEdges() {
+        return outTargets.length;
+    }
+
+    private static <V, E extends Edge<V>> int[] neighbors(final Graph<V, E> graph, final VertexIndex<V> index,
+            final int[] start, final Function<V, Iterator<E>> edges) {
+        var targets = new int[Math.max(16, index.size())];
+        var size = 0;
+        for (int v = 0; v < index.size(); v++) {
+            start[v] = size;
+            final var vertex = index.vertex(v);
+            for (final var iterator = edges.apply(vertex); iterator.hasNext();) {
+                final var w = index.indexOf(AbstractGraph.neighbor(vertex, iterator.next()));
+                if (w >= 0) {
+                    if (size == targets.length) {
+                        targets = Arrays.copyOf(targets, size << 1);
+                    }
+                    targets[size++] = w;
+                }
+            }
+        }
+        start[index.size()] = size;
+
+        return Arrays.copyOf(targets, size);
+    }
+}
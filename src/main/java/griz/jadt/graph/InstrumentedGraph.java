@@ -0,0 +1,130 @@
+package griz.jadt.graph;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Graph} decorator that reports the latency of each operation to the installed {@link MetricsSink}.
+ * <p>
+ * When instrumentation is disabled, operations are forwarded to the decorated graph without being timed.
+ *
+ * @param <V> the type of vertices contained within the {@link Graph}
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ *
+ * @see GraphMetrics#instrument(Graph)
+ */
+final class InstrumentedGraph<V, E extends Edge<V>> implements Graph<V, E> {
+
+    private final Graph<V, E> graph;
+
+    /**
+     * Creates a new {@link InstrumentedGraph} decorating the provided graph.
+     *
+     * @param graph the graph to decorate
+     */
+    InstrumentedGraph(final Graph<V, E> graph) {
+        this.graph = graph;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return graph.isDirected();
+    }
+
+    @Override
+    public void addEdge(final E edge) {
+        timed(GraphOperation.ADD_EDGE, () -> {
+            graph.addEdge(edge);
+
+            return null;
+        });
+    }
+
+    @Override
+    public E getEdge(final V source, final V destination) {
+        return timed(GraphOperation.GET_EDGE, () -> graph.getEdge(source, destination));
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        return timed(GraphOperation.ADD_VERTEX, () -> graph.addVertex(vertex));
+    }
+
+    @Override
+    public boolean removeEdge(final E edge) {
+        return timed(GraphOperation.REMOVE_EDGE, () -> graph.removeEdge(edge));
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        return timed(GraphOperation.REMOVE_VERTEX, () -> graph.removeVertex(vertex));
+    }
+
+    @Override
+    public boolean containsEdge(final V source, final V destination) {
+        return timed(GraphOperation.CONTAINS_EDGE, () -> graph.containsEdge(source, destination));
+    }
+
+    @Override
+    public boolean containsVertex(final V vertex) {
+        return timed(GraphOperation.CONTAINS_VERTEX, () -> graph.containsVertex(vertex));
+    }
+
+    @Override
+    public int numVertices() {
+        return graph.numVertices();
+    }
+
+    @Override
+    public Iterator<E> edgesFrom(final V vertex) {
+        return timed(GraphOperation.EDGES_FROM, () -> graph.edgesFrom(vertex));
+    }
+
+    @Override
+    public Iterator<E> edgesTo(final V vertex) {
+        return timed(GraphOperation.EDGES_TO, () -> graph.edgesTo(vertex));
+    }
+
+    @Override
+    public boolean hasCycle() {
+        return timed(GraphOperation.HAS_CYCLE, graph::hasCycle);
+    }
+
+    @Override
+    public Optional<List<E>> getCycle() {
+        return timed(GraphOperation.GET_CYCLE, graph::getCycle);
+    }
+
+    @Override
+    public List<V> topologicalOrder() {
+        return timed(GraphOperation.TOPOLOGICAL_ORDER, graph::topologicalOrder);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return graph.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return graph.toString();
+    }
+
+    private static <T> T timed(final GraphOperation operation, final Supplier<T> call) {
+        final var sink = GraphMetrics.sink();
+        if (sink == null) {
+            return call.get();
+        }
+
+        final var start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            sink.recordOperation(operation, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package griz.jadt.graph;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the vertices within a bounded number of hops of many source vertices at once with a multi-source
+ * breadth-first search (MS-BFS).
+ * <p>
+ * Sources are processed in batches of {@value #BATCH_SIZE}, one bit of a {@code long} per source, so a single pass
+ * over the frontier advances the search of every source in the batch: for each edge, the sources that have reached
+ * its tail but not yet its head are determined with one bitwise operation. Batches are independent and run in
+ * parallel. The traversal works on an {@link IndexedAdjacency} snapshot of the graph, which is rebuilt when the
+ * {@link AbstractGraph#modificationCount() modification count} of the graph changes.
+ * <p>
+ * The neighborhood of a source always contains the source itself, which is the only vertex within {@code 0} hops.
+ *
+ * @param <V> the type of vertices contained within the graph
+ *
+ * @author nichollsmc
+ */
+public class KHopNeighborhoods<V> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "k-hop-neighborhoods";
+
+    /**
+     * The number of sources whose searches share a single traversal.
+     */
+    public static final int BATCH_SIZE = Long.SIZE;
+
+    private final Graph<V, ? extends Edge<V>> graph;
+
+    private IndexedAdjacency<V> adjacency;
+    private long                version;
+
+    /**
+     * Creates a new {@link KHopNeighborhoods} for the provided graph.
+     *
+     * @param <E> the type of the {@link Edge}s between vertices
+     * @param graph the graph
+     */
+    public <E extends Edge<V>> KHopNeighborhoods(final Graph<V, E> graph) {
+        this.graph = Objects.requireNonNull(graph, "Graph cannot be null.");
+    }
+
+    /**
+     * Returns the vertices within the provided number of hops of the provided source.
+     *
+     * @param source the source vertex
+     * @param hops the maximum number of edges between the source and a returned vertex
+     * @param direction the direction in which edges are followed
+     * @return the neighborhood of the source, including the source itself
+     * @throws GraphException if the source is not contained within the graph
+     */
+    public Set<V> expand(final V source, final int hops, final Direction direction) {
+        return expand(List.of(source), hops, direction).get(source);
+    }
+
+    /**
+     * Returns the vertices within the provided number of hops of each of the provided sources.
+     *
+     * @param sources the source vertices
+     * @param hops the maximum number of edges between a source and a vertex of its neighborhood
+     * @param direction the direction in which edges are followed
+     * @return the neighborhood of each distinct source, including the source itself, in the iteration order of the
+     *         sources
+     * @throws GraphException if a source is not contained within the graph
+     */
+    public Map<V, Set<V>> expand(final Collection<? extends V> sources, final int hops, final Direction direction) {
+        Objects.requireNonNull(direction, "Direction cannot be null.");
+        if (hops < 0) {
+            throw new IllegalArgumentException("Number of hops cannot be negative: " + hops);
+        }
+
+        final var adjacency = adjacency();
+        final var index = adjacency.index();
+        final var distinct = new ArrayList<>(new LinkedHashSet<V>(sources));
+        final var indices = new int[distinct.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = index.indexOf(distinct.get(i));
+            if (indices[i] < 0) {
+                throw new GraphException("Vertex is not contained within the graph: " + distinct.get(i));
+            }
+        }
+
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, adjacency.size());
+        final var batches = (indices.length + BATCH_SIZE - 1) / BATCH_SIZE;
+        @SuppressWarnings("unchecked")
+        final Set<V>[] results = (Set<V>[]) new Set<?>[indices.length];
+        final var edgesRelaxed = IntStream.range(0, batches).parallel().mapToLong(batch -> {
+            final var from = batch * BATCH_SIZE;
+            final var batchSources = Arrays.copyOfRange(indices, from, Math.min(from + BATCH_SIZE, indices.length));
+
+            return search(adjacency, batchSources, hops, direction, results, from, recorder);
+        }).sum();
+
+        final var result = new LinkedHashMap<V, Set<V>>();
+        for (int i = 0; i < results.length; i++) {
+            result.put(distinct.get(i), results[i]);
+        }
+
+        recorder.edgesRelaxed(edgesRelaxed);
+        recorder.finish(false);
+
+        return unmodifiableMap(result);
+    }
+
+    /**
+     * Searches from up to {@value #BATCH_SIZE} sources, where bit {@code i} of {@code seen[v]} records that vertex
+     * {@code v} has been reached from source {@code i}.
+     *
+     * @return the number of edges that were traversed
+     */
+    private static <V> long search(final IndexedAdjacency<V> adjacency, final int[] sources, final int hops,
+            final Direction direction, final Set<V>[] results, final int offset, final AlgorithmRecorder recorder) {
+        final var n = adjacency.size();
+        final var seen = new long[n];
+        var frontier = new long[n];
+        var next = new long[n];
+        var active = new int[Math.max(16, sources.length)];
+        var nextActive = new int[active.length];
+        var activeSize = 0;
+        for (int i = 0; i < sources.length; i++) {
+            final var v = sources[i];
+            if (frontier[v] == 0) {
+                active[activeSize++] = v;
+            }
+            frontier[v] |= 1L << i;
+            seen[v] |= 1L << i;
+        }
+
+        var edges = 0L;
+        final var directions = direction == Direction.BOTH
+                ? new Direction[] { Direction.OUT, Direction.IN }
+                : new Direction[] { direction };
+        for (int hop = 0; hop < hops && activeSize > 0; hop++) {
+            recorder.checkpoint();
+            var nextSize = 0;
+            for (final var d : directions) {
+                final var start = adjacency.start(d);
+                final var targets = adjacency.targets(d);
+                for (int a = 0; a < activeSize; a++) {
+                    final var v = active[a];
+                    final var bits = frontier[v];
+                    edges += start[v + 1] - start[v];
+                    for (int i = start[v]; i < start[v + 1]; i++) {
+                        final var w = targets[i];
+                        final var added = bits & ~seen[w];
+                        if (added != 0) {
+                            if (next[w] == 0) {
+                                if (nextSize == nextActive.length) {
+                                    nextActive = Arrays.copyOf(nextActive, nextSize << 1);
+                                }
+                                nextActive[nextSize++] = w;
+                            }
+                            next[w] |= added;
+                            seen[w] |= added;
+                        }
+                    }
+                }
+            }
+
+            for (int a = 0; a < activeSize; a++) {
+                frontier[active[a]] = 0;
+            }
+
+            final var swapFrontier = frontier;
+            frontier = next;
+            next = swapFrontier;
+            final var swapActive = active;
+            active = nextActive;
+            nextActive = swapActive;
+            activeSize = nextSize;
+        }
+
+        collect(adjacency.index(), seen, sources.length, results, offset);
+
+        return edges;
+    }
+
+    private static <V> void collect(final VertexIndex<V> index, final long[] seen, final int count,
+            final Set<V>[] results, final int offset) {
+        @SuppressWarnings("unchecked")
+        final Set<V>[] sets = (Set<V>[]) new Set<?>[count];
+        for (int i = 0; i < count; i++) {
+            sets[i] = new HashSet<>();
+        }
+
+        for (int v = 0; v < seen.length; v++) {
+            for (var bits = seen[v]; bits != 0; bits &= bits - 1) {
+                sets[Long.numberOfTrailingZeros(bits)].add(index.vertex(v));
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            results[offset + i] = unmodifiableSet(sets[i]);
+        }
+    }
+
+    private synchronized IndexedAdjacency<V> adjacency() {
+        final var current = graph instanceof AbstractGraph
+                ? ((AbstractGraph<?, ?>) graph).modificationCount()
+                : AbstractGraph.UNTRACKED;
+        if (adjacency == null || version != current || current == AbstractGraph.UNTRACKED) {
+            adjacency = IndexedAdjacency.of(graph);
+            version = current;
+        }
+
+        return adjacency;
+    }
+}
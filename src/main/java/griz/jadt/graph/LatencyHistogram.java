@@ -0,0 +1,105 @@
+package griz.jadt.graph;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of latencies with power-of-two bucket boundaries.
+ * <p>
+ * Bucket {@code i} counts the recorded values in the range {@code [2^(i-1), 2^i)} nanoseconds (bucket {@code 0} holds
+ * values of zero), so percentiles are reported with a relative error of at most a factor of two. Recording a value is
+ * wait-free.
+ *
+ * @author nichollsmc
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder       total   = new LongAdder();
+    private final LongAdder       count   = new LongAdder();
+
+    /**
+     * Records the provided latency.
+     *
+     * @param nanos the latency, in nanoseconds; negative values are recorded as zero
+     */
+    public void record(final long nanos) {
+        final var value = Math.max(nanos, 0L);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+        total.add(value);
+        count.increment();
+    }
+
+    /**
+     * @return the number of recorded latencies
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of the recorded latencies, in nanoseconds
+     */
+    public long totalNanos() {
+        return total.sum();
+    }
+
+    /**
+     * @return the mean of the recorded latencies in nanoseconds, or {@code 0} if none have been recorded
+     */
+    public double meanNanos() {
+        final var n = count();
+
+        return n == 0 ? 0d : (double) totalNanos() / n;
+    }
+
+    /**
+     * Returns an upper bound of the latency at the provided percentile.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @return the upper bound of the bucket containing the percentile, in nanoseconds, or {@code 0} if no latencies
+     *         have been recorded
+     */
+    public long percentileNanos(final double percentile) {
+        if (percentile < 0d || percentile > 100d) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+
+        final var counts = new long[BUCKETS];
+        var n = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            n += counts[i];
+        }
+
+        final var rank = (long) Math.ceil(percentile / 100d * n);
+        var seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return i == 0 ? 0L : (i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+
+        return 0L;
+    }
+
+    /**
+     * Discards all recorded latencies.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+        total.reset();
+        count.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { count: %d, mean: %.1fns, p50: %dns, p99: %dns }", getClass().getSimpleName(),
+                count(), meanNanos(), percentileNanos(50), percentileNanos(99));
+    }
+}
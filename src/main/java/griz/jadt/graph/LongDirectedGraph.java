@@ -0,0 +1,802 @@
+package griz.jadt.graph;
+
+import static java.lang.Double.isNaN;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Mutable directed graph specialized for primitive {@code long} vertices.
+ * <p>
+ * Unlike a {@code DirectedGraph<Long, Edge<Long>>}, a {@code LongDirectedGraph} does not box vertices or allocate an
+ * {@link Edge} object per edge. Each vertex is assigned a dense internal slot through an open-addressing
+ * {@code long -> int} map, and the out-bound and in-bound adjacency of a slot is held in growable {@code int[]} lists
+ * of neighbor slots. Each in-bound entry also records the position of the edge within the out-bound list of its
+ * source, so in-bound edges are materialized without searching. An unweighted edge therefore costs 12 bytes (one entry
+ * in each list and the position), excluding unused list capacity and per-vertex overhead, which keeps typical graphs
+ * under 20 bytes per edge. Weighted edges are the exception: their weight is kept at full {@code double} precision
+ * alongside the out-bound entry, so each costs 20 bytes before overhead.
+ * <p>
+ * As with {@link DirectedGraph}, there is at most one edge between a source (u) vertex and destination (v) vertex.
+ * Unweighted edges report a weight of {@link Double#NaN}.
+ * <p>
+ * The {@link #asGraph()} method exposes this graph through the generic {@link Graph} API, materializing {@link Edge}
+ * instances on demand.
+ * <p>
+ * <b>Note: this implementation is not thread-safe.</b>
+ *
+ * @author nichollsmc
+ */
+public class LongDirectedGraph {
+
+    private static final int[]    NO_NEIGHBORS       = new int[0];
+    private static final int      MIN_CAPACITY       = 16;
+    private static final int      PARALLEL_THRESHOLD = 1 << 16;
+
+    private final LongIntHashMap index;
+
+    private long[]     ids;
+    private int[][]    out;
+    private int[]      outDegree;
+    private double[][] outWeights;
+    private int[][]    in;
+    private int[][]    inPositions;
+    private int[]      inDegree;
+
+    private int[] freeSlots = NO_NEIGHBORS;
+    private int   numFreeSlots;
+    private int   numSlots;
+    private long  numEdges;
+    private long  modificationCount;
+
+    private Graph<Long, Edge<Long>> adapter;
+
+    /**
+     * Constructs a new {@link LongDirectedGraph}.
+     */
+    public LongDirectedGraph() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Constructs a new {@link LongDirectedGraph} able to hold the provided number of vertices without resizing.
+     *
+     * @param expectedVertices the expected number of vertices
+     */
+    public LongDirectedGraph(final int expectedVertices) {
+        final var capacity = Math.max(expectedVertices, MIN_CAPACITY);
+        index = new LongIntHashMap(capacity);
+        ids = new long[capacity];
+        out = new int[capacity][];
+        outDegree = new int[capacity];
+        outWeights = new double[capacity][];
+        in = new int[capacity][];
+        inPositions = new int[capacity][];
+        inDegree = new int[capacity];
+    }
+
+    /**
+     * Adds the provided vertex to the graph.
+     *
+     * @param vertex the vertex to be added to the graph
+     * @return {@code true} if the vertex was added, {@code false} if it already exists
+     */
+    public boolean addVertex(final long vertex) {
+        if (index.containsKey(vertex)) {
+            return false;
+        }
+
+        allocateSlot(vertex);
+
+        return true;
+    }
+
+    /**
+     * Adds an unweighted edge from {@code source} to {@code destination}, adding either vertex if not already present.
+     *
+     * @param source the source vertex
+     * @param destination the destination vertex
+     * @return {@code true} if the edge was added, {@code false} if an edge between the vertex pair already exists
+     */
+    public boolean addEdge(final long source, final long destination) {
+        return addEdge0(source, destination, Double.NaN);
+    }
+
+    /**
+     * Adds a weighted edge from {@code source} to {@code destination}, adding either vertex if not already present.
+     * <p>
+     * If an edge between the vertex pair already exists, the graph is left unchanged.
+     *
+     * @param source the source vertex
+     * @param destination the destination vertex
+     * @param weight the weight of the edge
+     * @return {@code true} if the edge was added, {@code false} if an edge between the vertex pair already exists
+     * @throws IllegalArgumentException if the weight is not a number
+     */
+    public boolean addEdge(final long source, final long destination, final double weight) {
+        if (isNaN(weight)) {
+            throw new IllegalArgumentException("Weight is not a number.");
+        }
+
+        return addEdge0(source, destination, weight);
+    }
+
+    private boolean addEdge0(final long source, final long destination, final double weight) {
+        final var u = slotOf(source);
+        final var v = slotOf(destination);
+        if (u != LongIntHashMap.MISSING && v != LongIntHashMap.MISSING && containsEdge0(u, v)) {
+            return false;
+        }
+
+        final var s = u != LongIntHashMap.MISSING ? u : allocateSlot(source);
+        final var d = v != LongIntHashMap.MISSING ? v : (source == destination ? s : allocateSlot(destination));
+
+        final var position = outDegree[s];
+        out[s] = append(out[s], outDegree[s]++, d);
+        if (!isNaN(weight) || outWeights[s] != null) {
+            outWeights[s] = ensureWeights(outWeights[s], out[s].length);
+            outWeights[s][position] = weight;
+        }
+
+        inPositions[d] = append(inPositions[d], inDegree[d], position);
+        in[d] = append(in[d], inDegree[d]++, s);
+        numEdges++;
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * Adds the provided edges, and any of their vertices that are not already present, in bulk.
+     * <p>
+     * Edges are grouped by source vertex, and the adjacency lists of each vertex grow once to their final size, so
+     * loading {@code m} edges takes {@code O(m log m)} time rather than the {@code O(m * degree)} of repeated calls to
+     * {@link #addEdge(long, long)}. The edges of distinct source vertices are merged in parallel. Edges between a
+     * vertex pair that is already connected, including repeated pairs within the provided edges, are ignored, so the
+     * first occurrence of a pair wins. The graph is left unchanged if a weight is not a number.
+     *
+     * @param count the number of edges
+     * @param sources supplies the source vertex of each edge by position, in {@code [0, count)}
+     * @param destinations supplies the destination vertex of each edge by position
+     * @param weights supplies the weight of each edge by position, or {@code null} for unweighted edges
+     * @return the number of edges that were added
+     * @throws IllegalArgumentException if a weight is not a number
+     */
+    public long addEdges(final int count, final IntToLongFunction sources, final IntToLongFunction destinations,
+            final IntToDoubleFunction weights) {
+        if (weights != null) {
+            for (int i = 0; i < count; i++) {
+                if (isNaN(weights.applyAsDouble(i))) {
+                    throw new IllegalArgumentException("Weight is not a number.");
+                }
+            }
+        }
+
+        final var s = new int[count];
+        final var d = new int[count];
+        for (int i = 0; i < count; i++) {
+            s[i] = slotOrAllocate(sources.applyAsLong(i));
+            d[i] = slotOrAllocate(destinations.applyAsLong(i));
+        }
+
+        final var start = new int[numSlots + 1];
+        for (final var u : s) {
+            start[u + 1]++;
+        }
+        for (int u = 0; u < numSlots; u++) {
+            start[u + 1] += start[u];
+        }
+        final var bySource = new int[count];
+        final var next = Arrays.copyOf(start, numSlots);
+        for (int i = 0; i < count; i++) {
+            bySource[next[s[i]]++] = i;
+        }
+
+        final var positions = new int[count];
+        final var slots = IntStream.range(0, numSlots);
+        final var added = (count >= PARALLEL_THRESHOLD ? slots.parallel() : slots)
+                .filter(u -> start[u + 1] > start[u])
+                .mapToLong(u -> appendOut(u, start[u], start[u + 1], bySource, d, positions, weights))
+                .sum();
+        if (added == 0) {
+            return 0;
+        }
+
+        final var inAdded = new int[numSlots];
+        for (final var v : d) {
+            if (v >= 0) {
+                inAdded[v]++;
+            }
+        }
+        for (int v = 0; v < numSlots; v++) {
+            if (inAdded[v] > 0) {
+                in[v] = Arrays.copyOf(in[v], inDegree[v] + inAdded[v]);
+                inPositions[v] = Arrays.copyOf(inPositions[v], in[v].length);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            final var v = d[i];
+            if (v >= 0) {
+                inPositions[v][inDegree[v]] = positions[i];
+                in[v][inDegree[v]++] = s[i];
+            }
+        }
+
+        numEdges += added;
+        modificationCount++;
+
+        return added;
+    }
+
+    /**
+     * Appends the new out-bound edges of a vertex, whose positions are {@code bySource[from, to)}, to its adjacency,
+     * recording the position of each appended edge within the adjacency and marking the destination of each rejected
+     * edge as {@code -1}.
+     *
+     * @return the number of appended edges
+     */
+    private int appendOut(final int u, final int from, final int to, final int[] bySource, final int[] d,
+            final int[] positions, final IntToDoubleFunction weights) {
+        final var keys = new long[to - from];
+        for (int k = from; k < to; k++) {
+            keys[k - from] = (long) d[bySource[k]] << 32 | bySource[k];
+        }
+        Arrays.sort(keys);
+
+        final var existing = Arrays.copyOf(out[u], outDegree[u]);
+        Arrays.sort(existing);
+
+        var added = 0;
+        var previous = -1;
+        for (final var key : keys) {
+            final var v = (int) (key >>> 32);
+            if (v == previous || Arrays.binarySearch(existing, v) >= 0) {
+                d[(int) key] = -1;
+            } else {
+                added++;
+            }
+            previous = v;
+        }
+        if (added == 0) {
+            return 0;
+        }
+
+        out[u] = Arrays.copyOf(out[u], outDegree[u] + added);
+        if (weights != null || outWeights[u] != null) {
+            outWeights[u] = ensureWeights(outWeights[u], out[u].length);
+        }
+        for (int k = from; k < to; k++) {
+            final var i = bySource[k];
+            if (d[i] >= 0) {
+                if (outWeights[u] != null) {
+                    outWeights[u][outDegree[u]] = weights != null ? weights.applyAsDouble(i) : Double.NaN;
+                }
+                positions[i] = outDegree[u];
+                out[u][outDegree[u]++] = d[i];
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * Removes the edge from {@code source} to {@code destination}.
+     *
+     * @param source the source vertex
+     * @param destination the destination vertex
+     * @return {@code true} if the edge was removed, {@code false} if no such edge exists
+     */
+    public boolean removeEdge(final long source, final long destination) {
+        final var u = slotOf(source);
+        final var v = slotOf(destination);
+        if (u == LongIntHashMap.MISSING || v == LongIntHashMap.MISSING) {
+            return false;
+        }
+
+        final var position = indexOf(out[u], outDegree[u], v);
+        if (position < 0) {
+            return false;
+        }
+
+        removeOut(u, position);
+        removeIn(v, indexOf(in[v], inDegree[v], u));
+        numEdges--;
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * Removes the provided vertex and all of its associated edges.
+     *
+     * @param vertex the vertex to be removed from the graph
+     * @return {@code true} if the vertex was removed, {@code false} if it does not exist
+     */
+    public boolean removeVertex(final long vertex) {
+        final var u = index.remove(vertex);
+        if (u == LongIntHashMap.MISSING) {
+            return false;
+        }
+
+        var selfLoops = 0;
+        for (int i = 0; i < outDegree[u]; i++) {
+            final var w = out[u][i];
+            if (w == u) {
+                selfLoops++;
+            } else {
+                removeIn(w, indexOf(in[w], inDegree[w], u));
+            }
+        }
+
+        for (int i = 0; i < inDegree[u]; i++) {
+            final var w = in[u][i];
+            if (w != u) {
+                removeOut(w, indexOf(out[w], outDegree[w], u));
+            }
+        }
+
+        numEdges -= outDegree[u] + inDegree[u] - selfLoops;
+        releaseSlot(u);
+        modificationCount++;
+
+        return true;
+    }
+
+    /**
+     * Returns a boolean indicating whether the provided vertex exists within the graph.
+     *
+     * @param vertex the vertex to check
+     * @return {@code true} if the graph contains the vertex, {@code false} if not
+     */
+    public boolean containsVertex(final long vertex) {
+        return index.containsKey(vertex);
+    }
+
+    /**
+     * Returns a boolean indicating whether an edge exists from {@code source} to {@code destination}.
+     *
+     * @param source the source vertex
+     * @param destination the destination vertex
+     * @return {@code true} if the edge exists, {@code false} if not
+     */
+    public boolean containsEdge(final long source, final long destination) {
+        final var u = slotOf(source);
+        final var v = slotOf(destination);
+
+        return u != LongIntHashMap.MISSING && v != LongIntHashMap.MISSING && containsEdge0(u, v);
+    }
+
+    /**
+     * Returns the weight of the edge from {@code source} to {@code destination}.
+     *
+     * @param source the source vertex
+     * @param destination the destination vertex
+     * @return the weight of the edge, or {@link Double#NaN} if the edge is unweighted
+     * @throws GraphException if no edge exists between the vertex pair
+     */
+    public double weight(final long source, final long destination) {
+        final var u = slotOf(source);
+        final var v = slotOf(destination);
+        final var position = u != LongIntHashMap.MISSING && v != LongIntHashMap.MISSING
+                ? indexOf(out[u], outDegree[u], v)
+                : -1;
+        if (position < 0) {
+            throw new GraphException("No edge exists from " + source + " to " + destination);
+        }
+
+        return outWeights[u] != null ? outWeights[u][position] : Double.NaN;
+    }
+
+    /**
+     * @return the number of vertices within the graph
+     */
+    public int numVertices() {
+        return index.size();
+    }
+
+    /**
+     * @return the number of edges within the graph
+     */
+    public long numEdges() {
+        return numEdges;
+    }
+
+    /**
+     * Returns the number of out-bound edges from the provided vertex.
+     *
+     * @param vertex the vertex
+     * @return the out-degree of the vertex, {@code 0} if the vertex does not exist
+     */
+    public int outDegree(final long vertex) {
+        final var u = slotOf(vertex);
+
+        return u != LongIntHashMap.MISSING ? outDegree[u] : 0;
+    }
+
+    /**
+     * Returns the number of in-bound edges to the provided vertex.
+     *
+     * @param vertex the vertex
+     * @return the in-degree of the vertex, {@code 0} if the vertex does not exist
+     */
+    public int inDegree(final long vertex) {
+        final var u = slotOf(vertex);
+
+        return u != LongIntHashMap.MISSING ? inDegree[u] : 0;
+    }
+
+    /**
+     * Performs the provided action for each vertex of the graph.
+     *
+     * @param action the action to perform
+     */
+    public void forEachVertex(final LongConsumer action) {
+        for (int u = 0; u < numSlots; u++) {
+            if (out[u] != null) {
+                action.accept(ids[u]);
+            }
+        }
+    }
+
+    /**
+     * Performs the provided action for each destination of the out-bound edges from the provided vertex.
+     *
+     * @param vertex the source vertex
+     * @param action the action to perform
+     */
+    public void forEachSuccessor(final long vertex, final LongConsumer action) {
+        final var u = slotOf(vertex);
+        if (u != LongIntHashMap.MISSING) {
+            forEach(out[u], outDegree[u], action);
+        }
+    }
+
+    /**
+     * Performs the provided action for each source of the in-bound edges to the provided vertex.
+     *
+     * @param vertex the destination vertex
+     * @param action the action to perform
+     */
+    public void forEachPredecessor(final long vertex, final LongConsumer action) {
+        final var u = slotOf(vertex);
+        if (u != LongIntHashMap.MISSING) {
+            forEach(in[u], inDegree[u], action);
+        }
+    }
+
+    /**
+     * Returns a {@link Graph} view of this graph.
+     * <p>
+     * The view writes through to this graph. {@link Edge}s returned by the view are created on demand; weighted edges
+     * are returned as {@link SimpleWeightedEdge}s and unweighted edges as {@link SimpleEdge}s.
+     *
+     * @return a {@link Graph} view of this graph
+     */
+    public Graph<Long, Edge<Long>> asGraph() {
+        if (adapter == null) {
+            adapter = new Adapter();
+        }
+
+        return adapter;
+    }
+
+    @Override
+    public String toString() {
+        return asGraph().toString();
+    }
+
+    private boolean containsEdge0(final int u, final int v) {
+        if (outDegree[u] <= inDegree[v]) {
+            return indexOf(out[u], outDegree[u], v) >= 0;
+        }
+
+        return indexOf(in[v], inDegree[v], u) >= 0;
+    }
+
+    private int slotOf(final long vertex) {
+        return index.get(vertex);
+    }
+
+    private int slotOrAllocate(final long vertex) {
+        final var u = slotOf(vertex);
+
+        return u != LongIntHashMap.MISSING ? u : allocateSlot(vertex);
+    }
+
+    private int allocateSlot(final long vertex) {
+        final int u;
+        if (numFreeSlots > 0) {
+            u = freeSlots[--numFreeSlots];
+        } else {
+            if (numSlots == ids.length) {
+                growSlots();
+            }
+            u = numSlots++;
+        }
+
+        ids[u] = vertex;
+        out[u] = NO_NEIGHBORS;
+        in[u] = NO_NEIGHBORS;
+        inPositions[u] = NO_NEIGHBORS;
+        index.put(vertex, u);
+        modificationCount++;
+
+        return u;
+    }
+
+    private void releaseSlot(final int u) {
+        out[u] = null;
+        in[u] = null;
+        inPositions[u] = null;
+        outWeights[u] = null;
+        outDegree[u] = 0;
+        inDegree[u] = 0;
+        if (numFreeSlots == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(MIN_CAPACITY, numFreeSlots << 1));
+        }
+        freeSlots[numFreeSlots++] = u;
+    }
+
+    private void growSlots() {
+        final var capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        out = Arrays.copyOf(out, capacity);
+        outDegree = Arrays.copyOf(outDegree, capacity);
+        outWeights = Arrays.copyOf(outWeights, capacity);
+        in = Arrays.copyOf(in, capacity);
+        inPositions = Arrays.copyOf(inPositions, capacity);
+        inDegree = Arrays.copyOf(inDegree, capacity);
+    }
+
+    private void removeOut(final int u, final int position) {
+        final var last = --outDegree[u];
+        if (position != last) {
+            final var w = out[u][last];
+            inPositions[w][indexOf(in[w], inDegree[w], u)] = position;
+        }
+        out[u][position] = out[u][last];
+        if (outWeights[u] != null) {
+            outWeights[u][position] = outWeights[u][last];
+            outWeights[u][last] = Double.NaN;
+        }
+
+        if (shouldShrink(out[u].length, last)) {
+            out[u] = last == 0 ? NO_NEIGHBORS : Arrays.copyOf(out[u], last);
+            outWeights[u] = outWeights[u] == null || last == 0 ? null : Arrays.copyOf(outWeights[u], last);
+        }
+    }
+
+    private void removeIn(final int v, final int position) {
+        final var last = --inDegree[v];
+        in[v][position] = in[v][last];
+        inPositions[v][position] = inPositions[v][last];
+
+        if (shouldShrink(in[v].length, last)) {
+            in[v] = last == 0 ? NO_NEIGHBORS : Arrays.copyOf(in[v], last);
+            inPositions[v] = last == 0 ? NO_NEIGHBORS : Arrays.copyOf(inPositions[v], last);
+        }
+    }
+
+    private static boolean shouldShrink(final int capacity, final int size) {
+        return size == 0 || (capacity > 4 && size < (capacity >> 2));
+    }
+
+    private static int[] append(final int[] neighbors, final int size, final int neighbor) {
+        var result = neighbors;
+        if (size == result.length) {
+            result = Arrays.copyOf(result, size < 4 ? size + 1 : size + (size >> 1));
+        }
+        result[size] = neighbor;
+
+        return result;
+    }
+
+    private static double[] ensureWeights(final double[] weights, final int capacity) {
+        if (weights == null) {
+            final var result = new double[capacity];
+            Arrays.fill(result, Double.NaN);
+
+            return result;
+        } else if (weights.length < capacity) {
+            final var result = Arrays.copyOf(weights, capacity);
+            Arrays.fill(result, weights.length, capacity, Double.NaN);
+
+            return result;
+        }
+
+        return weights;
+    }
+
+    private static int indexOf(final int[] neighbors, final int size, final int neighbor) {
+        for (int i = 0; i < size; i++) {
+            if (neighbors[i] == neighbor) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void forEach(final int[] neighbors, final int size, final LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(ids[neighbors[i]]);
+        }
+    }
+
+    /**
+     * Adapts a {@link LongDirectedGraph} to the {@link Graph} API.
+     */
+    private final class Adapter extends AbstractGraph<Long, Edge<Long>> {
+
+        @Override
+        public boolean isDirected() {
+            return true;
+        }
+
+        @Override
+        public long modificationCount() {
+            return modificationCount;
+        }
+
+        @Override
+        public void addEdge(final Edge<Long> edge) {
+            if (edge instanceof WeightedEdge) {
+                LongDirectedGraph.this.addEdge(edge.source(), edge.destination(), ((WeightedEdge<?>) edge).weight());
+            } else if (edge != null) {
+                LongDirectedGraph.this.addEdge(edge.source(), edge.destination());
+            }
+        }
+
+        @Override
+        public Edge<Long> getEdge(final Long source, final Long destination) {
+            if (source == null || destination == null) {
+                return null;
+            }
+
+            final var u = slotOf(source);
+            final var v = slotOf(destination);
+            if (u != LongIntHashMap.MISSING && v != LongIntHashMap.MISSING) {
+                final var position = indexOf(out[u], outDegree[u], v);
+                if (position >= 0) {
+                    return edge(u, position);
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public boolean addVertex(final Long vertex) {
+            return LongDirectedGraph.this.addVertex(vertex);
+        }
+
+        @Override
+        public boolean removeEdge(final Edge<Long> edge) {
+            return LongDirectedGraph.this.removeEdge(edge.source(), edge.destination());
+        }
+
+        @Override
+        public boolean removeVertex(final Long vertex) {
+            return LongDirectedGraph.this.removeVertex(vertex);
+        }
+
+        @Override
+        public boolean containsEdge(final Long source, final Long destination) {
+            return source != null && destination != null && LongDirectedGraph.this.containsEdge(source, destination);
+        }
+
+        @Override
+        public boolean containsVertex(final Long vertex) {
+            return vertex != null && LongDirectedGraph.this.containsVertex(vertex);
+        }
+
+        @Override
+        public int numVertices() {
+            return LongDirectedGraph.this.numVertices();
+        }
+
+        @Override
+        public Iterator<Edge<Long>> edgesFrom(final Long vertex) {
+            final var u = vertex != null ? slotOf(vertex) : LongIntHashMap.MISSING;
+            if (u == LongIntHashMap.MISSING) {
+                return new ImmutableIterator<>();
+            }
+
+            return new ImmutableIterator<>(new Iterator<Edge<Long>>() {
+
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    return position < outDegree[u];
+                }
+
+                @Override
+                public Edge<Long> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return edge(u, position++);
+                }
+            });
+        }
+
+        @Override
+        public Iterator<Edge<Long>> edgesTo(final Long vertex) {
+            final var v = vertex != null ? slotOf(vertex) : LongIntHashMap.MISSING;
+            if (v == LongIntHashMap.MISSING) {
+                return new ImmutableIterator<>();
+            }
+
+            return new ImmutableIterator<>(new Iterator<Edge<Long>>() {
+
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    return position < inDegree[v];
+                }
+
+                @Override
+                public Edge<Long> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    final var u = in[v][position];
+
+                    return edge(u, inPositions[v][position++]);
+                }
+            });
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            return new ImmutableIterator<>(new Iterator<Long>() {
+
+                private int slot = advance(0);
+
+                @Override
+                public boolean hasNext() {
+                    return slot < numSlots;
+                }
+
+                @Override
+                public Long next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    final var vertex = ids[slot];
+                    slot = advance(slot + 1);
+
+                    return vertex;
+                }
+
+                private int advance(int from) {
+                    while (from < numSlots && out[from] == null) {
+                        from++;
+                    }
+
+                    return from;
+                }
+            });
+        }
+
+        private Edge<Long> edge(final int u, final int position) {
+            final var source = ids[u];
+            final var destination = ids[out[u][position]];
+            final var weight = outWeights[u] != null ? outWeights[u][position] : Double.NaN;
+
+            return isNaN(weight)
+                    ? new SimpleEdge<>(source, destination)
+                    : new SimpleWeightedEdge<>(source, destination, weight);
+        }
+    }
+}
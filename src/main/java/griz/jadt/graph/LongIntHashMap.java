@@ -0,0 +1,189 @@
+package griz.jadt.graph;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from primitive {@code long} keys to non-negative {@code int} values.
+ * <p>
+ * Collisions are resolved with linear probing, and removals use backward-shift deletion so that no tombstones are
+ * left behind. Neither keys nor values are boxed, which makes this map suitable for indexing large numbers of
+ * {@code long} vertex identifiers.
+ *
+ * @author nichollsmc
+ */
+final class LongIntHashMap {
+
+    /**
+     * The value returned by {@link #get(long)} and {@link #remove(long)} when a key is not mapped.
+     */
+    static final int MISSING = -1;
+
+    private static final int  MIN_CAPACITY = 16;
+    private static final long PHI          = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private int[]  values;
+    private int    mask;
+    private int    shift;
+    private int    size;
+    private int    resizeAt;
+
+    /**
+     * Creates a new {@link LongIntHashMap} with a default initial capacity.
+     */
+    LongIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a new {@link LongIntHashMap} able to hold the provided number of mappings without resizing.
+     *
+     * @param expectedSize the expected number of mappings
+     */
+    LongIntHashMap(final int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Returns the value mapped to the provided key.
+     *
+     * @param key the key to look up
+     * @return the mapped value, or {@link #MISSING} if the key is not mapped
+     */
+    int get(final long key) {
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            final var value = values[i];
+            if (value == MISSING || keys[i] == key) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Returns a boolean indicating whether the provided key is mapped.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key is mapped, {@code false} if not
+     */
+    boolean containsKey(final long key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Maps the provided key to the provided value, replacing any previous mapping.
+     *
+     * @param key the key
+     * @param value the value, must be non-negative
+     * @return the previously mapped value, or {@link #MISSING} if the key was not mapped
+     */
+    int put(final long key, final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be non-negative: " + value);
+        }
+
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            final var previous = values[i];
+            if (previous == MISSING) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size > resizeAt) {
+                    rehash(values.length << 1);
+                }
+
+                return MISSING;
+            } else if (keys[i] == key) {
+                values[i] = value;
+
+                return previous;
+            }
+        }
+    }
+
+    /**
+     * Removes the mapping for the provided key.
+     *
+     * @param key the key to remove
+     * @return the removed value, or {@link #MISSING} if the key was not mapped
+     */
+    int remove(final long key) {
+        for (int i = slot(key);; i = (i + 1) & mask) {
+            final var value = values[i];
+            if (value == MISSING) {
+                return MISSING;
+            } else if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+
+                return value;
+            }
+        }
+    }
+
+    /**
+     * @return the number of mappings
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    private void shiftBack(int gap) {
+        for (int i = (gap + 1) & mask;; i = (i + 1) & mask) {
+            if (values[i] == MISSING) {
+                values[gap] = MISSING;
+
+                return;
+            }
+
+            final var home = slot(keys[i]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+    }
+
+    private int slot(final long key) {
+        return (int) ((key * PHI) >>> shift);
+    }
+
+    private void rehash(final int capacity) {
+        final var oldKeys = keys;
+        final var oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                var j = slot(oldKeys[i]);
+                while (values[j] != MISSING) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+        shift = Long.numberOfLeadingZeros(mask);
+        resizeAt = (int) (capacity * 0.75f);
+    }
+
+    private static int tableSizeFor(final int expectedSize) {
+        final var required = (long) Math.ceil(Math.max(expectedSize, 1) / 0.75d) + 1;
+        final var capacity = Long.highestOneBit(required - 1) << 1;
+
+        return (int) Math.max(MIN_CAPACITY, Math.min(capacity, 1 << 30));
+    }
+}
@@ -0,0 +1,35 @@
+package griz.jadt.graph;
+
+/**
+ * Defines the behavior for a destination of graph operation and algorithm measurements.
+ * <p>
+ * Implementations can be used to bridge measurements to an external monitoring system, and are installed with
+ * {@link GraphMetrics#enable(MetricsSink)}. Implementations must be thread-safe, and should return quickly since they
+ * are invoked on the thread performing the measured work.
+ *
+ * @author nichollsmc
+ *
+ * @see GraphMetricsRegistry
+ */
+public interface MetricsSink {
+
+    /**
+     * Records the completion of a {@link Graph} operation.
+     *
+     * @param operation the operation that completed
+     * @param durationNanos the duration of the operation, in nanoseconds
+     */
+    void recordOperation(GraphOperation operation, long durationNanos);
+
+    /**
+     * Records the completion of a graph algorithm run.
+     *
+     * @param algorithm the name of the algorithm
+     * @param verticesVisited the number of vertices visited by the run
+     * @param edgesRelaxed the number of edges examined by the run
+     * @param durationNanos the duration of the run, in nanoseconds
+     * @param cycleFound {@code true} if the run found a cycle, {@code false} if not
+     */
+    void recordAlgorithm(String algorithm, long verticesVisited, long edgesRelaxed, long durationNanos,
+            boolean cycleFound);
+}
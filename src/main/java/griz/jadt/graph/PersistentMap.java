@@ -0,0 +1,455 @@
+package griz.jadt.graph;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable, persistent hash map implemented as a hash array mapped trie (HAMT).
+ * <p>
+ * Updates never modify an existing {@code PersistentMap}; instead {@link #with(Object, Object)} and
+ * {@link #without(Object)} return a new map that shares all untouched trie nodes with the original. An update
+ * therefore copies only the {@code O(log32 n)} nodes along the path to the changed key, which makes it cheap to retain
+ * many versions of a map at once.
+ * <p>
+ * Keys and values cannot be {@code null}.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @author nichollsmc
+ */
+final class PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    private final Node root;
+    private final int  size;
+
+    private PersistentMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty {@link PersistentMap}.
+     *
+     * @param <K> the type of keys maintained by the map
+     * @param <V> the type of mapped values
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * @return the number of mappings in this map
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if this map contains no mappings, {@code false} if not
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value mapped to the provided key.
+     *
+     * @param key the key to look up
+     * @return the mapped value, or {@code null} if the key is not mapped
+     */
+    @SuppressWarnings("unchecked")
+    V get(final Object key) {
+        if (root == null || key == null) {
+            return null;
+        }
+
+        return (V) root.find(0, hash(key), key);
+    }
+
+    /**
+     * Returns a boolean indicating whether the provided key is mapped.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key is mapped, {@code false} if not
+     */
+    boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns a map with the provided key mapped to the provided value.
+     *
+     * @param key the key
+     * @param value the value
+     * @return a map containing the mapping, or this map if the key is already mapped to the same value
+     */
+    PersistentMap<K, V> with(final K key, final V value) {
+        Objects.requireNonNull(key, "Key cannot be null.");
+        Objects.requireNonNull(value, "Value cannot be null.");
+
+        final var added = new boolean[1];
+        final var node = root == null
+                ? BitmapNode.EMPTY.with(0, hash(key), key, value, added)
+                : root.with(0, hash(key), key, value, added);
+        if (node == root) {
+            return this;
+        }
+
+        return new PersistentMap<>(node, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without a mapping for the provided key.
+     *
+     * @param key the key to remove
+     * @return a map that does not contain the key, or this map if the key is not mapped
+     */
+    PersistentMap<K, V> without(final Object key) {
+        if (root == null || key == null) {
+            return this;
+        }
+
+        final var node = root.without(0, hash(key), key);
+        if (node == root) {
+            return this;
+        }
+
+        return node == null ? empty() : new PersistentMap<>(node, size - 1);
+    }
+
+    /**
+     * Performs the provided action for each mapping in this map.
+     *
+     * @param action the action to perform
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(final BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    /**
+     * @return an iterator over the keys of this map
+     */
+    Iterator<K> keys() {
+        return new NodeIterator<>(root, 0);
+    }
+
+    /**
+     * @return an iterator over the values of this map
+     */
+    Iterator<V> values() {
+        return new NodeIterator<>(root, 1);
+    }
+
+    @Override
+    public String toString() {
+        final var result = new StringBuilder("{");
+        forEach((key, value) -> result.append(result.length() > 1 ? ", " : "").append(key).append('=').append(value));
+
+        return result.append('}').toString();
+    }
+
+    private static int hash(final Object key) {
+        final var h = key.hashCode();
+
+        return h ^ (h >>> 16);
+    }
+
+    private static Node createNode(final int shift, final Object key1, final Object value1, final int hash2,
+            final Object key2, final Object value2) {
+        final var hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+        }
+
+        final var added = new boolean[1];
+
+        return BitmapNode.EMPTY
+                .with(shift, hash1, key1, value1, added)
+                .with(shift, hash2, key2, value2, added);
+    }
+
+    private static Object[] insertPair(final Object[] array, final int index, final Object key, final Object value) {
+        final var result = new Object[array.length + 2];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = key;
+        result[index + 1] = value;
+        System.arraycopy(array, index, result, index + 2, array.length - index);
+
+        return result;
+    }
+
+    private static Object[] removePair(final Object[] array, final int index) {
+        final var result = new Object[array.length - 2];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 2, result, index, result.length - index);
+
+        return result;
+    }
+
+    private static Object[] replace(final Object[] array, final int index, final Object value) {
+        final var result = array.clone();
+        result[index] = value;
+
+        return result;
+    }
+
+    /**
+     * A node of the trie. Each node stores its entries as consecutive key/value pairs within an array, where a
+     * {@code null} key marks a value that is a child node.
+     */
+    private abstract static class Node {
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node with(int shift, int hash, Object key, Object value, boolean[] added);
+
+        abstract Node without(int shift, int hash, Object key);
+
+        abstract Object[] array();
+
+        void forEach(final BiConsumer<Object, Object> action) {
+            final var array = array();
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] != null) {
+                    action.accept(array[i], array[i + 1]);
+                } else {
+                    ((Node) array[i + 1]).forEach(action);
+                }
+            }
+        }
+    }
+
+    /**
+     * A node that indexes up to 32 entries by the 5-bit hash fragment at its depth.
+     */
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int      bitmap;
+        private final Object[] array;
+
+        BitmapNode(final int bitmap, final Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object find(final int shift, final int hash, final Object key) {
+            final var bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final var index = index(bit);
+            final var keyOrNull = array[index];
+            if (keyOrNull == null) {
+                return ((Node) array[index + 1]).find(shift + BITS, hash, key);
+            }
+
+            return key.equals(keyOrNull) ? array[index + 1] : null;
+        }
+
+        @Override
+        Node with(final int shift, final int hash, final Object key, final Object value, final boolean[] added) {
+            final var bit = bit(hash, shift);
+            final var index = index(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+
+                return new BitmapNode(bitmap | bit, insertPair(array, index, key, value));
+            }
+
+            final var keyOrNull = array[index];
+            final var valueOrNode = array[index + 1];
+            if (keyOrNull == null) {
+                final var node = ((Node) valueOrNode).with(shift + BITS, hash, key, value, added);
+
+                return node == valueOrNode ? this : new BitmapNode(bitmap, replace(array, index + 1, node));
+            } else if (key.equals(keyOrNull)) {
+                return value == valueOrNode ? this : new BitmapNode(bitmap, replace(array, index + 1, value));
+            }
+
+            added[0] = true;
+            final var result = array.clone();
+            result[index] = null;
+            result[index + 1] = createNode(shift + BITS, keyOrNull, valueOrNode, hash, key, value);
+
+            return new BitmapNode(bitmap, result);
+        }
+
+        @Override
+        Node without(final int shift, final int hash, final Object key) {
+            final var bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final var index = index(bit);
+            final var keyOrNull = array[index];
+            if (keyOrNull == null) {
+                final var child = (Node) array[index + 1];
+                final var node = child.without(shift + BITS, hash, key);
+                if (node == child) {
+                    return this;
+                } else if (node != null) {
+                    return new BitmapNode(bitmap, replace(array, index + 1, node));
+                }
+            } else if (!key.equals(keyOrNull)) {
+                return this;
+            }
+
+            return bitmap == bit ? null : new BitmapNode(bitmap ^ bit, removePair(array, index));
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1)) << 1;
+        }
+
+        private static int bit(final int hash, final int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+    }
+
+    /**
+     * A node holding entries whose keys have identical hashes.
+     */
+    private static final class CollisionNode extends Node {
+
+        private final int      hash;
+        private final Object[] array;
+
+        CollisionNode(final int hash, final Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object find(final int shift, final int hash, final Object key) {
+            final var index = indexOf(key);
+
+            return index >= 0 ? array[index + 1] : null;
+        }
+
+        @Override
+        Node with(final int shift, final int hash, final Object key, final Object value, final boolean[] added) {
+            if (hash != this.hash) {
+                return new BitmapNode(BitmapNode.bit(this.hash, shift), new Object[] { null, this })
+                        .with(shift, hash, key, value, added);
+            }
+
+            final var index = indexOf(key);
+            if (index >= 0) {
+                return array[index + 1] == value ? this : new CollisionNode(hash, replace(array, index + 1, value));
+            }
+
+            added[0] = true;
+
+            return new CollisionNode(hash, insertPair(array, array.length, key, value));
+        }
+
+        @Override
+        Node without(final int shift, final int hash, final Object key) {
+            final var index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+
+            return array.length == 2 ? null : new CollisionNode(hash, removePair(array, index));
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private int indexOf(final Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+    }
+
+    /**
+     * Depth-first {@link Iterator} over either the keys or the values of a trie.
+     *
+     * @param <T> the type of element returned by the iterator
+     */
+    private static final class NodeIterator<T> implements Iterator<T> {
+
+        private final Deque<Object[]> arrays    = new ArrayDeque<>();
+        private final Deque<Integer>  positions = new ArrayDeque<>();
+        private final int             offset;
+
+        private Object[] array;
+        private int      position;
+
+        NodeIterator(final Node root, final int offset) {
+            this.offset = offset;
+            this.array = root != null ? root.array() : new Object[0];
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < array.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final var result = (T) array[position + offset];
+            position += 2;
+            advance();
+
+            return result;
+        }
+
+        private void advance() {
+            while (true) {
+                if (position >= array.length) {
+                    if (arrays.isEmpty()) {
+                        return;
+                    }
+                    array = arrays.pop();
+                    position = positions.pop();
+                } else if (array[position] == null) {
+                    arrays.push(array);
+                    positions.push(position + 2);
+                    array = ((Node) array[position + 1]).array();
+                    position = 0;
+                } else {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package griz.jadt.graph;
+
+/**
+ * Receives progress reports of graph algorithms that run through a {@link GraphExecutor}.
+ * <p>
+ * Reports are sampled, at most once every {@value ExecutionContext#REPORT_INTERVAL} visited vertices, plus once when
+ * each algorithm run completes. Listeners may be invoked from any thread running the algorithm, and should return
+ * quickly.
+ *
+ * @author nichollsmc
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Reports the progress of an algorithm run.
+     *
+     * @param algorithm the name of the algorithm, such as {@link GraphMetrics#DEPTH_FIRST_SEARCH}
+     * @param verticesVisited the number of vertices visited so far
+     * @param graphVertices the number of vertices of the graph the algorithm runs on
+     */
+    void progress(String algorithm, long verticesVisited, int graphVertices);
+}
@@ -0,0 +1,69 @@
+package griz.jadt.graph;
+
+import java.util.Iterator;
+
+/**
+ * A view of a {@link Graph} with the direction of every edge reversed.
+ * <p>
+ * The out-bound edges of a vertex in the view are its in-bound edges in the backing graph, and vice versa. The
+ * {@link Edge} instances returned by the view are those of the backing graph, so their {@link Edge#source()} is the
+ * endpoint the edge leads <i>to</i> within the view.
+ *
+ * @param <V> the type of vertices contained within the {@link Graph}
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ *
+ * @see Graph#reverse()
+ */
+final class ReversedGraph<V, E extends Edge<V>> extends GraphView<V, E> {
+
+    /**
+     * Creates a new {@link ReversedGraph}.
+     *
+     * @param graph the backing graph
+     */
+    ReversedGraph(final Graph<V, E> graph) {
+        super(graph);
+    }
+
+    @Override
+    public Graph<V, E> reverse() {
+        return graph;
+    }
+
+    @Override
+    public E getEdge(final V source, final V destination) {
+        return graph.getEdge(destination, source);
+    }
+
+    @Override
+    public boolean containsEdge(final V source, final V destination) {
+        return graph.containsEdge(destination, source);
+    }
+
+    @Override
+    public boolean containsVertex(final V vertex) {
+        return graph.containsVertex(vertex);
+    }
+
+    @Override
+    public int numVertices() {
+        return graph.numVertices();
+    }
+
+    @Override
+    public Iterator<E> edgesFrom(final V vertex) {
+        return graph.edgesTo(vertex);
+    }
+
+    @Override
+    public Iterator<E> edgesTo(final V vertex) {
+        return graph.edgesFrom(vertex);
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return graph.iterator();
+    }
+}
@@ -1,12 +1,14 @@
 package griz.jadt.graph;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Extends the functionality of {@link HashMap} for performing operations on map entry values of type {@link Set}.
+ * <p>
+ * Mapped sets are created as {@link AdaptiveSet}s, which keep small sets in compact arrays and only switch to hashed
+ * storage once they grow past a threshold.
  * 
  * @param <K> the type of keys maintained by this map
  * @param <V> the type of values contained by a mapped {@link Set}
@@ -20,7 +22,7 @@ public class SetMap<K, V> extends HashMap<K, Set<V>> implements Map<K, Set<V>> {
     public boolean put0(final K key, final V value) {
         var values = get(key);
         if (values == null) {
-            values = new HashSet<>();
+            values = new AdaptiveSet<>();
             put(key, values);
         }
 
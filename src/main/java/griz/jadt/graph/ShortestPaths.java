@@ -0,0 +1,163 @@
+package griz.jadt.graph;
+
+import static griz.jadt.graph.WeightedEdge.weightOf;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Computes the shortest paths from a single source vertex to every other vertex of a {@link Graph} with Dijkstra's
+ * algorithm.
+ * <p>
+ * The length of a path is the sum of the {@link WeightedEdge#weight() weights} of its edges, where edges that are not
+ * weighted count as {@code 1.0}. Edge weights must not be negative.
+ *
+ * @param <V> the type of vertices contained within the graph
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ */
+public class ShortestPaths<V, E extends Edge<V>> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "dijkstra";
+
+    private final V              source;
+    private final VertexIndex<V> index;
+    private final double[]       distanceTo;
+    private final Object[]       edgeTo;
+    private final int[]          predecessor;
+
+    /**
+     * Computes the shortest paths from the provided source vertex.
+     *
+     * @param graph the graph
+     * @param source the source vertex
+     * @throws GraphException if the source vertex is not contained within the graph, or if a negative edge weight is
+     *             encountered
+     */
+    public ShortestPaths(final Graph<V, E> graph, final V source) {
+        this.source = source;
+        this.index = VertexIndex.of(graph);
+
+        final var s = index.indexOf(source);
+        if (s < 0) {
+            throw new GraphException("Source vertex is not contained within the graph: " + source);
+        }
+
+        final var n = index.size();
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, n);
+        final var settled = new boolean[n];
+        final var queue = new PriorityQueue<Entry>(Comparator.comparingDouble(entry -> entry.distance));
+
+        distanceTo = new double[n];
+        edgeTo = new Object[n];
+        predecessor = new int[n];
+        Arrays.fill(distanceTo, Double.POSITIVE_INFINITY);
+        distanceTo[s] = 0d;
+        queue.add(new Entry(s, 0d));
+
+        while (!queue.isEmpty()) {
+            final var u = queue.poll().vertex;
+            if (settled[u]) {
+                continue;
+            }
+            settled[u] = true;
+            recorder.vertexVisited();
+
+            final var vertex = index.vertex(u);
+            for (final var edges = graph.edgesFrom(vertex); edges.hasNext();) {
+                final var edge = edges.next();
+                final var weight = weightOf(edge);
+                if (weight < 0d) {
+                    throw new GraphException("Edge has a negative weight: " + edge);
+                }
+
+                recorder.edgeRelaxed();
+                final var w = index.indexOf(AbstractGraph.neighbor(vertex, edge));
+                if (w >= 0 && distanceTo[u] + weight < distanceTo[w]) {
+                    distanceTo[w] = distanceTo[u] + weight;
+                    edgeTo[w] = edge;
+                    predecessor[w] = u;
+                    queue.add(new Entry(w, distanceTo[w]));
+                }
+            }
+        }
+
+        recorder.finish(false);
+    }
+
+    /**
+     * @return the source vertex of the shortest paths
+     */
+    public V source() {
+        return source;
+    }
+
+    /**
+     * Returns a boolean indicating whether a path exists from the source to the provided vertex.
+     *
+     * @param vertex the destination vertex
+     * @return {@code true} if the vertex is reachable from the source, {@code false} if not
+     */
+    public boolean hasPathTo(final V vertex) {
+        return distanceTo(vertex) < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to the provided vertex.
+     *
+     * @param vertex the destination vertex
+     * @return the length of the shortest path, or {@link Double#POSITIVE_INFINITY} if the vertex is not reachable
+     */
+    public double distanceTo(final V vertex) {
+        final var i = index.indexOf(vertex);
+
+        return i >= 0 ? distanceTo[i] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns an {@link Optional} that contains the edges of the shortest path from the source to the provided vertex,
+     * in the order they are traversed.
+     *
+     * @param vertex the destination vertex
+     * @return an {@link Optional} that contains the shortest path, empty if the vertex is not reachable
+     */
+    public Optional<List<E>> pathTo(final V vertex) {
+        if (!hasPathTo(vertex)) {
+            return Optional.empty();
+        }
+
+        final var path = new LinkedList<E>();
+        for (var w = index.indexOf(vertex); edgeTo[w] != null; w = predecessor[w]) {
+            path.addFirst(edgeTo(w));
+        }
+
+        return Optional.of(path);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E edgeTo(final int vertex) {
+        return (E) edgeTo[vertex];
+    }
+
+    /**
+     * Entry of the priority queue of vertices ordered by tentative distance.
+     */
+    private static final class Entry {
+
+        private final int    vertex;
+        private final double distance;
+
+        Entry(final int vertex, final double distance) {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+    }
+}
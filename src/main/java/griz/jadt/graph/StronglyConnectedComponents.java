@@ -0,0 +1,165 @@
+package griz.jadt.graph;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Computes the strongly connected components of a directed {@link Graph} with Tarjan's algorithm.
+ * <p>
+ * The depth-first search is iterative, so the size of the graph is not limited by the depth of the call stack.
+ * Components are numbered in reverse topological order of the condensation of the graph: if an edge leads from a
+ * vertex in component {@code a} to a vertex in a different component {@code b}, then {@code a > b}.
+ *
+ * @param <V> the type of vertices contained within the graph
+ *
+ * @author nichollsmc
+ */
+public class StronglyConnectedComponents<V> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "strongly-connected-components";
+
+    private final VertexIndex<V> index;
+    private final int[]          componentOf;
+    private final List<Set<V>>   components;
+
+    /**
+     * Computes the strongly connected components of the provided graph.
+     *
+     * @param <E> the type of the {@link Edge}s between vertices
+     * @param graph the graph
+     */
+    public <E extends Edge<V>> StronglyConnectedComponents(final Graph<V, E> graph) {
+        index = VertexIndex.of(graph);
+
+        final var n = index.size();
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, n);
+        final var preorder = new int[n];
+        final var low = new int[n];
+        final var onStack = new boolean[n];
+        final var stack = new int[n];
+        final var callStack = new int[n];
+        @SuppressWarnings("unchecked")
+        final Iterator<E>[] iterators = (Iterator<E>[]) new Iterator<?>[n];
+
+        componentOf = new int[n];
+        Arrays.fill(preorder, -1);
+
+        final List<Set<V>> result = new ArrayList<>();
+        var counter = 0;
+        var stackSize = 0;
+        for (int root = 0; root < n; root++) {
+            if (preorder[root] >= 0) {
+                continue;
+            }
+
+            var depth = 0;
+            callStack[depth++] = root;
+            preorder[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            iterators[root] = graph.edgesFrom(index.vertex(root));
+            recorder.vertexVisited();
+
+            while (depth > 0) {
+                final var u = callStack[depth - 1];
+                final var edges = iterators[u];
+                if (edges.hasNext()) {
+                    recorder.edgeRelaxed();
+                    final var w = index.indexOf(AbstractGraph.neighbor(index.vertex(u), edges.next()));
+                    if (w < 0) {
+                        continue;
+                    }
+
+                    if (preorder[w] < 0) {
+                        preorder[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        iterators[w] = graph.edgesFrom(index.vertex(w));
+                        callStack[depth++] = w;
+                        recorder.vertexVisited();
+                    } else if (onStack[w]) {
+                        low[u] = Math.min(low[u], preorder[w]);
+                    }
+                } else {
+                    iterators[u] = null;
+                    depth--;
+                    if (depth > 0) {
+                        final var parent = callStack[depth - 1];
+                        low[parent] = Math.min(low[parent], low[u]);
+                    }
+
+                    if (low[u] == preorder[u]) {
+                        final var component = new HashSet<V>();
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            componentOf[w] = result.size();
+                            component.add(index.vertex(w));
+                        } while (w != u);
+                        result.add(unmodifiableSet(component));
+                    }
+                }
+            }
+        }
+
+        components = unmodifiableList(result);
+        recorder.finish(components.size() < n);
+    }
+
+    /**
+     * @return the number of strongly connected components
+     */
+    public int count() {
+        return components.size();
+    }
+
+    /**
+     * @return the strongly connected components, in reverse topological order of the condensation of the graph
+     */
+    public List<Set<V>> components() {
+        return components;
+    }
+
+    /**
+     * Returns the identifier of the component containing the provided vertex.
+     *
+     * @param vertex the vertex
+     * @return the index of the vertex's component within {@link #components()}
+     * @throws GraphException if the vertex is not contained within the graph
+     */
+    public int componentOf(final V vertex) {
+        final var i = index.indexOf(vertex);
+        if (i < 0) {
+            throw new GraphException("Vertex is not contained within the graph: " + vertex);
+        }
+
+        return componentOf[i];
+    }
+
+    /**
+     * Returns a boolean indicating whether the provided vertices are strongly connected.
+     *
+     * @param first the first vertex
+     * @param second the second vertex
+     * @return {@code true} if each vertex is reachable from the other, {@code false} if not
+     */
+    public boolean stronglyConnected(final V first, final V second) {
+        return componentOf(first) == componentOf(second);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { count: %d, components: %s }", getClass().getSimpleName(), count(), components);
+    }
+}
@@ -0,0 +1,243 @@
+package griz.jadt.graph;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the transitive reduction of a directed acyclic {@link Graph}, that is, the edges that can be removed from
+ * the graph without changing which vertices are reachable from each other.
+ * <p>
+ * Vertices are numbered by their position within the {@link Graph#topologicalOrder() topological order} of the graph
+ * and processed in reverse topological order, each maintaining the set of positions it reaches in a {@link BitSet}.
+ * The out-bound edges of a vertex are visited in topological order of their destinations, and an edge is redundant if
+ * its destination is already reachable through an earlier one. Vertices of equal height, that is, whose longest path
+ * to a sink has the same length, do not depend on each other and are processed in parallel. The reachability set of a
+ * vertex is released as soon as all of its predecessors have been processed.
+ * <p>
+ * The reduction is computed when this class is constructed. It can then be applied either by creating a reduced copy
+ * of the graph with {@link #reducedGraph()}, or by removing the redundant edges from a {@link DirectedGraph} in place
+ * with {@link #removeFrom(DirectedGraph)}.
+ *
+ * @param <V> the type of vertices contained within the graph
+ * @param <E> the type of the {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ */
+public class TransitiveReduction<V, E extends Edge<V>> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "transitive-reduction";
+
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final List<V> vertices;
+    private final List<E> retainedEdges;
+    private final List<E> redundantEdges;
+
+    /**
+     * Computes the transitive reduction of the provided graph.
+     *
+     * @param graph the graph
+     * @throws GraphException if the graph contains a directed cycle
+     */
+    @SuppressWarnings("unchecked")
+    public TransitiveReduction(final Graph<V, E> graph) {
+        vertices = unmodifiableList(new ArrayList<>(graph.topologicalOrder()));
+
+        final var n = vertices.size();
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, n);
+        final var index = new HashMap<V, Integer>(Math.max(16, (int) (n / 0.75f) + 1));
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+
+        final var successors = new int[n][];
+        final var edges = (E[][]) new Edge<?>[n][];
+        final var inDegree = new AtomicIntegerArray(n);
+        final var height = new int[n];
+        var maxHeight = 0;
+        var numEdges = 0L;
+        for (int v = n - 1; v >= 0; v--) {
+            final var vertex = vertices.get(v);
+            final var adjacent = adjacent(graph, vertex, index);
+            successors[v] = new int[adjacent.size()];
+            edges[v] = (E[]) new Edge<?>[adjacent.size()];
+            for (int i = 0; i < adjacent.size(); i++) {
+                final var w = index.get(AbstractGraph.neighbor(vertex, adjacent.get(i)));
+                successors[v][i] = w;
+                edges[v][i] = adjacent.get(i);
+                inDegree.incrementAndGet(w);
+                height[v] = Math.max(height[v], height[w] + 1);
+            }
+            maxHeight = Math.max(maxHeight, height[v]);
+            numEdges += adjacent.size();
+            recorder.vertexVisited();
+        }
+
+        final var levels = levels(height, maxHeight);
+        final var reach = new BitSet[n];
+        final var redundant = new boolean[n][];
+        for (final var level : levels) {
+            recorder.checkpoint();
+            final var stream = IntStream.of(level);
+            (level.length >= PARALLEL_THRESHOLD ? stream.parallel() : stream)
+                    .forEach(v -> reduce(v, successors, reach, redundant, inDegree));
+        }
+
+        final var retained = new ArrayList<E>();
+        final var removed = new ArrayList<E>();
+        for (int v = 0; v < n; v++) {
+            for (int i = 0; i < edges[v].length; i++) {
+                (redundant[v][i] ? removed : retained).add(edges[v][i]);
+            }
+        }
+
+        retainedEdges = unmodifiableList(retained);
+        redundantEdges = unmodifiableList(removed);
+        recorder.edgesRelaxed(numEdges);
+        recorder.finish(false);
+    }
+
+    /**
+     * @return the number of edges that are not part of the transitive reduction
+     */
+    public int count() {
+        return redundantEdges.size();
+    }
+
+    /**
+     * @return the edges of the transitive reduction, grouped by source vertex in topological order
+     */
+    public List<E> edges() {
+        return retainedEdges;
+    }
+
+    /**
+     * @return the edges that are implied by other paths and are not part of the transitive reduction
+     */
+    public List<E> redundantEdges() {
+        return redundantEdges;
+    }
+
+    /**
+     * Returns a new {@link DirectedGraph} that contains all vertices of the graph and the edges of its transitive
+     * reduction.
+     *
+     * @return the transitively reduced graph
+     */
+    public DirectedGraph<V, E> reducedGraph() {
+        final var graph = new DirectedGraph<V, E>();
+        vertices.forEach(graph::addVertex);
+        retainedEdges.forEach(graph::addEdge);
+
+        return graph;
+    }
+
+    /**
+     * Removes the redundant edges from the provided graph as a single batch, see
+     * {@link DirectedGraph#removeEdges(Iterable)}. The graph is normally the graph this reduction was computed for.
+     *
+     * @param graph the graph to reduce in place
+     * @return the number of edges that were removed
+     */
+    public int removeFrom(final DirectedGraph<V, E> graph) {
+        return graph.removeEdges(redundantEdges);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { retained: %d, redundant: %d }", getClass().getSimpleName(), retainedEdges.size(),
+                redundantEdges.size());
+    }
+
+    /**
+     * Computes the reachability set of a vertex from those of its successors, which must have been computed, and marks
+     * its redundant out-bound edges.
+     */
+    private static void reduce(final int v, final int[][] successors, final BitSet[] reach, final boolean[][] redundant,
+            final AtomicIntegerArray inDegree) {
+        final var adjacent = successors[v];
+        final var reachable = new BitSet();
+        redundant[v] = new boolean[adjacent.length];
+        for (final var i : order(adjacent)) {
+            final var w = adjacent[i];
+            if (reachable.get(w)) {
+                redundant[v][i] = true;
+            } else {
+                reachable.set(w);
+                reachable.or(reach[w]);
+            }
+        }
+
+        for (final var w : adjacent) {
+            if (inDegree.decrementAndGet(w) == 0) {
+                reach[w] = null;
+            }
+        }
+
+        reach[v] = reachable;
+    }
+
+    /**
+     * Returns the indices of the provided successors sorted by their topological position.
+     */
+    private static int[] order(final int[] successors) {
+        final var keys = new long[successors.length];
+        for (int i = 0; i < successors.length; i++) {
+            keys[i] = (long) successors[i] << 32 | i;
+        }
+        Arrays.sort(keys);
+
+        final var result = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = (int) keys[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * Groups the vertices by height, from the sinks upwards.
+     */
+    private static int[][] levels(final int[] height, final int maxHeight) {
+        final var sizes = new int[maxHeight + 1];
+        for (final var h : height) {
+            sizes[h]++;
+        }
+
+        final var levels = new int[maxHeight + 1][];
+        for (int h = 0; h <= maxHeight; h++) {
+            levels[h] = new int[sizes[h]];
+            sizes[h] = 0;
+        }
+
+        for (int v = 0; v < height.length; v++) {
+            levels[height[v]][sizes[height[v]]++] = v;
+        }
+
+        return levels;
+    }
+
+    private static <V, E extends Edge<V>> List<E> adjacent(final Graph<V, E> graph, final V vertex,
+            final Map<V, Integer> index) {
+        final var result = new ArrayList<E>();
+        for (final var edges = graph.edgesFrom(vertex); edges.hasNext();) {
+            final var edge = edges.next();
+            if (index.containsKey(AbstractGraph.neighbor(vertex, edge))) {
+                result.add(edge);
+            }
+        }
+
+        return result;
+    }
+}
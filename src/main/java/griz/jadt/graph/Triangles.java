@@ -0,0 +1,310 @@
+package griz.jadt.graph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Counts the triangles of a {@link Graph} and derives its clustering coefficients.
+ * <p>
+ * Edge directions are ignored: two vertices are adjacent if an edge leads from either one to the other, and
+ * self-loops and parallel edges are disregarded. A triangle is a set of three mutually adjacent vertices.
+ * <p>
+ * Vertices are ranked by degree, and each vertex keeps only its neighbors of higher rank, sorted by rank, in an
+ * {@code int} array. Every triangle is then found exactly once, from its lowest-ranked vertex {@code v}, as an element
+ * common to the arrays of {@code v} and of one of its neighbors {@code u}. These intersections merge both arrays, or
+ * gallop through the longer one when their lengths differ widely, and ranking by degree bounds the length of every
+ * array by {@code O(sqrt(m))}. Vertices are processed in parallel. The triangles found from {@code v} are tallied
+ * locally per element of its array, all three corners of a triangle being {@code v} or elements of its array, and the
+ * tallies are then added to a single shared array of counts, with at most one atomic addition per element.
+ *
+ * @param <V> the type of vertices contained within the graph
+ *
+ * @author nichollsmc
+ */
+public class Triangles<V> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "triangles";
+
+    private static final int       PARALLEL_THRESHOLD = 1 << 10;
+    private static final int       GALLOP_RATIO       = 32;
+    private static final VarHandle COUNTS             = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final VertexIndex<V> index;
+    private final int[]          degrees;
+    private final long[]         triangles;
+    private final long           count;
+
+    /**
+     * Counts the triangles of the provided graph.
+     *
+     * @param <E> the type of the {@link Edge}s between vertices
+     * @param graph the graph
+     */
+    public <E extends Edge<V>> Triangles(final Graph<V, E> graph) {
+        final var adjacency = IndexedAdjacency.of(graph);
+        final var n = adjacency.size();
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, n);
+
+        index = adjacency.index();
+        final var neighbors = undirected(adjacency);
+        degrees = new int[n];
+        for (int v = 0; v < n; v++) {
+            degrees[v] = neighbors[v].length;
+        }
+
+        final var rank = rank(degrees);
+        final var forward = new int[n][];
+        for (int v = 0; v < n; v++) {
+            forward[rank[v]] = higher(neighbors[v], rank, rank[v]);
+        }
+
+        final var perRank = new long[n];
+        final var stream = IntStream.range(0, n);
+        count = (n >= PARALLEL_THRESHOLD ? stream.parallel() : stream).mapToLong(v -> {
+            recorder.checkpoint();
+            final var higher = forward[v];
+            if (higher.length == 0) {
+                return 0L;
+            }
+
+            final var tallies = new long[higher.length];
+            var found = 0L;
+            for (int i = 0; i < higher.length; i++) {
+                final var closed = intersect(higher, forward[higher[i]], tallies);
+                tallies[i] += closed;
+                found += closed;
+            }
+            for (int i = 0; i < higher.length; i++) {
+                if (tallies[i] > 0) {
+                    COUNTS.getAndAdd(perRank, higher[i], tallies[i]);
+                }
+            }
+            if (found > 0) {
+                COUNTS.getAndAdd(perRank, v, found);
+            }
+
+            return found;
+        }).sum();
+
+        triangles = new long[n];
+        for (int v = 0; v < n; v++) {
+            triangles[v] = perRank[rank[v]];
+        }
+
+        recorder.edgesRelaxed(adjacency.numEdges());
+        recorder.finish(false);
+    }
+
+    /**
+     * @return the number of triangles of the graph
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the number of triangles the provided vertex is part of.
+     *
+     * @param vertex the vertex
+     * @return the number of triangles of the vertex
+     * @throws GraphException if the vertex is not contained within the graph
+     */
+    public long trianglesOf(final V vertex) {
+        return triangles[indexOf(vertex)];
+    }
+
+    /**
+     * Returns the local clustering coefficient of the provided vertex, that is, the fraction of the pairs of its
+     * neighbors that are adjacent.
+     *
+     * @param vertex the vertex
+     * @return the local clustering coefficient in {@code [0, 1]}, which is {@code 0} for vertices with fewer than two
+     *         neighbors
+     * @throws GraphException if the vertex is not contained within the graph
+     */
+    public double clusteringCoefficient(final V vertex) {
+        final var v = indexOf(vertex);
+
+        return coefficient(triangles[v], degrees[v]);
+    }
+
+    /**
+     * @return the mean of the local clustering coefficients of all vertices, or {@code 0} for an empty graph
+     */
+    public double averageClusteringCoefficient() {
+        var sum = 0d;
+        for (int v = 0; v < degrees.length; v++) {
+            sum += coefficient(triangles[v], degrees[v]);
+        }
+
+        return degrees.length > 0 ? sum / degrees.length : 0d;
+    }
+
+    /**
+     * Returns the global clustering coefficient of the graph, that is, the fraction of the paths of length two that
+     * are closed by a third edge.
+     *
+     * @return the global clustering coefficient in {@code [0, 1]}
+     */
+    public double transitivity() {
+        var triples = 0d;
+        for (final var degree : degrees) {
+            triples += (double) degree * (degree - 1) / 2;
+        }
+
+        return triples > 0 ? 3 * count / triples : 0d;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { count: %d, transitivity: %.5f }", getClass().getSimpleName(), count,
+                transitivity());
+    }
+
+    /**
+     * Counts the elements common to both sorted arrays, tallying each of them at its position in the first array.
+     */
+    private static long intersect(final int[] first, final int[] second, final long[] tallies) {
+        if (first.length == 0 || second.length == 0) {
+            return 0;
+        }
+
+        final var shorter = first.length <= second.length ? first : second;
+        final var longer = shorter == first ? second : first;
+        var found = 0L;
+        if (longer.length / shorter.length >= GALLOP_RATIO) {
+            var from = 0;
+            for (int i = 0; i < shorter.length; i++) {
+                final var w = shorter[i];
+                from = gallop(longer, from, w);
+                if (from == longer.length) {
+                    break;
+                } else if (longer[from] == w) {
+                    tallies[shorter == first ? i : from]++;
+                    found++;
+                }
+            }
+        } else {
+            var i = 0;
+            var j = 0;
+            while (i < shorter.length && j < longer.length) {
+                if (shorter[i] < longer[j]) {
+                    i++;
+                } else if (shorter[i] > longer[j]) {
+                    j++;
+                } else {
+                    tallies[shorter == first ? i : j]++;
+                    found++;
+                    i++;
+                    j++;
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Returns the index of the first element not less than the key, searching from the provided index with
+     * exponentially growing steps followed by a binary search.
+     */
+    private static int gallop(final int[] array, final int from, final int key) {
+        var step = 1;
+        var low = from;
+        var high = from;
+        while (high < array.length && array[high] < key) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+
+        final var found = Arrays.binarySearch(array, low, Math.min(high + 1, array.length), key);
+
+        return found >= 0 ? found : -found - 1;
+    }
+
+    /**
+     * Merges the out-bound and in-bound neighbors of each vertex into a sorted array without duplicates or the vertex
+     * itself.
+     */
+    private static int[][] undirected(final IndexedAdjacency<?> adjacency) {
+        final var n = adjacency.size();
+        final var outStart = adjacency.start(Direction.OUT);
+        final var outTargets = adjacency.targets(Direction.OUT);
+        final var inStart = adjacency.start(Direction.IN);
+        final var inTargets = adjacency.targets(Direction.IN);
+        final var result = new int[n][];
+        for (int v = 0; v < n; v++) {
+            final var out = outStart[v + 1] - outStart[v];
+            final var merged = new int[out + inStart[v + 1] - inStart[v]];
+            System.arraycopy(outTargets, outStart[v], merged, 0, out);
+            System.arraycopy(inTargets, inStart[v], merged, out, merged.length - out);
+            Arrays.sort(merged);
+
+            var size = 0;
+            for (final var w : merged) {
+                if (w != v && (size == 0 || merged[size - 1] != w)) {
+                    merged[size++] = w;
+                }
+            }
+            result[v] = size == merged.length ? merged : Arrays.copyOf(merged, size);
+        }
+
+        return result;
+    }
+
+    /**
+     * Ranks the vertices by ascending degree, breaking ties by index.
+     */
+    private static int[] rank(final int[] degrees) {
+        final var n = degrees.length;
+        final var keys = new long[n];
+        for (int v = 0; v < n; v++) {
+            keys[v] = (long) degrees[v] << 32 | v;
+        }
+        Arrays.sort(keys);
+
+        final var rank = new int[n];
+        for (int r = 0; r < n; r++) {
+            rank[(int) keys[r]] = r;
+        }
+
+        return rank;
+    }
+
+    /**
+     * Returns the ranks of the provided neighbors that are higher than the provided rank, sorted.
+     */
+    private static int[] higher(final int[] neighbors, final int[] rank, final int own) {
+        final var result = new int[neighbors.length];
+        var size = 0;
+        for (final var w : neighbors) {
+            if (rank[w] > own) {
+                result[size++] = rank[w];
+            }
+        }
+
+        final var higher = Arrays.copyOf(result, size);
+        Arrays.sort(higher);
+
+        return higher;
+    }
+
+    private static double coefficient(final long triangles, final int degree) {
+        return degree < 2 ? 0d : 2d * triangles / ((double) degree * (degree - 1));
+    }
+
+    private int indexOf(final V vertex) {
+        final var v = index.indexOf(vertex);
+        if (v < 0) {
+            throw new GraphException("Vertex is not contained within the graph: " + vertex);
+        }
+
+        return v;
+    }
+}
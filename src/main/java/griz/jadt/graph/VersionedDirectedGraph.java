@@ -0,0 +1,505 @@
+package griz.jadt.graph;
+
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Directed {@link Graph} implementation that supports lock-free readers during writes through multi-version
+ * concurrency control (MVCC).
+ * <p>
+ * The state of a {@code VersionedDirectedGraph} is held in an immutable {@link Snapshot} whose adjacency is stored in
+ * persistent hash tries. Each write builds a new snapshot that structurally shares all unchanged adjacency with its
+ * predecessor, then publishes it atomically. Readers obtain the current snapshot in {@code O(1)} through
+ * {@link #snapshot()}, and the snapshot stays consistent for as long as it is held, regardless of concurrent writes.
+ * <p>
+ * Derived results such as the topological order are computed at most once per snapshot and shared by all readers of
+ * that version.
+ * <p>
+ * Writers are serialized with respect to each other; readers never block. Several changes can be published as a
+ * single version with {@link #update(Consumer)}.
+ * <p>
+ * As with {@link DirectedGraph}, there is at most one edge between a source (u) vertex and destination (v) vertex;
+ * adding an edge for a vertex pair that already has one replaces the existing edge.
+ *
+ * @param <V> the type of vertices contained within a {@link Graph}
+ * @param <E> the type of {@link Edge}s between vertices
+ *
+ * @author nichollsmc
+ */
+public class VersionedDirectedGraph<V, E extends Edge<V>> implements Graph<V, E> {
+
+    private final AtomicReference<Snapshot<V, E>> current = new AtomicReference<>(new Snapshot<>());
+    private final Object                          writeLock = new Object();
+
+    /**
+     * Constructs a new {@link VersionedDirectedGraph}.
+     */
+    public VersionedDirectedGraph() {
+        super();
+    }
+
+    /**
+     * Returns the current version of the graph as an immutable {@link Snapshot}.
+     *
+     * @return the current snapshot
+     */
+    public Snapshot<V, E> snapshot() {
+        return current.get();
+    }
+
+    /**
+     * @return the version number of the current snapshot
+     */
+    public long version() {
+        return current.get().version();
+    }
+
+    /**
+     * Applies the changes performed by the provided action and publishes them as a single new version.
+     * <p>
+     * The {@link Graph} passed to the action reflects the changes made so far within the action, and must not be used
+     * after the action returns. Readers observe either none or all of the changes.
+     *
+     * @param changes the action that performs the changes
+     * @return the snapshot that is current once the changes have been published
+     */
+    public Snapshot<V, E> update(final Consumer<? super Graph<V, E>> changes) {
+        synchronized (writeLock) {
+            final var editor = new Editor(current.get());
+            try {
+                changes.accept(editor);
+            } finally {
+                editor.closed = true;
+            }
+
+            if (editor.state != current.get()) {
+                current.set(editor.state);
+            }
+
+            return editor.state;
+        }
+    }
+
+    @Override
+    public final boolean isDirected() {
+        return true;
+    }
+
+    @Override
+    public void addEdge(final E edge) {
+        if (edge != null) {
+            write(snapshot -> snapshot.withEdge(edge));
+        }
+    }
+
+    @Override
+    public E getEdge(final V source, final V destination) {
+        return snapshot().getEdge(source, destination);
+    }
+
+    @Override
+    public boolean addVertex(final V vertex) {
+        return write(snapshot -> snapshot.withVertex(vertex));
+    }
+
+    @Override
+    public boolean removeEdge(final E edge) {
+        return write(snapshot -> snapshot.withoutEdge(edge));
+    }
+
+    @Override
+    public boolean removeVertex(final V vertex) {
+        return write(snapshot -> snapshot.withoutVertex(vertex));
+    }
+
+    @Override
+    public boolean containsEdge(final V source, final V destination) {
+        return snapshot().containsEdge(source, destination);
+    }
+
+    @Override
+    public boolean containsVertex(final V vertex) {
+        return snapshot().containsVertex(vertex);
+    }
+
+    @Override
+    public int numVertices() {
+        return snapshot().numVertices();
+    }
+
+    @Override
+    public Iterator<E> edgesFrom(final V vertex) {
+        return snapshot().edgesFrom(vertex);
+    }
+
+    @Override
+    public Iterator<E> edgesTo(final V vertex) {
+        return snapshot().edgesTo(vertex);
+    }
+
+    @Override
+    public boolean hasCycle() {
+        return snapshot().hasCycle();
+    }
+
+    @Override
+    public Optional<List<E>> getCycle() {
+        return snapshot().getCycle();
+    }
+
+    @Override
+    public List<V> topologicalOrder() {
+        return snapshot().topologicalOrder();
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    private boolean write(final UnaryOperator<Snapshot<V, E>> change) {
+        synchronized (writeLock) {
+            final var snapshot = current.get();
+            final var next = change.apply(snapshot);
+            if (next != snapshot) {
+                current.set(next);
+
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * An immutable version of a {@link VersionedDirectedGraph}.
+     * <p>
+     * All mutating operations throw an {@link UnsupportedOperationException}. The results of {@link #hasCycle()},
+     * {@link #getCycle()} and {@link #topologicalOrder()} are computed once per snapshot; the list returned by
+     * {@code topologicalOrder()} is shared between callers and is therefore unmodifiable.
+     *
+     * @param <V> the type of vertices contained within a {@link Graph}
+     * @param <E> the type of {@link Edge}s between vertices
+     */
+    public static final class Snapshot<V, E extends Edge<V>> extends AbstractGraph<V, E> {
+
+        private final PersistentMap<V, PersistentMap<V, E>> outEdges;
+        private final PersistentMap<V, PersistentMap<V, E>> inEdges;
+        private final long                                  version;
+
+        private volatile Optional<List<E>> cycle;
+        private volatile List<V>           topologicalOrder;
+
+        Snapshot() {
+            this(PersistentMap.empty(), PersistentMap.empty(), 0L);
+        }
+
+        private Snapshot(final PersistentMap<V, PersistentMap<V, E>> outEdges,
+                final PersistentMap<V, PersistentMap<V, E>> inEdges, final long version) {
+            this.outEdges = outEdges;
+            this.inEdges = inEdges;
+            this.version = version;
+        }
+
+        /**
+         * @return the version number of this snapshot
+         */
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public boolean isDirected() {
+            return true;
+        }
+
+        @Override
+        public long modificationCount() {
+            return version;
+        }
+
+        @Override
+        public void addEdge(final E edge) {
+            throw immutable();
+        }
+
+        @Override
+        public E getEdge(final V source, final V destination) {
+            final var adjacent = outEdges.get(source);
+
+            return adjacent != null ? adjacent.get(destination) : null;
+        }
+
+        @Override
+        public boolean addVertex(final V vertex) {
+            throw immutable();
+        }
+
+        @Override
+        public boolean removeEdge(final E edge) {
+            throw immutable();
+        }
+
+        @Override
+        public boolean removeVertex(final V vertex) {
+            throw immutable();
+        }
+
+        @Override
+        public boolean containsEdge(final V source, final V destination) {
+            return getEdge(source, destination) != null;
+        }
+
+        @Override
+        public boolean containsVertex(final V vertex) {
+            return outEdges.containsKey(vertex);
+        }
+
+        @Override
+        public int numVertices() {
+            return outEdges.size();
+        }
+
+        @Override
+        public Iterator<E> edgesFrom(final V vertex) {
+            return adjacent(outEdges, vertex);
+        }
+
+        @Override
+        public Iterator<E> edgesTo(final V vertex) {
+            return adjacent(inEdges, vertex);
+        }
+
+        @Override
+        public boolean hasCycle() {
+            return depthFirstResults().isPresent();
+        }
+
+        @Override
+        public Optional<List<E>> getCycle() {
+            return depthFirstResults().<List<E>>map(LinkedList::new);
+        }
+
+        @Override
+        public List<V> topologicalOrder() {
+            final var directedCycle = depthFirstResults();
+            if (directedCycle.isPresent()) {
+                throw new GraphException(directedCycle.get());
+            }
+
+            return topologicalOrder;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ImmutableIterator<>(outEdges.keys());
+        }
+
+        private Optional<List<E>> depthFirstResults() {
+            var result = cycle;
+            if (result == null) {
+                synchronized (this) {
+                    result = cycle;
+                    if (result == null) {
+                        result = super.getCycle();
+                        if (result.isEmpty()) {
+                            topologicalOrder = unmodifiableList(super.topologicalOrder());
+                        }
+                        cycle = result;
+                    }
+                }
+            }
+
+            return result;
+        }
+
+        Snapshot<V, E> withVertex(final V vertex) {
+            Objects.requireNonNull(vertex, "Vertex cannot be null.");
+            if (outEdges.containsKey(vertex)) {
+                return this;
+            }
+
+            return new Snapshot<>(outEdges.with(vertex, PersistentMap.empty()),
+                    inEdges.with(vertex, PersistentMap.empty()), version + 1);
+        }
+
+        Snapshot<V, E> withEdge(final E edge) {
+            final var source = edge.source();
+            final var destination = edge.destination();
+            if (edge.equals(getEdge(source, destination))) {
+                return this;
+            }
+
+            final var withVertices = withVertex(source).withVertex(destination);
+            final var out = withVertices.outEdges;
+            final var in = withVertices.inEdges;
+
+            return new Snapshot<>(out.with(source, out.get(source).with(destination, edge)),
+                    in.with(destination, in.get(destination).with(source, edge)), version + 1);
+        }
+
+        Snapshot<V, E> withoutEdge(final E edge) {
+            final var source = edge.source();
+            final var destination = edge.destination();
+            if (!edge.equals(getEdge(source, destination))) {
+                return this;
+            }
+
+            return new Snapshot<>(outEdges.with(source, outEdges.get(source).without(destination)),
+                    inEdges.with(destination, inEdges.get(destination).without(source)), version + 1);
+        }
+
+        Snapshot<V, E> withoutVertex(final V vertex) {
+            if (!containsVertex(vertex)) {
+                return this;
+            }
+
+            var out = outEdges;
+            var in = inEdges;
+            for (final var destinations = outEdges.get(vertex).keys(); destinations.hasNext();) {
+                final var destination = destinations.next();
+                if (!Objects.equals(destination, vertex)) {
+                    in = in.with(destination, in.get(destination).without(vertex));
+                }
+            }
+
+            for (final var sources = inEdges.get(vertex).keys(); sources.hasNext();) {
+                final var source = sources.next();
+                if (!Objects.equals(source, vertex)) {
+                    out = out.with(source, out.get(source).without(vertex));
+                }
+            }
+
+            return new Snapshot<>(out.without(vertex), in.without(vertex), version + 1);
+        }
+
+        private Iterator<E> adjacent(final PersistentMap<V, PersistentMap<V, E>> edges, final V vertex) {
+            final var adjacent = edges.get(vertex);
+            if (adjacent != null) {
+                return new ImmutableIterator<>(adjacent.values());
+            }
+
+            return emptyIterator();
+        }
+
+        private static UnsupportedOperationException immutable() {
+            return new UnsupportedOperationException("Graph snapshots are immutable");
+        }
+    }
+
+    /**
+     * The {@link Graph} passed to {@link VersionedDirectedGraph#update(Consumer)}, which accumulates changes into a
+     * private snapshot until they are published.
+     */
+    private final class Editor implements Graph<V, E> {
+
+        private Snapshot<V, E> state;
+        private boolean        closed;
+
+        Editor(final Snapshot<V, E> state) {
+            this.state = state;
+        }
+
+        @Override
+        public boolean isDirected() {
+            return true;
+        }
+
+        @Override
+        public void addEdge(final E edge) {
+            if (edge != null) {
+                change(state.withEdge(edge));
+            }
+        }
+
+        @Override
+        public E getEdge(final V source, final V destination) {
+            return state.getEdge(source, destination);
+        }
+
+        @Override
+        public boolean addVertex(final V vertex) {
+            return change(state.withVertex(vertex));
+        }
+
+        @Override
+        public boolean removeEdge(final E edge) {
+            return change(state.withoutEdge(edge));
+        }
+
+        @Override
+        public boolean removeVertex(final V vertex) {
+            return change(state.withoutVertex(vertex));
+        }
+
+        @Override
+        public boolean containsEdge(final V source, final V destination) {
+            return state.containsEdge(source, destination);
+        }
+
+        @Override
+        public boolean containsVertex(final V vertex) {
+            return state.containsVertex(vertex);
+        }
+
+        @Override
+        public int numVertices() {
+            return state.numVertices();
+        }
+
+        @Override
+        public Iterator<E> edgesFrom(final V vertex) {
+            return state.edgesFrom(vertex);
+        }
+
+        @Override
+        public Iterator<E> edgesTo(final V vertex) {
+            return state.edgesTo(vertex);
+        }
+
+        @Override
+        public boolean hasCycle() {
+            return state.hasCycle();
+        }
+
+        @Override
+        public Optional<List<E>> getCycle() {
+            return state.getCycle();
+        }
+
+        @Override
+        public List<V> topologicalOrder() {
+            return state.topologicalOrder();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return state.iterator();
+        }
+
+        private boolean change(final Snapshot<V, E> next) {
+            if (closed) {
+                throw new IllegalStateException("Graph updates cannot be applied after the update has completed");
+            }
+
+            final var changed = next != state;
+            state = next;
+
+            return changed;
+        }
+    }
+}
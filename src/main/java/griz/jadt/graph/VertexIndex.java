@@ -0,0 +1,79 @@
+package griz.jadt.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns the vertices of a {@link Graph} dense integer indices in {@code [0, n)}, in the iteration order of the graph.
+ * <p>
+ * Algorithms use a {@code VertexIndex} to keep their per-vertex state in primitive arrays rather than maps keyed by
+ * vertex.
+ *
+ * @param <V> the type of vertices being indexed
+ *
+ * @author nichollsmc
+ */
+final class VertexIndex<V> {
+
+    private final Map<V, Integer> indices;
+    private final Object[]        vertices;
+
+    private VertexIndex(final Map<V, Integer> indices, final Object[] vertices) {
+        this.indices = indices;
+        this.vertices = vertices;
+    }
+
+    /**
+     * Indexes the vertices of the provided graph.
+     *
+     * @param <V> the type of vertices contained within the graph
+     * @param graph the graph
+     * @return the index of the graph's vertices
+     */
+    static <V> VertexIndex<V> of(final Graph<V, ?> graph) {
+        final var expected = graph.numVertices();
+        final Map<V, Integer> indices = new HashMap<>(Math.max(16, (int) (expected / 0.75f) + 1));
+        var vertices = new Object[expected];
+        for (final var vertex : graph) {
+            if (indices.size() == vertices.length) {
+                vertices = Arrays.copyOf(vertices, Math.max(16, vertices.length << 1));
+            }
+            vertices[indices.size()] = vertex;
+            indices.put(vertex, indices.size());
+        }
+
+        return new VertexIndex<>(indices,
+                vertices.length == indices.size() ? vertices : Arrays.copyOf(vertices, indices.size()));
+    }
+
+    /**
+     * @return the number of indexed vertices
+     */
+    int size() {
+        return vertices.length;
+    }
+
+    /**
+     * Returns the index of the provided vertex.
+     *
+     * @param vertex the vertex
+     * @return the index of the vertex, or {@code -1} if the vertex is not indexed
+     */
+    int indexOf(final Object vertex) {
+        final var index = indices.get(vertex);
+
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the vertex with the provided index.
+     *
+     * @param index the index
+     * @return the vertex
+     */
+    @SuppressWarnings("unchecked")
+    V vertex(final int index) {
+        return (V) vertices[index];
+    }
+}
@@ -0,0 +1,266 @@
+package griz.jadt.graph;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the weakly connected components of a {@link Graph}, that is, the sets of vertices that are connected when
+ * the direction of edges is ignored.
+ * <p>
+ * Vertices are assigned dense integer ids and merged in a lock-free {@link ConcurrentUnionFind}. The out-bound edges
+ * of the vertices are processed in parallel chunks, each edge merging the sets of its endpoints. Components are then
+ * numbered {@code [0, count())} in order of their smallest vertex id; the numbering is computed on first use and
+ * recomputed after an update.
+ * <p>
+ * The components can be kept up to date while edges and vertices are added to the graph, by reporting each addition
+ * with {@link #edgeAdded(Edge)} or {@link #vertexAdded(Object)}. Updates are serialized, but may run concurrently
+ * with queries. Removals cannot be reported incrementally; the components must be recomputed instead.
+ *
+ * @param <V> the type of vertices contained within the graph
+ *
+ * @author nichollsmc
+ */
+public class WeaklyConnectedComponents<V> {
+
+    /**
+     * The name under which runs of this algorithm are reported to {@link GraphMetrics}.
+     */
+    public static final String ALGORITHM = "weakly-connected-components";
+
+    private static final int PARALLEL_THRESHOLD = 1 << 10;
+
+    private final Map<V, Integer> ids;
+    private final List<V>         vertices;
+
+    private volatile ConcurrentUnionFind sets;
+    private Labels                       labels;
+
+    /**
+     * Computes the weakly connected components of the provided graph.
+     *
+     * @param <E> the type of the {@link Edge}s between vertices
+     * @param graph the graph
+     */
+    public <E extends Edge<V>> WeaklyConnectedComponents(final Graph<V, E> graph) {
+        final var index = VertexIndex.of(graph);
+        final var n = index.size();
+        final var recorder = AlgorithmRecorder.start(ALGORITHM, n);
+
+        ids = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        vertices = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            ids.put(index.vertex(v), v);
+            vertices.add(index.vertex(v));
+        }
+
+        final var unionFind = new ConcurrentUnionFind(n);
+        final var stream = IntStream.range(0, n);
+        final var edges = (n >= PARALLEL_THRESHOLD ? stream.parallel() : stream).mapToLong(v -> {
+            recorder.checkpoint();
+            final var vertex = index.vertex(v);
+            var count = 0L;
+            for (final var iterator = graph.edgesFrom(vertex); iterator.hasNext();) {
+                final var w = index.indexOf(AbstractGraph.neighbor(vertex, iterator.next()));
+                if (w >= 0) {
+                    unionFind.union(v, w);
+                }
+                count++;
+            }
+
+            return count;
+        }).sum();
+
+        sets = unionFind;
+        recorder.edgesRelaxed(edges);
+        recorder.finish(false);
+    }
+
+    /**
+     * @return the number of weakly connected components
+     */
+    public int count() {
+        return labels().sizes.length;
+    }
+
+    /**
+     * Returns the identifier of the component containing the provided vertex. Identifiers are stable until the next
+     * update.
+     *
+     * @param vertex the vertex
+     * @return the identifier of the vertex's component in {@code [0, count())}
+     * @throws GraphException if the vertex is not contained within the graph
+     */
+    public int componentOf(final V vertex) {
+        return labels().componentOf[idOf(vertex)];
+    }
+
+    /**
+     * Returns the number of vertices of the component containing the provided vertex.
+     *
+     * @param vertex the vertex
+     * @return the size of the vertex's component
+     * @throws GraphException if the vertex is not contained within the graph
+     */
+    public int sizeOf(final V vertex) {
+        final var current = labels();
+
+        return current.sizes[current.componentOf[idOf(vertex)]];
+    }
+
+    /**
+     * @return the number of vertices of each component, indexed by component identifier
+     */
+    public int[] sizes() {
+        return labels().sizes.clone();
+    }
+
+    /**
+     * Returns a boolean indicating whether the provided vertices are weakly connected.
+     *
+     * @param first the first vertex
+     * @param second the second vertex
+     * @return {@code true} if a path ignoring edge directions connects the vertices, {@code false} if not
+     * @throws GraphException if either vertex is not contained within the graph
+     */
+    public boolean connected(final V first, final V second) {
+        return sets.connected(idOf(first), idOf(second));
+    }
+
+    /**
+     * @return the vertices of each component, indexed by component identifier
+     */
+    public synchronized List<Set<V>> components() {
+        final var current = labels();
+        final List<Set<V>> result = new ArrayList<>(current.sizes.length);
+        for (final var size : current.sizes) {
+            result.add(new HashSet<>(Math.max(16, (int) (size / 0.75f) + 1)));
+        }
+
+        for (int v = 0; v < current.componentOf.length; v++) {
+            result.get(current.componentOf[v]).add(vertices.get(v));
+        }
+
+        result.replaceAll(component -> unmodifiableSet(component));
+
+        return unmodifiableList(result);
+    }
+
+    /**
+     * Updates the components after the provided vertex has been added to the graph.
+     *
+     * @param vertex the added vertex
+     * @return {@code true} if the vertex was not known yet, {@code false} if not
+     */
+    public synchronized boolean vertexAdded(final V vertex) {
+        if (ids.containsKey(vertex)) {
+            return false;
+        }
+
+        register(vertex);
+        labels = null;
+
+        return true;
+    }
+
+    /**
+     * Updates the components after the provided edge, and any of its vertices that were not contained within the graph
+     * yet, have been added to the graph.
+     *
+     * @param edge the added edge
+     * @return {@code true} if the edge merged two components, {@code false} if not
+     */
+    public synchronized boolean edgeAdded(final Edge<V> edge) {
+        final var known = vertices.size();
+        final var source = register(edge.source());
+        final var destination = register(edge.destination());
+        final var merged = sets.union(source, destination);
+        if (merged || vertices.size() != known) {
+            labels = null;
+        }
+
+        return merged;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { count: %d, sizes: %s }", getClass().getSimpleName(), count(),
+                Arrays.toString(labels().sizes));
+    }
+
+    private int register(final V vertex) {
+        final var id = ids.get(vertex);
+        if (id != null) {
+            return id;
+        }
+
+        final var next = vertices.size();
+        if (next == sets.capacity()) {
+            sets = sets.grow(Math.max(16, next << 1));
+        }
+        ids.put(vertex, next);
+        vertices.add(vertex);
+
+        return next;
+    }
+
+    private int idOf(final V vertex) {
+        final Integer id;
+        synchronized (this) {
+            id = ids.get(vertex);
+        }
+        if (id == null) {
+            throw new GraphException("Vertex is not contained within the graph: " + vertex);
+        }
+
+        return id;
+    }
+
+    private synchronized Labels labels() {
+        if (labels == null) {
+            final var n = vertices.size();
+            final var componentOf = new int[n];
+            final var label = new int[n];
+            Arrays.fill(label, -1);
+
+            var count = 0;
+            for (int v = 0; v < n; v++) {
+                final var root = sets.find(v);
+                if (label[root] < 0) {
+                    label[root] = count++;
+                }
+                componentOf[v] = label[root];
+            }
+
+            final var sizes = new int[count];
+            for (final var component : componentOf) {
+                sizes[component]++;
+            }
+            labels = new Labels(componentOf, sizes);
+        }
+
+        return labels;
+    }
+
+    /**
+     * The numbering of the components at a point in time.
+     */
+    private static final class Labels {
+
+        private final int[] componentOf;
+        private final int[] sizes;
+
+        Labels(final int[] componentOf, final int[] sizes) {
+            this.componentOf = componentOf;
+            this.sizes = sizes;
+        }
+    }
+}
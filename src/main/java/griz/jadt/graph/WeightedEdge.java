@@ -14,4 +14,19 @@ public interface WeightedEdge<V> extends Comparable<WeightedEdge<V>> {
      * @return a {@code double} representing the weight of an edge
      */
     double weight();
+
+    /**
+     * Returns the weight of the provided edge, treating an edge that is not a {@link WeightedEdge} as having a weight
+     * of {@code 1.0}.
+     *
+     * @param edge the edge
+     * @return the weight of the edge
+     */
+    static double weightOf(final Edge<?> edge) {
+        if (edge instanceof WeightedEdge) {
+            return ((WeightedEdge<?>) edge).weight();
+        }
+
+        return 1d;
+    }
 }
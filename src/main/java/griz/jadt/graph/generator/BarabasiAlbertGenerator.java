@@ -0,0 +1,76 @@
+package griz.jadt.graph.generator;
+
+import java.util.Arrays;
+
+/**
+ * Generates scale-free graphs by Barabasi-Albert preferential attachment.
+ * <p>
+ * Vertices are added one at a time, each with {@code m} edges to earlier vertices chosen with probability proportional
+ * to their degree, so the degrees follow a power law. Edges lead from the new vertex to the earlier one, which makes
+ * the graph acyclic apart from self-loops. As in the original model, a vertex may attach to itself, and more than
+ * once to the same vertex.
+ * <p>
+ * Preferential attachment is sequential by nature. This generator follows Batagelj and Brandes: the endpoints of all
+ * edges form a conceptual array {@code M} in which edge {@code e} of vertex {@code v} occupies positions {@code 2e}
+ * with {@code v} and {@code 2e + 1} with a copy of a uniformly chosen earlier position. Copying a uniform position is
+ * equivalent to choosing a vertex proportionally to its degree. As proposed by Sanders and Schulz, the chosen
+ * position is derived from the seed and the position itself, rather than drawn from a sequential generator, so the
+ * endpoint at any position can be resolved independently by following the copies back to an even position, and all
+ * edges are generated in parallel.
+ *
+ * @author nichollsmc
+ */
+public final class BarabasiAlbertGenerator implements GraphGenerator {
+
+    private final int numVertices;
+    private final int edgesPerVertex;
+
+    /**
+     * Constructs a new {@link BarabasiAlbertGenerator}.
+     *
+     * @param numVertices the number of vertices
+     * @param edgesPerVertex the number of edges added with each vertex
+     * @throws IllegalArgumentException if either number is not positive, or the graph would have too many edges
+     */
+    public BarabasiAlbertGenerator(final int numVertices, final int edgesPerVertex) {
+        if (numVertices < 1) {
+            throw new IllegalArgumentException("Number of vertices is not positive: " + numVertices);
+        } else if (edgesPerVertex < 1 || (long) numVertices * edgesPerVertex > Generation.MAX_EDGES) {
+            throw new IllegalArgumentException("Number of edges per vertex is out of range: " + edgesPerVertex);
+        }
+
+        this.numVertices = numVertices;
+        this.edgesPerVertex = edgesPerVertex;
+    }
+
+    @Override
+    public EdgeList generate(final long seed) {
+        final var size = numVertices * edgesPerVertex;
+        final var sources = new int[size];
+        final var destinations = new int[size];
+        Arrays.parallelSetAll(sources, e -> e / edgesPerVertex);
+        Arrays.parallelSetAll(destinations, e -> resolve(2L * e + 1, seed));
+
+        return new EdgeList(numVertices, sources, destinations, null);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { vertices: %d, edgesPerVertex: %d }", getClass().getSimpleName(), numVertices,
+                edgesPerVertex);
+    }
+
+    /**
+     * Returns the vertex at the provided position of {@code M}, following copies until an even position is reached.
+     * Each copy at least halves the position in expectation, so resolution takes expected logarithmic time; a single
+     * resolution may follow more copies.
+     */
+    private int resolve(final long position, final long seed) {
+        var current = position;
+        while ((current & 1) != 0) {
+            current = Long.remainderUnsigned(Generation.hash(seed, current), current);
+        }
+
+        return (int) (current / 2 / edgesPerVertex);
+    }
+}
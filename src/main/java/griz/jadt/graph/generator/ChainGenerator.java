@@ -0,0 +1,47 @@
+package griz.jadt.graph.generator;
+
+import java.util.Arrays;
+
+/**
+ * Generates a chain: a path visiting the vertices {@code 0, 1, ..., n - 1} in order. Chains are the deepest graphs of
+ * their size, and exercise the recursion depth and per-level overhead of traversals.
+ *
+ * @author nichollsmc
+ */
+public final class ChainGenerator implements GraphGenerator {
+
+    private final int numVertices;
+
+    /**
+     * Constructs a new {@link ChainGenerator}.
+     *
+     * @param numVertices the number of vertices of the chain
+     * @throws IllegalArgumentException if the number of vertices is negative
+     */
+    public ChainGenerator(final int numVertices) {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices is negative: " + numVertices);
+        }
+
+        this.numVertices = numVertices;
+    }
+
+    /**
+     * Generates the chain. The chain does not depend on the seed.
+     */
+    @Override
+    public EdgeList generate(final long seed) {
+        final var size = Math.max(0, numVertices - 1);
+        final var sources = new int[size];
+        final var destinations = new int[size];
+        Arrays.parallelSetAll(sources, i -> i);
+        Arrays.parallelSetAll(destinations, i -> i + 1);
+
+        return new EdgeList(numVertices, sources, destinations, null);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { vertices: %d }", getClass().getSimpleName(), numVertices);
+    }
+}
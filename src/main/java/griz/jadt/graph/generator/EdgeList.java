@@ -0,0 +1,159 @@
+package griz.jadt.graph.generator;
+
+import griz.jadt.graph.DirectedGraph;
+import griz.jadt.graph.Edge;
+import griz.jadt.graph.LongDirectedGraph;
+import griz.jadt.graph.SimpleEdge;
+import griz.jadt.graph.SimpleWeightedEdge;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * The edges generated by a {@link GraphGenerator}, held in primitive arrays.
+ * <p>
+ * Vertices are the integers {@code [0, numVertices())}, and the edge at position {@code i} leads from
+ * {@link #source(int) source(i)} to {@link #destination(int) destination(i)}. Depending on the model, an edge list may
+ * contain self-loops and the same vertex pair more than once; repeated pairs are reduced to a single edge when the list
+ * is loaded into a graph.
+ * <p>
+ * Edge lists are loaded into graphs through their bulk operations, {@link DirectedGraph#addEdges(Iterable)} and
+ * {@link LongDirectedGraph#addEdges(int, java.util.function.IntToLongFunction, java.util.function.IntToLongFunction,
+ * java.util.function.IntToDoubleFunction)}, so each graph records a single structural modification for all of its
+ * edges.
+ *
+ * @author nichollsmc
+ */
+public final class EdgeList {
+
+    private final int      numVertices;
+    private final int[]    sources;
+    private final int[]    destinations;
+    private final double[] weights;
+
+    EdgeList(final int numVertices, final int[] sources, final int[] destinations, final double[] weights) {
+        this.numVertices = numVertices;
+        this.sources = sources;
+        this.destinations = destinations;
+        this.weights = weights;
+    }
+
+    /**
+     * @return the number of vertices
+     */
+    public int numVertices() {
+        return numVertices;
+    }
+
+    /**
+     * @return the number of edges
+     */
+    public int size() {
+        return sources.length;
+    }
+
+    /**
+     * Returns the source vertex of the edge at the provided position.
+     *
+     * @param position the position of the edge in {@code [0, size())}
+     * @return the source vertex
+     */
+    public int source(final int position) {
+        return sources[position];
+    }
+
+    /**
+     * Returns the destination vertex of the edge at the provided position.
+     *
+     * @param position the position of the edge in {@code [0, size())}
+     * @return the destination vertex
+     */
+    public int destination(final int position) {
+        return destinations[position];
+    }
+
+    /**
+     * Returns the weight of the edge at the provided position.
+     *
+     * @param position the position of the edge in {@code [0, size())}
+     * @return the weight, or {@link Double#NaN} if the edges are unweighted
+     */
+    public double weight(final int position) {
+        return weights != null ? weights[position] : Double.NaN;
+    }
+
+    /**
+     * @return {@code true} if the edges are weighted, {@code false} if not
+     */
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Creates a {@link DirectedGraph} of the vertices and edges of this list.
+     *
+     * @return the graph
+     */
+    public DirectedGraph<Integer, Edge<Integer>> toDirectedGraph() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        graph.addVertices(vertices());
+        graph.addEdges(edges(i -> new SimpleEdge<>(sources[i], destinations[i])));
+
+        return graph;
+    }
+
+    /**
+     * Creates a {@link DirectedGraph} of the vertices and weighted edges of this list.
+     *
+     * @return the graph
+     * @throws IllegalStateException if the edges are unweighted
+     * @see GraphGenerator#weighted(double, double)
+     */
+    public DirectedGraph<Integer, SimpleWeightedEdge<Integer>> toWeightedGraph() {
+        if (weights == null) {
+            throw new IllegalStateException("Edges are unweighted.");
+        }
+
+        final var graph = new DirectedGraph<Integer, SimpleWeightedEdge<Integer>>();
+        graph.addVertices(vertices());
+        graph.addEdges(edges(i -> new SimpleWeightedEdge<>(sources[i], destinations[i], weights[i])));
+
+        return graph;
+    }
+
+    /**
+     * Creates a {@link LongDirectedGraph} of the vertices and edges of this list, which stores large graphs far more
+     * compactly than a {@link DirectedGraph}. The edges are weighted if this list is.
+     *
+     * @return the graph
+     */
+    public LongDirectedGraph toLongDirectedGraph() {
+        final var graph = new LongDirectedGraph(numVertices);
+        for (int v = 0; v < numVertices; v++) {
+            graph.addVertex(v);
+        }
+        graph.addEdges(sources.length, i -> sources[i], i -> destinations[i], weights != null ? i -> weights[i] : null);
+
+        return graph;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { vertices: %d, edges: %d, weighted: %b }", getClass().getSimpleName(), numVertices,
+                sources.length, isWeighted());
+    }
+
+    /**
+     * Returns a copy of this list with the provided weights.
+     */
+    EdgeList withWeights(final double[] weights) {
+        return new EdgeList(numVertices, sources, destinations, weights);
+    }
+
+    private Iterable<Integer> vertices() {
+        return () -> IntStream.range(0, numVertices).iterator();
+    }
+
+    private <E> Iterable<E> edges(final IntFunction<E> edge) {
+        return () -> IntStream.range(0, sources.length).mapToObj(edge).iterator();
+    }
+}
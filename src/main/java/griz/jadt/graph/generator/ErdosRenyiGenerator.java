@@ -0,0 +1,63 @@
+package griz.jadt.graph.generator;
+
+/**
+ * Generates Erdos-Renyi random graphs, in which each of the {@code n * (n - 1)} edges between distinct vertices is
+ * present independently with probability {@code p}. The degrees of such graphs are concentrated around their mean,
+ * {@code p * (n - 1)}, which makes them the uniform baseline of graph benchmarks.
+ * <p>
+ * Edges are generated in time proportional to their number rather than to {@code n^2}, by skipping a geometrically
+ * distributed number of absent edges at a time. Source vertices are processed in parallel.
+ *
+ * @author nichollsmc
+ */
+public final class ErdosRenyiGenerator implements GraphGenerator {
+
+    private final int    numVertices;
+    private final double probability;
+
+    /**
+     * Constructs a new {@link ErdosRenyiGenerator}.
+     *
+     * @param numVertices the number of vertices
+     * @param probability the probability of each edge, in {@code [0, 1]}
+     * @throws IllegalArgumentException if the number of vertices is negative or the probability is out of range
+     */
+    public ErdosRenyiGenerator(final int numVertices, final double probability) {
+        if (numVertices < 0) {
+            throw new IllegalArgumentException("Number of vertices is negative: " + numVertices);
+        } else if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Probability is out of range: " + probability);
+        }
+
+        this.numVertices = numVertices;
+        this.probability = probability;
+    }
+
+    /**
+     * Creates a generator of graphs with the provided expected average out-degree.
+     *
+     * @param numVertices the number of vertices
+     * @param averageDegree the expected number of out-bound edges per vertex
+     * @return the generator
+     * @throws IllegalArgumentException if the number of vertices is negative or the degree is out of range
+     */
+    public static ErdosRenyiGenerator withAverageDegree(final int numVertices, final double averageDegree) {
+        return new ErdosRenyiGenerator(numVertices, numVertices > 1 ? averageDegree / (numVertices - 1) : 0);
+    }
+
+    /**
+     * Generates the edges, ordered by source vertex.
+     *
+     * @throws IllegalArgumentException if more edges are generated than an {@link EdgeList} can hold
+     */
+    @Override
+    public EdgeList generate(final long seed) {
+        return Generation.bernoulli(numVertices, numVertices, u -> 0, u -> numVertices, probability, seed);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { vertices: %d, probability: %s }", getClass().getSimpleName(), numVertices,
+                probability);
+    }
+}
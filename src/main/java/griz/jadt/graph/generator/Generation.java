@@ -0,0 +1,192 @@
+package griz.jadt.graph.generator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Utilities shared by the {@link GraphGenerator}s for generating edges deterministically in parallel.
+ * <p>
+ * Work is divided into chunks whose number depends only on the parameters of a generator, never on the number of
+ * available processors. Each chunk draws from its own {@link SplittableRandom}, split from a root generator seeded
+ * with the seed of the run in chunk order, so the same seed yields the same edges however the chunks are scheduled.
+ *
+ * @author nichollsmc
+ */
+final class Generation {
+
+    /**
+     * The number of edges generated per chunk.
+     */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * The maximum number of edges of an {@link EdgeList}.
+     */
+    static final int MAX_EDGES = Integer.MAX_VALUE - 8;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private Generation() {}
+
+    /**
+     * Creates the random number generators of the provided number of chunks.
+     *
+     * @param seed the seed of the run
+     * @param chunks the number of chunks
+     * @return a generator per chunk, split in chunk order from a generator seeded with {@code seed}
+     */
+    static SplittableRandom[] split(final long seed, final int chunks) {
+        final var root = new SplittableRandom(seed);
+        final var result = new SplittableRandom[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            result[chunk] = root.split();
+        }
+
+        return result;
+    }
+
+    /**
+     * @return a parallel stream of the chunk numbers {@code [0, chunks)}
+     */
+    static IntStream chunks(final int chunks) {
+        return IntStream.range(0, chunks).parallel();
+    }
+
+    /**
+     * @return the number of chunks of {@link #CHUNK_SIZE} items needed for the provided number of items
+     */
+    static int numChunks(final long items) {
+        return (int) ((items + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    /**
+     * Returns a pseudorandom value determined by the provided seed and key, using the mixing function of
+     * {@link SplittableRandom}. Generators use it where a value must be computed independently of all others.
+     *
+     * @param seed the seed of the run
+     * @param key the key of the value
+     * @return the pseudorandom value
+     */
+    static long hash(final long seed, final long key) {
+        return mix64(seed + key * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Generates the edges of each source vertex {@code u} in {@code [0, sources)} to every destination in
+     * {@code [from(u), to(u))} other than {@code u} independently with probability {@code p}. Destinations are drawn
+     * by skipping a geometrically distributed number of candidates, so the time taken is proportional to the number
+     * of generated edges.
+     *
+     * @param numVertices the number of vertices of the generated graph
+     * @param sources the number of source vertices
+     * @param from the first candidate destination of each source vertex
+     * @param to the end of the candidate destinations of each source vertex, exclusive
+     * @param p the probability of each edge
+     * @param seed the seed of the run
+     * @return the generated edges, ordered by source vertex
+     * @throws IllegalArgumentException if more than {@link #MAX_EDGES} edges are generated
+     */
+    static EdgeList bernoulli(final int numVertices, final int sources, final IntUnaryOperator from,
+            final IntUnaryOperator to, final double p, final long seed) {
+        final var degree = sources > 0 ? p * (to.applyAsInt(0) - from.applyAsInt(0)) : 0;
+        final var sourcesPerChunk = Math.max(1, (int) Math.min(sources, CHUNK_SIZE / Math.max(degree, 1)));
+        final var chunks = (sources + sourcesPerChunk - 1) / sourcesPerChunk;
+        final var random = split(seed, chunks);
+        final var logQ = Math.log1p(-p);
+        final var buffers = new Buffer[chunks];
+        chunks(chunks).forEach(chunk -> {
+            final var buffer = new Buffer(1 << 10);
+            final var end = (int) Math.min(sources, (long) (chunk + 1) * sourcesPerChunk);
+            for (int u = chunk * sourcesPerChunk; u < end; u++) {
+                final var last = to.applyAsInt(u);
+                var v = from.applyAsInt(u) + skip(random[chunk], logQ);
+                while (v < last) {
+                    if (v != u) {
+                        buffer.add(u, (int) v);
+                    }
+                    v += 1 + skip(random[chunk], logQ);
+                }
+            }
+            buffers[chunk] = buffer;
+        });
+
+        return concat(numVertices, buffers);
+    }
+
+    /**
+     * Concatenates the edges of the provided buffers in order.
+     *
+     * @throws IllegalArgumentException if the buffers hold more than {@link #MAX_EDGES} edges
+     */
+    static EdgeList concat(final int numVertices, final Buffer[] buffers) {
+        final var offsets = new long[buffers.length + 1];
+        for (int chunk = 0; chunk < buffers.length; chunk++) {
+            offsets[chunk + 1] = offsets[chunk] + buffers[chunk].size;
+        }
+        if (offsets[buffers.length] > MAX_EDGES) {
+            throw new IllegalArgumentException("Too many edges: " + offsets[buffers.length]);
+        }
+
+        final var size = (int) offsets[buffers.length];
+        final var sources = new int[size];
+        final var destinations = new int[size];
+        chunks(buffers.length).forEach(chunk -> {
+            final var buffer = buffers[chunk];
+            System.arraycopy(buffer.sources, 0, sources, (int) offsets[chunk], buffer.size);
+            System.arraycopy(buffer.destinations, 0, destinations, (int) offsets[chunk], buffer.size);
+        });
+
+        return new EdgeList(numVertices, sources, destinations, null);
+    }
+
+    /**
+     * Returns the number of candidates to skip before the next success of a Bernoulli process whose probability of
+     * failure has the provided logarithm.
+     */
+    private static long skip(final SplittableRandom random, final double logQ) {
+        if (logQ == Double.NEGATIVE_INFINITY) {
+            return 0;
+        } else if (logQ == 0) {
+            return Integer.MAX_VALUE;
+        }
+
+        final var skip = Math.floor(Math.log1p(-random.nextDouble()) / logQ);
+
+        return skip < Integer.MAX_VALUE ? (long) skip : Integer.MAX_VALUE;
+    }
+
+    private static long mix64(final long value) {
+        var z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A growable list of edges generated by one chunk.
+     */
+    static final class Buffer {
+
+        private int[] sources;
+        private int[] destinations;
+        private int   size;
+
+        Buffer(final int capacity) {
+            sources = new int[capacity];
+            destinations = new int[capacity];
+        }
+
+        void add(final int source, final int destination) {
+            if (size == sources.length) {
+                final var capacity = Math.max(16, size + (size >> 1));
+                sources = Arrays.copyOf(sources, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+            }
+            sources[size] = source;
+            destinations[size++] = destination;
+        }
+    }
+}
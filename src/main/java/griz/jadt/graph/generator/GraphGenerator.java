@@ -0,0 +1,42 @@
+package griz.jadt.graph.generator;
+
+/**
+ * Generates synthetic graphs for benchmarks and load tests.
+ * <p>
+ * Generation is deterministic: a generator returns the same {@link EdgeList} every time it is run with the same seed,
+ * regardless of the number of processors, although edges are generated in parallel. The available models are:
+ * <ul>
+ * <li>{@link RMatGenerator}: recursive matrix (R-MAT) graphs with skewed, power-law like degrees</li>
+ * <li>{@link BarabasiAlbertGenerator}: scale-free graphs grown by preferential attachment</li>
+ * <li>{@link ErdosRenyiGenerator}: uniform random graphs</li>
+ * <li>{@link LayeredDagGenerator}: random directed acyclic graphs made of layers</li>
+ * <li>{@link ChainGenerator}: a single long path</li>
+ * </ul>
+ *
+ * @author nichollsmc
+ */
+@FunctionalInterface
+public interface GraphGenerator {
+
+    /**
+     * Generates the edges of a graph.
+     *
+     * @param seed the seed of the pseudorandom numbers
+     * @return the generated edges
+     */
+    EdgeList generate(long seed);
+
+    /**
+     * Returns a generator that weights the edges of this generator with weights uniformly distributed in
+     * {@code [min, max)}. The weight of an edge is determined by the seed and its vertices, so repeated vertex pairs
+     * are weighted alike.
+     *
+     * @param min the minimum weight
+     * @param max the maximum weight
+     * @return the weighting generator
+     * @throws IllegalArgumentException if either bound is not finite, or {@code min} exceeds {@code max}
+     */
+    default GraphGenerator weighted(final double min, final double max) {
+        return new WeightedGenerator(this, min, max);
+    }
+}
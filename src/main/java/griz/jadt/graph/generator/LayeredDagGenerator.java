@@ -0,0 +1,77 @@
+package griz.jadt.graph.generator;
+
+/**
+ * Generates random layered directed acyclic graphs, the shape of build, workflow and dependency graphs.
+ * <p>
+ * The vertices are divided into {@code layers} consecutive layers of {@code width} vertices, so that vertex {@code v}
+ * belongs to layer {@code v / width}. Each vertex has an edge to each vertex of the following {@code span} layers
+ * independently with probability {@code p}. All edges lead to a later layer, so the graph is acyclic, its longest
+ * path has at most {@code layers - 1} edges, and the vertex numbers are a topological order.
+ *
+ * @author nichollsmc
+ */
+public final class LayeredDagGenerator implements GraphGenerator {
+
+    private final int    layers;
+    private final int    width;
+    private final int    span;
+    private final double probability;
+
+    /**
+     * Constructs a new {@link LayeredDagGenerator} whose edges connect adjacent layers.
+     *
+     * @param layers the number of layers
+     * @param width the number of vertices per layer
+     * @param probability the probability of each edge, in {@code [0, 1]}
+     * @throws IllegalArgumentException if a number is not positive, the graph would have too many vertices, or the
+     *             probability is out of range
+     */
+    public LayeredDagGenerator(final int layers, final int width, final double probability) {
+        this(layers, width, 1, probability);
+    }
+
+    /**
+     * Constructs a new {@link LayeredDagGenerator}.
+     *
+     * @param layers the number of layers
+     * @param width the number of vertices per layer
+     * @param span the number of following layers each vertex may have edges to
+     * @param probability the probability of each edge, in {@code [0, 1]}
+     * @throws IllegalArgumentException if a number is not positive, the graph would have too many vertices, or the
+     *             probability is out of range
+     */
+    public LayeredDagGenerator(final int layers, final int width, final int span, final double probability) {
+        if (layers < 1 || width < 1 || (long) layers * width > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid dimensions: " + layers + " layers of " + width + " vertices");
+        } else if (span < 1) {
+            throw new IllegalArgumentException("Span is not positive: " + span);
+        } else if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Probability is out of range: " + probability);
+        }
+
+        this.layers = layers;
+        this.width = width;
+        this.span = span;
+        this.probability = probability;
+    }
+
+    /**
+     * Generates the edges, ordered by source vertex.
+     *
+     * @throws IllegalArgumentException if more edges are generated than an {@link EdgeList} can hold
+     */
+    @Override
+    public EdgeList generate(final long seed) {
+        final var numVertices = layers * width;
+        final var sources = (layers - 1) * width;
+
+        return Generation.bernoulli(numVertices, sources, u -> (u / width + 1) * width,
+                u -> (int) Math.min(numVertices, ((long) u / width + 1 + span) * width), probability, seed);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { layers: %d, width: %d, span: %d, probability: %s }", getClass().getSimpleName(),
+                layers, width, span, probability);
+    }
+}
@@ -0,0 +1,129 @@
+package griz.jadt.graph.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates recursive matrix (R-MAT) graphs, the Kronecker graphs of the Graph500 benchmark.
+ * <p>
+ * A graph of {@code 2^scale} vertices receives {@code edgeFactor * 2^scale} edges. Each edge is placed by descending
+ * {@code scale} times into one of the four quadrants of the adjacency matrix, chosen with probabilities {@code a},
+ * {@code b}, {@code c} and {@code d = 1 - a - b - c}, which yields the skewed, heavy-tailed degrees of web and social
+ * graphs. Vertex numbers are finally shuffled, so that the degree of a vertex does not depend on its number. The
+ * generated edges include self-loops and repeated vertex pairs, as in Graph500.
+ *
+ * @author nichollsmc
+ */
+public final class RMatGenerator implements GraphGenerator {
+
+    /**
+     * The maximum scale.
+     */
+    public static final int MAX_SCALE = 30;
+
+    private final int    scale;
+    private final int    edgeFactor;
+    private final double a;
+    private final double b;
+    private final double c;
+
+    /**
+     * Constructs a new {@link RMatGenerator}.
+     *
+     * @param scale the base two logarithm of the number of vertices, in {@code [1, MAX_SCALE]}
+     * @param edgeFactor the number of edges per vertex
+     * @param a the probability of the upper left quadrant
+     * @param b the probability of the upper right quadrant
+     * @param c the probability of the lower left quadrant
+     * @throws IllegalArgumentException if the scale or edge factor is out of range, the graph would have too many
+     *             edges, or the probabilities are negative or exceed {@code 1} in total
+     */
+    public RMatGenerator(final int scale, final int edgeFactor, final double a, final double b, final double c) {
+        if (scale < 1 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale is out of range: " + scale);
+        } else if (edgeFactor < 0 || (long) edgeFactor << scale > Generation.MAX_EDGES) {
+            throw new IllegalArgumentException("Edge factor is out of range: " + edgeFactor);
+        } else if (!(a >= 0 && b >= 0 && c >= 0 && a + b + c <= 1)) {
+            throw new IllegalArgumentException("Invalid quadrant probabilities: " + a + ", " + b + ", " + c);
+        }
+
+        this.scale = scale;
+        this.edgeFactor = edgeFactor;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+    }
+
+    /**
+     * Creates a generator with the parameters of the Graph500 benchmark: an edge factor of {@code 16} and quadrant
+     * probabilities of {@code 0.57}, {@code 0.19}, {@code 0.19} and {@code 0.05}.
+     *
+     * @param scale the base two logarithm of the number of vertices, in {@code [1, MAX_SCALE]}
+     * @return the generator
+     * @throws IllegalArgumentException if the scale is out of range or the graph would have too many edges
+     */
+    public static RMatGenerator graph500(final int scale) {
+        return new RMatGenerator(scale, 16, 0.57, 0.19, 0.19);
+    }
+
+    @Override
+    public EdgeList generate(final long seed) {
+        final var numVertices = 1 << scale;
+        final var size = edgeFactor << scale;
+        final var chunks = Generation.numChunks(size);
+        final var random = Generation.split(seed, chunks + 1);
+        final var permutation = permutation(numVertices, random[chunks]);
+        final var ab = a + b;
+        final var abc = ab + c;
+
+        final var sources = new int[size];
+        final var destinations = new int[size];
+        Generation.chunks(chunks).forEach(chunk -> {
+            final var end = (int) Math.min(size, (long) (chunk + 1) * Generation.CHUNK_SIZE);
+            for (int i = chunk * Generation.CHUNK_SIZE; i < end; i++) {
+                var source = 0;
+                var destination = 0;
+                for (int level = 0; level < scale; level++) {
+                    final var r = random[chunk].nextDouble();
+                    source <<= 1;
+                    destination <<= 1;
+                    if (r >= abc) {
+                        source |= 1;
+                        destination |= 1;
+                    } else if (r >= ab) {
+                        source |= 1;
+                    } else if (r >= a) {
+                        destination |= 1;
+                    }
+                }
+                sources[i] = permutation[source];
+                destinations[i] = permutation[destination];
+            }
+        });
+
+        return new EdgeList(numVertices, sources, destinations, null);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { scale: %d, edgeFactor: %d, a: %s, b: %s, c: %s }", getClass().getSimpleName(), scale,
+                edgeFactor, a, b, c);
+    }
+
+    /**
+     * Returns a uniformly random permutation of {@code [0, n)}.
+     */
+    private static int[] permutation(final int n, final SplittableRandom random) {
+        final var result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            final var j = random.nextInt(i + 1);
+            final var swap = result[i];
+            result[i] = result[j];
+            result[j] = swap;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,50 @@
+package griz.jadt.graph.generator;
+
+import java.util.Arrays;
+
+/**
+ * Weights the edges generated by another {@link GraphGenerator}.
+ * <p>
+ * The weight of each edge is computed from the seed and the vertex pair of the edge alone, so weights are assigned in
+ * parallel, and an edge repeated by the model is weighted the same each time and collapses into a single edge when
+ * loaded into a graph.
+ *
+ * @author nichollsmc
+ */
+final class WeightedGenerator implements GraphGenerator {
+
+    private final GraphGenerator generator;
+    private final double         min;
+    private final double         max;
+
+    WeightedGenerator(final GraphGenerator generator, final double min, final double max) {
+        if (!Double.isFinite(min) || !Double.isFinite(max) || min > max) {
+            throw new IllegalArgumentException("Invalid weight range: [" + min + ", " + max + ")");
+        }
+
+        this.generator = generator;
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public EdgeList generate(final long seed) {
+        final var edges = generator.generate(seed);
+        final var salt = Generation.hash(seed, -1L);
+        final var weights = new double[edges.size()];
+        Arrays.parallelSetAll(weights, i -> {
+            final var pair = (long) edges.source(i) << 32 | edges.destination(i);
+            final var unit = (Generation.hash(salt, pair) >>> 11) * 0x1.0p-53;
+
+            return min + (max - min) * unit;
+        });
+
+        return edges.withWeights(weights);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s { generator: %s, min: %s, max: %s }", getClass().getSimpleName(), generator, min,
+                max);
+    }
+}
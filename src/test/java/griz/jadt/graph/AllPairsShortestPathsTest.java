@@ -0,0 +1,160 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import griz.jadt.graph.AllPairsShortestPaths.Strategy;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link AllPairsShortestPaths} class.
+ *
+ * @author nichollsmc
+ */
+class AllPairsShortestPathsTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void should_compute_distances_and_paths() {
+        final var graph = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        graph.addEdge(new SimpleWeightedEdge<>("a", "b", 4));
+        graph.addEdge(new SimpleWeightedEdge<>("a", "c", 1));
+        graph.addEdge(new SimpleWeightedEdge<>("c", "b", 2));
+        graph.addEdge(new SimpleWeightedEdge<>("b", "d", 1));
+        graph.addVertex("e");
+
+        for (final var strategy : List.of(Strategy.FLOYD_WARSHALL, Strategy.DIJKSTRA)) {
+            final var paths = new AllPairsShortestPaths<>(graph, strategy, true);
+
+            assertEquals(strategy, paths.strategy());
+            assertEquals(4d, paths.distance("a", "d"));
+            assertEquals(0d, paths.distance("e", "e"));
+            assertEquals(Double.POSITIVE_INFINITY, paths.distance("d", "a"));
+            assertFalse(paths.hasPath("a", "e"));
+            assertEquals(Optional.of(List.of("a", "c", "b", "d")), paths.path("a", "d"));
+            assertEquals(Optional.of(List.of("b")), paths.path("b", "b"));
+            assertEquals(Optional.empty(), paths.path("d", "a"));
+            assertThrows(GraphException.class, () -> paths.distance("a", "f"));
+        }
+
+        assertThrows(IllegalStateException.class, () -> new AllPairsShortestPaths<>(graph).path("a", "b"));
+    }
+
+    @Test
+    void should_match_single_source_shortest_paths() {
+        final var graph = randomGraph(new Random(3), 150, 600);
+        final var floydWarshall = new AllPairsShortestPaths<>(graph, Strategy.FLOYD_WARSHALL, true);
+        final var dijkstra = new AllPairsShortestPaths<>(graph, Strategy.DIJKSTRA, true);
+
+        assertEquals(Strategy.DIJKSTRA, new AllPairsShortestPaths<>(graph).strategy());
+        for (int s = 0; s < 150; s += 13) {
+            final var reference = new ShortestPaths<>(graph, s);
+            for (int t = 0; t < 150; t++) {
+                assertEquals(reference.distanceTo(t), floydWarshall.distance(s, t), DELTA);
+                assertEquals(reference.distanceTo(t), dijkstra.distance(s, t), DELTA);
+                assertPath(graph, floydWarshall, s, t);
+                assertPath(graph, dijkstra, s, t);
+            }
+        }
+    }
+
+    @Test
+    void should_reweight_negative_edges() {
+        // offsetting each weight by 2.5 * (source - destination) leaves the length of every cycle unchanged
+        final var random = new Random(5);
+        final var graph = new DirectedGraph<Integer, SimpleWeightedEdge<Integer>>();
+        for (int v = 0; v + 1 < 200; v++) {
+            graph.addEdge(new SimpleWeightedEdge<>(v, v + 1, -2.5));
+        }
+        for (int i = 0; i < 3_000; i++) {
+            final var source = random.nextInt(200);
+            final var destination = random.nextInt(200);
+            final var weight = random.nextInt(100) / 4d + 2.5 * (source - destination);
+            graph.addEdge(new SimpleWeightedEdge<>(source, destination, weight));
+        }
+
+        final var floydWarshall = new AllPairsShortestPaths<>(graph, Strategy.FLOYD_WARSHALL, true);
+        final var dijkstra = new AllPairsShortestPaths<>(graph, Strategy.DIJKSTRA, true);
+
+        for (int s = 0; s < 200; s += 17) {
+            for (int t = 0; t < 200; t++) {
+                assertEquals(floydWarshall.distance(s, t), dijkstra.distance(s, t), DELTA);
+                assertPath(graph, dijkstra, s, t);
+            }
+        }
+        assertEquals(-2.5 * 199, floydWarshall.distance(0, 199), DELTA);
+    }
+
+    @Test
+    void should_reject_negative_cycles() {
+        final var graph = new DirectedGraph<Integer, SimpleWeightedEdge<Integer>>();
+        graph.addEdge(new SimpleWeightedEdge<>(1, 2, 1));
+        graph.addEdge(new SimpleWeightedEdge<>(2, 3, -1));
+        graph.addEdge(new SimpleWeightedEdge<>(3, 1, -1));
+
+        assertThrows(GraphException.class,
+                () -> new AllPairsShortestPaths<>(graph, Strategy.FLOYD_WARSHALL, false));
+        assertThrows(GraphException.class, () -> new AllPairsShortestPaths<>(graph, Strategy.DIJKSTRA, false));
+    }
+
+    @Test
+    void strategies_should_agree_on_larger_graphs() {
+        final var n = 1_000;
+        final var graph = randomGraph(new Random(11), n, 8 * n);
+        final var floydWarshall = new AllPairsShortestPaths<>(graph, Strategy.FLOYD_WARSHALL, false);
+        final var dijkstra = new AllPairsShortestPaths<>(graph, Strategy.DIJKSTRA, false);
+
+        for (int s = 0; s < n; s += 97) {
+            for (int t = 0; t < n; t++) {
+                assertEquals(floydWarshall.distance(s, t), dijkstra.distance(s, t), DELTA);
+            }
+        }
+    }
+
+    private static DirectedGraph<Integer, SimpleWeightedEdge<Integer>> randomGraph(final Random random, final int n,
+            final int m) {
+        final var graph = new DirectedGraph<Integer, SimpleWeightedEdge<Integer>>();
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+        for (int i = 0; i < m; i++) {
+            final var source = random.nextInt(n);
+            final var destination = random.nextInt(n);
+            graph.addEdge(new SimpleWeightedEdge<>(source, destination, random.nextInt(100) / 4d));
+        }
+
+        return graph;
+    }
+
+    private static void assertPath(final DirectedGraph<Integer, SimpleWeightedEdge<Integer>> graph,
+            final AllPairsShortestPaths<Integer, SimpleWeightedEdge<Integer>> paths, final int s, final int t) {
+        final var path = paths.path(s, t);
+        assertEquals(paths.hasPath(s, t), path.isPresent());
+        if (path.isEmpty()) {
+            return;
+        }
+
+        final var vertices = path.get();
+        var length = 0d;
+        for (int i = 1; i < vertices.size(); i++) {
+            var shortest = Double.POSITIVE_INFINITY;
+            for (final var edges = graph.edgesFrom(vertices.get(i - 1)); edges.hasNext();) {
+                final var edge = edges.next();
+                if (edge.destination().equals(vertices.get(i))) {
+                    shortest = Math.min(shortest, edge.weight());
+                }
+            }
+            length += shortest;
+        }
+
+        assertEquals(Integer.valueOf(s), vertices.get(0));
+        assertEquals(Integer.valueOf(t), vertices.get(vertices.size() - 1));
+        assertTrue(Math.abs(paths.distance(s, t) - length) < 1e-6);
+    }
+}
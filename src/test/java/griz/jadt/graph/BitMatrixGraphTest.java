@@ -0,0 +1,199 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import griz.jadt.graph.BitMatrixGraph.WeightStorage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link BitMatrixGraph} class.
+ *
+ * @author nichollsmc
+ */
+class BitMatrixGraphTest {
+
+    @Test
+    void should_add_and_remove_edges() {
+        final var graph = new BitMatrixGraph<String>();
+
+        graph.addEdge(new SimpleEdge<>("a", "b"));
+        graph.addEdge(new SimpleEdge<>("a", "c"));
+        graph.addEdge(new SimpleEdge<>("c", "c"));
+        graph.addEdge(new SimpleEdge<>("a", "b"));
+        graph.addVertex("d");
+
+        assertEquals(4, graph.numVertices());
+        assertEquals(3L, graph.numEdges());
+        assertTrue(graph.containsEdge("a", "c"));
+        assertFalse(graph.containsEdge("c", "a"));
+        assertEquals(new SimpleEdge<>("a", "b"), graph.getEdge("a", "b"));
+        assertNull(graph.getEdge("b", "a"));
+        assertEquals(2, graph.outDegree("a"));
+        assertEquals(2, graph.inDegree("c"));
+        assertEquals(Set.of(new SimpleEdge<>("a", "c"), new SimpleEdge<>("c", "c")), edges(graph.edgesTo("c")));
+
+        assertTrue(graph.removeEdge(new SimpleEdge<>("a", "b")));
+        assertFalse(graph.removeEdge(new SimpleEdge<>("a", "b")));
+        assertTrue(graph.removeVertex("c"));
+        assertFalse(graph.removeVertex("c"));
+
+        assertEquals(0L, graph.numEdges());
+        assertEquals(Set.of("a", "b", "d"), new HashSet<>(vertices(graph)));
+        assertFalse(graph.edgesFrom("a").hasNext());
+
+        graph.addEdge(new SimpleEdge<>("e", "a"));
+
+        assertTrue(graph.containsEdge("e", "a"));
+        assertFalse(graph.containsEdge("e", "e"));
+    }
+
+    @Test
+    void should_retain_weights() {
+        final var graph = new BitMatrixGraph<Integer>(4, WeightStorage.FLOAT);
+        final var precise = new BitMatrixGraph<Integer>(4, WeightStorage.DOUBLE);
+        final var unweighted = new BitMatrixGraph<Integer>();
+        for (final var g : List.of(graph, precise, unweighted)) {
+            g.addEdge(new SimpleWeightedEdge<>(1, 2, 0.1));
+            g.addEdge(new SimpleEdge<>(2, 3));
+        }
+
+        assertEquals(new SimpleWeightedEdge<>(1, 2, (float) 0.1), graph.getEdge(1, 2));
+        assertEquals(new SimpleWeightedEdge<>(1, 2, 0.1), precise.getEdge(1, 2));
+        assertEquals(new SimpleEdge<>(1, 2), unweighted.getEdge(1, 2));
+        assertEquals(new SimpleEdge<>(2, 3), precise.getEdge(2, 3));
+
+        precise.removeVertex(2);
+        precise.addEdge(new SimpleEdge<>(1, 2));
+
+        assertEquals(new SimpleEdge<>(1, 2), precise.getEdge(1, 2));
+    }
+
+    @Test
+    void should_detect_cycles_and_order_vertices() {
+        final var graph = new BitMatrixGraph<Character>();
+        graph.addEdge(new SimpleEdge<>('a', 'b'));
+        graph.addEdge(new SimpleEdge<>('b', 'c'));
+        graph.addEdge(new SimpleEdge<>('a', 'c'));
+        graph.addEdge(new SimpleEdge<>('d', 'a'));
+
+        assertFalse(graph.hasCycle());
+        assertEquals(List.of('d', 'a', 'b', 'c'), graph.topologicalOrder());
+
+        graph.addEdge(new SimpleEdge<>('c', 'd'));
+
+        assertTrue(graph.hasCycle());
+        assertTrue(graph.getCycle().isPresent());
+        assertThrows(GraphException.class, graph::topologicalOrder);
+
+        graph.removeEdge(new SimpleEdge<>('c', 'd'));
+        graph.addEdge(new SimpleEdge<>('c', 'c'));
+
+        assertTrue(graph.hasCycle());
+    }
+
+    @Test
+    void should_compute_reachability() {
+        final var graph = new BitMatrixGraph<Integer>();
+        graph.addEdge(new SimpleEdge<>(1, 2));
+        graph.addEdge(new SimpleEdge<>(2, 3));
+        graph.addEdge(new SimpleEdge<>(3, 1));
+        graph.addEdge(new SimpleEdge<>(4, 1));
+        graph.addVertex(5);
+
+        assertEquals(Set.of(1, 2, 3), graph.reachableFrom(2));
+        assertEquals(Set.of(5), graph.reachableFrom(5));
+        assertTrue(graph.isReachable(4, 3));
+        assertTrue(graph.isReachable(5, 5));
+        assertFalse(graph.isReachable(1, 4));
+        assertThrows(GraphException.class, () -> graph.reachableFrom(6));
+    }
+
+    @Test
+    void should_match_directed_graph_on_random_dense_graph() {
+        final var random = new Random(17);
+        final var n = 300;
+        final var graph = new BitMatrixGraph<Integer>();
+        final var reference = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int i = 0; i < 20_000; i++) {
+            final var source = random.nextInt(n);
+            final var destination = random.nextInt(n);
+            final var edge = source < destination ? new SimpleEdge<>(source, destination) : null;
+            graph.addEdge(edge);
+            reference.addEdge(edge);
+        }
+        for (int v = 0; v < n; v += 7) {
+            graph.removeVertex(v);
+            reference.removeVertex(v);
+        }
+
+        assertEquals(reference.numVertices(), graph.numVertices());
+        assertFalse(graph.hasCycle());
+        final var position = new HashMap<Integer, Integer>();
+        final var order = graph.topologicalOrder();
+        for (int i = 0; i < order.size(); i++) {
+            position.put(order.get(i), i);
+        }
+
+        var numEdges = 0L;
+        for (final var vertex : reference) {
+            final var out = edges(reference.edgesFrom(vertex));
+            numEdges += out.size();
+            assertEquals(out, edges(graph.edgesFrom(vertex)));
+            assertEquals(edges(reference.edgesTo(vertex)), edges(graph.edgesTo(vertex)));
+            for (final var edge : out) {
+                assertTrue(position.get(edge.source()) < position.get(edge.destination()));
+            }
+        }
+        assertEquals(numEdges, graph.numEdges());
+
+        for (final var source : List.of(1, 150, 298)) {
+            assertEquals(reachable(reference, source), graph.reachableFrom(source));
+        }
+
+        graph.addEdge(new SimpleEdge<>(298, 1));
+        reference.addEdge(new SimpleEdge<>(298, 1));
+
+        assertEquals(reference.hasCycle(), graph.hasCycle());
+    }
+
+    private static <V> Set<Edge<V>> edges(final Iterator<? extends Edge<V>> iterator) {
+        final var result = new HashSet<Edge<V>>();
+        iterator.forEachRemaining(result::add);
+
+        return result;
+    }
+
+    private static <V> List<V> vertices(final Graph<V, ?> graph) {
+        final var result = new ArrayList<V>();
+        graph.forEach(result::add);
+
+        return result;
+    }
+
+    private static Set<Integer> reachable(final Graph<Integer, Edge<Integer>> graph, final Integer source) {
+        final var reached = new HashSet<Integer>(Set.of(source));
+        final var queue = new ArrayDeque<Integer>(reached);
+        while (!queue.isEmpty()) {
+            for (final var edges = graph.edgesFrom(queue.poll()); edges.hasNext();) {
+                final var next = edges.next().destination();
+                if (reached.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+
+        return reached;
+    }
+}
@@ -0,0 +1,156 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link CompressedGraph} class, and its compression ratio.
+ *
+ * @author nichollsmc
+ */
+class CompressedGraphTest {
+
+    @Test
+    void should_decode_the_edges_of_the_source_graph() {
+        final var graph = new DirectedGraph<Character, Edge<Character>>();
+
+        graph.addEdge(new SimpleEdge<>('a', 'b'));
+        graph.addEdge(new SimpleEdge<>('a', 'c'));
+        graph.addEdge(new SimpleEdge<>('c', 'a'));
+        graph.addEdge(new SimpleEdge<>('d', 'd'));
+        graph.addVertex('e');
+
+        final var compressed = CompressedGraph.of(graph);
+
+        assertEquals(5, compressed.numVertices());
+        assertEquals(4, compressed.numEdges());
+        assertTrue(compressed.containsVertex('e'));
+        assertFalse(compressed.containsVertex('x'));
+        assertTrue(compressed.containsEdge('a', 'c'));
+        assertTrue(compressed.containsEdge('d', 'd'));
+        assertFalse(compressed.containsEdge('b', 'a'));
+        assertEquals(new SimpleEdge<>('c', 'a'), compressed.getEdge('c', 'a'));
+        assertNull(compressed.getEdge('e', 'a'));
+        assertEquals(Set.of(new SimpleEdge<>('a', 'b'), new SimpleEdge<>('a', 'c')), edges(compressed.edgesFrom('a')));
+        assertEquals(Set.of(new SimpleEdge<>('a', 'c')), edges(compressed.edgesTo('c')));
+        assertFalse(compressed.edgesFrom('x').hasNext());
+        assertTrue(compressed.hasCycle());
+        assertThrows(GraphException.class, compressed::topologicalOrder);
+    }
+
+    @Test
+    void should_be_read_only() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        graph.addEdge(new SimpleEdge<>(1, 2));
+
+        final var compressed = CompressedGraph.of(graph);
+
+        assertThrows(UnsupportedOperationException.class, () -> compressed.addVertex(3));
+        assertThrows(UnsupportedOperationException.class, () -> compressed.addEdge(new SimpleEdge<>(2, 1)));
+        assertThrows(UnsupportedOperationException.class, () -> compressed.removeEdge(new SimpleEdge<>(1, 2)));
+        assertThrows(UnsupportedOperationException.class, () -> compressed.removeVertex(1));
+        assertEquals(0, compressed.modificationCount());
+    }
+
+    @Test
+    void should_count_parallel_edges_once() {
+        final var graph = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        graph.addEdge(new SimpleWeightedEdge<>("a", "b", 1.0));
+        graph.addEdge(new SimpleWeightedEdge<>("a", "b", 2.0));
+        graph.addEdge(new SimpleWeightedEdge<>("b", "a", 1.0));
+
+        final var compressed = CompressedGraph.of(graph);
+        final var edges = compressed.edgesFrom("a");
+
+        assertEquals(2L, compressed.numEdges());
+        assertEquals(new SimpleEdge<>("a", "b"), edges.next());
+        assertFalse(edges.hasNext());
+        assertEquals(2 * (Integer.BYTES * 2L + Integer.BYTES * 3L), compressed.uncompressedSize());
+    }
+
+    @Test
+    void should_round_trip_random_graph_with_and_without_references() {
+        final var graph = localGraph(2_000, 12, 11);
+
+        final var referenced = CompressedGraph.of(graph, true);
+        final var plain = CompressedGraph.of(graph, false);
+
+        assertSameEdges(graph, referenced);
+        assertSameEdges(graph, plain);
+        assertTrue(referenced.compressedSize() < plain.compressedSize());
+    }
+
+    @Test
+    void compression_should_shrink_graphs_with_locality() {
+        final var graph = localGraph(50_000, 16, 5);
+
+        final var compressed = CompressedGraph.of(graph);
+        final var plain = CompressedGraph.of(graph, false);
+
+        var decoded = 0L;
+        for (final var vertex : compressed) {
+            for (final var edges = compressed.edgesFrom(vertex); edges.hasNext(); edges.next()) {
+                decoded++;
+            }
+        }
+
+        assertEquals(compressed.numEdges(), decoded);
+        assertTrue(compressed.compressionRatio() > 2);
+        assertTrue(compressed.compressionRatio() > plain.compressionRatio());
+    }
+
+    /**
+     * Creates a graph whose vertices mostly link to vertices with nearby numbers, and whose consecutive vertices
+     * share part of their neighbors, as in web and social graphs ordered by locality.
+     */
+    private static DirectedGraph<Integer, Edge<Integer>> localGraph(final int n, final int degree, final long seed) {
+        final var random = new Random(seed);
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+
+        var previous = new int[0];
+        for (int v = 0; v < n; v++) {
+            final var neighbors = new int[degree];
+            for (int i = 0; i < degree; i++) {
+                if (i < previous.length && random.nextInt(4) != 0) {
+                    neighbors[i] = previous[i];
+                } else if (random.nextInt(10) == 0) {
+                    neighbors[i] = random.nextInt(n);
+                } else {
+                    neighbors[i] = Math.floorMod(v + random.nextInt(64) - 16, n);
+                }
+                graph.addEdge(new SimpleEdge<>(v, neighbors[i]));
+            }
+            previous = neighbors;
+        }
+
+        return graph;
+    }
+
+    private static void assertSameEdges(final Graph<Integer, Edge<Integer>> graph,
+            final CompressedGraph<Integer> compressed) {
+        assertEquals(graph.numVertices(), compressed.numVertices());
+        for (final var vertex : graph) {
+            assertEquals(edges(graph.edgesFrom(vertex)), edges(compressed.edgesFrom(vertex)));
+            assertEquals(edges(graph.edgesTo(vertex)), edges(compressed.edgesTo(vertex)));
+        }
+    }
+
+    private static <V> Set<Edge<V>> edges(final Iterator<? extends Edge<V>> iterator) {
+        final var result = new HashSet<Edge<V>>();
+        iterator.forEachRemaining(result::add);
+
+        return result;
+    }
+}
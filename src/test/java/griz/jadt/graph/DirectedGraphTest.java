@@ -179,4 +179,45 @@ class DirectedGraphTest {
 
         assertEquals(expected, topologicalOrder);
     }
-}
\ No newline at end of file
+
+    @Test
+    void topological_order_should_reflect_modifications() {
+        final var graph = new DirectedGraph<Character, Edge<Character>>();
+
+        final var bc = new SimpleEdge<>('b', 'c');
+
+        graph.addEdge(new SimpleEdge<>('a', 'b'));
+        graph.addEdge(bc);
+
+        assertEquals(Arrays.asList('a', 'b', 'c'), graph.topologicalOrder());
+
+        graph.addEdge(new SimpleEdge<>('c', 'a'));
+
+        assertTrue(graph.hasCycle());
+        assertThrows(GraphException.class, graph::topologicalOrder);
+
+        graph.removeEdge(bc);
+
+        assertFalse(graph.hasCycle());
+        assertEquals(Arrays.asList('c', 'a', 'b'), graph.topologicalOrder());
+    }
+
+    @Test
+    void modification_count_should_change_only_on_structural_modifications() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+
+        final var count = graph.modificationCount();
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+        graph.addVertex(1);
+        graph.removeVertex(3);
+
+        assertEquals(count, graph.modificationCount());
+
+        graph.removeVertex(2);
+
+        assertTrue(graph.modificationCount() > count);
+    }
+}
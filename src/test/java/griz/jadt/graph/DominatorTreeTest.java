@@ -0,0 +1,147 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link DominatorTree} class.
+ *
+ * @author nichollsmc
+ */
+class DominatorTreeTest {
+
+    @Test
+    void should_compute_immediate_dominators() {
+        final var tree = new DominatorTree<>(controlFlowGraph(), "entry");
+
+        assertEquals(Optional.empty(), tree.immediateDominator("entry"));
+        assertEquals(Optional.of("entry"), tree.immediateDominator("header"));
+        assertEquals(Optional.of("header"), tree.immediateDominator("then"));
+        assertEquals(Optional.of("header"), tree.immediateDominator("else"));
+        assertEquals(Optional.of("header"), tree.immediateDominator("join"));
+        assertEquals(Optional.of("join"), tree.immediateDominator("exit"));
+        assertEquals(Set.of("then", "else", "join"), tree.children("header"));
+        assertEquals(6, tree.size());
+    }
+
+    @Test
+    void should_answer_dominance_queries() {
+        final var tree = new DominatorTree<>(controlFlowGraph(), "entry");
+
+        assertTrue(tree.dominates("header", "exit"));
+        assertTrue(tree.dominates("join", "join"));
+        assertFalse(tree.strictlyDominates("join", "join"));
+        assertFalse(tree.dominates("then", "join"));
+        assertFalse(tree.dominates("exit", "header"));
+        assertFalse(tree.isReachable("dead"));
+        assertFalse(tree.dominates("entry", "dead"));
+        assertThrows(GraphException.class, () -> tree.immediateDominator("dead"));
+    }
+
+    @Test
+    void should_compute_dominance_frontiers() {
+        final var tree = new DominatorTree<>(controlFlowGraph(), "entry");
+
+        assertEquals(Set.of("join"), tree.dominanceFrontier("then"));
+        assertEquals(Set.of("join"), tree.dominanceFrontier("else"));
+        assertEquals(Set.of("header"), tree.dominanceFrontier("join"));
+        assertEquals(Set.of("header"), tree.dominanceFrontier("header"));
+        assertEquals(Set.of(), tree.dominanceFrontier("exit"));
+    }
+
+    @Test
+    void should_compute_post_dominators() {
+        final var tree = DominatorTree.postDominators(controlFlowGraph(), "exit");
+
+        assertEquals(Optional.of("join"), tree.immediateDominator("then"));
+        assertEquals(Optional.of("header"), tree.immediateDominator("entry"));
+        assertTrue(tree.dominates("join", "header"));
+        assertFalse(tree.dominates("then", "header"));
+    }
+
+    @Test
+    void should_match_iterative_dataflow_on_random_graphs() {
+        final var random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            final var n = 2 + random.nextInt(60);
+            final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+            for (int v = 0; v < n; v++) {
+                graph.addVertex(v);
+            }
+            for (int i = 0; i < n * 2; i++) {
+                graph.addEdge(new SimpleEdge<>(random.nextInt(n), random.nextInt(n)));
+            }
+
+            final var tree = new DominatorTree<>(graph, 0);
+            final var expected = dominators(graph, n);
+            for (int a = 0; a < n; a++) {
+                for (int b = 0; b < n; b++) {
+                    assertEquals(expected[b] != null && expected[b].get(a), tree.dominates(a, b));
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the dominators of each vertex by iterating the dataflow equations to a fixed point.
+     */
+    private static BitSet[] dominators(final Graph<Integer, Edge<Integer>> graph, final int n) {
+        final var result = new BitSet[n];
+        result[0] = new BitSet();
+        result[0].set(0);
+
+        var changed = true;
+        while (changed) {
+            changed = false;
+            for (int v = 1; v < n; v++) {
+                BitSet dominators = null;
+                for (final var edges = graph.edgesTo(v); edges.hasNext();) {
+                    final var predecessor = result[edges.next().source()];
+                    if (predecessor != null) {
+                        if (dominators == null) {
+                            dominators = (BitSet) predecessor.clone();
+                        } else {
+                            dominators.and(predecessor);
+                        }
+                    }
+                }
+                if (dominators != null) {
+                    dominators.set(v);
+                    if (!dominators.equals(result[v])) {
+                        result[v] = dominators;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates a loop whose body branches: {@code entry -> header -> (then | else) -> join -> (header | exit)}, with an
+     * unreachable vertex {@code dead -> join}.
+     */
+    private static DirectedGraph<String, Edge<String>> controlFlowGraph() {
+        final var graph = new DirectedGraph<String, Edge<String>>();
+
+        graph.addEdge(new SimpleEdge<>("entry", "header"));
+        graph.addEdge(new SimpleEdge<>("header", "then"));
+        graph.addEdge(new SimpleEdge<>("header", "else"));
+        graph.addEdge(new SimpleEdge<>("then", "join"));
+        graph.addEdge(new SimpleEdge<>("else", "join"));
+        graph.addEdge(new SimpleEdge<>("join", "header"));
+        graph.addEdge(new SimpleEdge<>("join", "exit"));
+        graph.addEdge(new SimpleEdge<>("dead", "join"));
+
+        return graph;
+    }
+}
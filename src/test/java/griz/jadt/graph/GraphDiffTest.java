@@ -0,0 +1,162 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link GraphDiff} class.
+ *
+ * @author nichollsmc
+ */
+class GraphDiffTest {
+
+    @Test
+    void should_detect_added_removed_and_changed_elements() {
+        final var before = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        final var after = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        final var ab = new SimpleWeightedEdge<>("a", "b", 1.0);
+        final var bc = new SimpleWeightedEdge<>("b", "c", 2.0);
+        final var bcHeavier = new SimpleWeightedEdge<>("b", "c", 5.0);
+        final var cd = new SimpleWeightedEdge<>("c", "d", 1.0);
+        final var ae = new SimpleWeightedEdge<>("a", "e", 1.0);
+
+        before.addEdge(ab);
+        before.addEdge(bc);
+        before.addEdge(cd);
+        after.addEdge(new SimpleWeightedEdge<>("a", "b", 1.0));
+        after.addEdge(bcHeavier);
+        after.addEdge(ae);
+        after.addVertex("c");
+
+        final var diff = GraphDiff.between(before, after);
+
+        assertEquals(Set.of("e"), diff.addedVertices());
+        assertEquals(Set.of("d"), diff.removedVertices());
+        assertEquals(List.of(ae), diff.addedEdges());
+        assertEquals(List.of(cd), diff.removedEdges());
+        assertEquals(1, diff.changedEdges().size());
+        assertSame(bc, diff.changedEdges().get(0).before());
+        assertSame(bcHeavier, diff.changedEdges().get(0).after());
+        assertTrue(GraphDiff.between(after, after).isEmpty());
+    }
+
+    @Test
+    void should_match_parallel_edges_by_weight() {
+        final var before = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        final var after = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        final var ab2 = new SimpleWeightedEdge<>("a", "b", 2.0);
+        final var ab3 = new SimpleWeightedEdge<>("a", "b", 3.0);
+        final var ab7 = new SimpleWeightedEdge<>("a", "b", 7.0);
+        for (final var weight : List.of(1.0, 2.0, 3.0)) {
+            before.addEdge(new SimpleWeightedEdge<>("a", "b", weight));
+        }
+        after.addEdge(new SimpleWeightedEdge<>("a", "b", 1.0));
+        after.addEdge(ab7);
+
+        final var diff = GraphDiff.between(before, after);
+
+        assertEquals(List.of(ab3), diff.removedEdges());
+        assertTrue(diff.addedEdges().isEmpty());
+        assertEquals(1, diff.changedEdges().size());
+        assertEquals(ab2, diff.changedEdges().get(0).before());
+        assertSame(ab7, diff.changedEdges().get(0).after());
+
+        after.removeEdge(ab7);
+        final var removal = GraphDiff.between(before, after);
+
+        assertEquals(Set.of(ab2, ab3), new HashSet<>(removal.removedEdges()));
+        assertTrue(removal.changedEdges().isEmpty());
+
+        assertTrue(diff.applyTo(before));
+        after.addEdge(ab7);
+        assertTrue(GraphDiff.between(before, after).isEmpty());
+    }
+
+    @Test
+    void should_distinguish_destinations_with_equal_hashes() {
+        final var before = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        final var after = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        before.addEdge(new SimpleWeightedEdge<>("x", "Aa", 1.0));
+        before.addEdge(new SimpleWeightedEdge<>("x", "BB", 2.0));
+        after.addEdge(new SimpleWeightedEdge<>("x", "Aa", 2.0));
+        after.addEdge(new SimpleWeightedEdge<>("x", "BB", 2.0));
+
+        final var diff = GraphDiff.between(before, after);
+
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(1, diff.changedEdges().size());
+        assertEquals(new SimpleWeightedEdge<>("x", "Aa", 1.0), diff.changedEdges().get(0).before());
+        assertTrue(diff.addedEdges().isEmpty());
+        assertTrue(diff.removedEdges().isEmpty());
+    }
+
+    @Test
+    void should_compare_reversed_views() {
+        final var before = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        final var after = new DirectedGraph<String, SimpleWeightedEdge<String>>();
+        final var bd = new SimpleWeightedEdge<>("b", "d", 1.0);
+        final var cd = new SimpleWeightedEdge<>("c", "d", 1.0);
+        before.addEdge(new SimpleWeightedEdge<>("a", "d", 1.0));
+        before.addEdge(bd);
+        before.addVertex("c");
+        after.addEdge(new SimpleWeightedEdge<>("a", "d", 1.0));
+        after.addEdge(cd);
+        after.addVertex("b");
+
+        final var diff = GraphDiff.between(before.reverse(), after.reverse());
+
+        assertEquals(List.of(bd), diff.removedEdges());
+        assertEquals(List.of(cd), diff.addedEdges());
+        assertTrue(diff.changedEdges().isEmpty());
+    }
+
+    @Test
+    void applying_diff_should_reproduce_later_version_in_one_modification() {
+        final var random = new Random(17);
+        final var before = randomGraph(random);
+        final var after = randomGraph(random);
+        final var diff = GraphDiff.between(before, after);
+        final var version = before.modificationCount();
+
+        assertTrue(diff.applyTo(before));
+        assertEquals(version + 1, before.modificationCount());
+        assertTrue(GraphDiff.between(before, after).isEmpty());
+        assertEquals(edges(after), edges(before));
+        assertFalse(diff.applyTo(before));
+
+        final var original = randomGraph(new Random(17));
+        diff.inverse().applyTo(before);
+
+        assertTrue(GraphDiff.between(original, before).isEmpty());
+    }
+
+    private static DirectedGraph<Integer, SimpleWeightedEdge<Integer>> randomGraph(final Random random) {
+        final var graph = new DirectedGraph<Integer, SimpleWeightedEdge<Integer>>();
+        for (int i = 0; i < 3_000; i++) {
+            final int source = random.nextInt(1_500);
+            final int destination = random.nextInt(1_500);
+            if (!graph.containsEdge(source, destination)) {
+                graph.addEdge(new SimpleWeightedEdge<>(source, destination, random.nextInt(3)));
+            }
+        }
+
+        return graph;
+    }
+
+    private static Set<SimpleWeightedEdge<Integer>> edges(final Graph<Integer, SimpleWeightedEdge<Integer>> graph) {
+        final var result = new HashSet<SimpleWeightedEdge<Integer>>();
+        for (final var vertex : graph) {
+            graph.edgesFrom(vertex).forEachRemaining(result::add);
+        }
+
+        return result;
+    }
+}
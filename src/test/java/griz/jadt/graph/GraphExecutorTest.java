@@ -0,0 +1,156 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link GraphExecutor} class.
+ *
+ * @author nichollsmc
+ */
+class GraphExecutorTest {
+
+    @Test
+    void should_compute_results_asynchronously() throws Exception {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        graph.addEdge(new SimpleEdge<>(1, 2));
+        graph.addEdge(new SimpleEdge<>(2, 3));
+
+        try (var executor = GraphExecutor.create()) {
+            assertEquals(List.of(1, 2, 3), executor.topologicalOrder(graph, Duration.ofSeconds(10)).get());
+            assertFalse(executor.hasCycle(graph, null).get());
+
+            graph.addEdge(new SimpleEdge<>(3, 1));
+
+            final var failure = assertThrows(ExecutionException.class,
+                    () -> executor.topologicalOrder(graph, null).get());
+
+            assertTrue(failure.getCause() instanceof GraphException);
+        }
+    }
+
+    @Test
+    void cancelling_future_should_stop_computation() throws Exception {
+        final var stopped = new CountDownLatch(1);
+        final var started = new CountDownLatch(1);
+        final var outcome = new AtomicReference<Throwable>();
+
+        try (var executor = GraphExecutor.create()) {
+            final var future = executor.submit(() -> {
+                started.countDown();
+                try {
+                    while (true) {
+                        GraphExecutor.checkpoint();
+                    }
+                } catch (final CancellationException e) {
+                    outcome.set(e);
+                    stopped.countDown();
+                    throw e;
+                }
+            });
+
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertTrue(future.cancel(true));
+            assertTrue(stopped.await(10, TimeUnit.SECONDS));
+            assertTrue(outcome.get() instanceof CancellationException);
+        }
+    }
+
+    @Test
+    void should_time_out_running_algorithms() throws Exception {
+        final var stopped = new CountDownLatch(1);
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int i = 0; i < 1_000; i++) {
+            graph.addEdge(new SimpleEdge<>(i, i + 1));
+        }
+
+        try (var executor = GraphExecutor.create()) {
+            final var future = executor.submit(() -> {
+                try {
+                    while (true) {
+                        new StronglyConnectedComponents<>(graph);
+                    }
+                } finally {
+                    stopped.countDown();
+                }
+            }, Duration.ofMillis(50), null);
+
+            final var failure = assertThrows(ExecutionException.class, future::get);
+
+            assertTrue(failure.getCause() instanceof TimeoutException);
+            assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void graph_should_be_usable_once_timed_out_computation_terminates() throws Exception {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int i = 0; i < 200_000; i++) {
+            graph.addEdge(new SimpleEdge<>(i % 1_000, i + 1_000));
+        }
+
+        try (var executor = GraphExecutor.create()) {
+            final var future = executor.topologicalOrder(graph, Duration.ofNanos(1));
+            try {
+                future.get();
+            } catch (final ExecutionException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+
+            future.termination().get(10, TimeUnit.SECONDS);
+
+            assertEquals(graph.numVertices(), graph.topologicalOrder().size());
+
+            graph.addEdge(new SimpleEdge<>(1_000, 0));
+
+            assertTrue(graph.hasCycle());
+        }
+    }
+
+    @Test
+    void termination_should_complete_when_computation_is_skipped() throws Exception {
+        final var executor = new GraphExecutor(Runnable::run);
+        final var failing = new GraphExecutor(runnable -> {
+            throw new IllegalStateException();
+        });
+
+        assertTrue(executor.submit(() -> 1).termination().isDone());
+        assertTrue(failing.submit(() -> 1).termination().isDone());
+        assertTrue(failing.submit(() -> 1).isCompletedExceptionally());
+    }
+
+    @Test
+    void should_report_progress() throws Exception {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int i = 0; i < 5_000; i++) {
+            graph.addEdge(new SimpleEdge<>(i % 100, i));
+        }
+
+        final var reports = new AtomicLong();
+        final var lastVisited = new AtomicLong();
+
+        try (var executor = GraphExecutor.create()) {
+            executor.submit(() -> new StronglyConnectedComponents<>(graph), null, (algorithm, visited, vertices) -> {
+                assertEquals(StronglyConnectedComponents.ALGORITHM, algorithm);
+                reports.incrementAndGet();
+                lastVisited.set(visited);
+            }).get();
+        }
+
+        assertTrue(reports.get() > 1);
+        assertEquals(graph.numVertices(), (int) lastVisited.get());
+    }
+}
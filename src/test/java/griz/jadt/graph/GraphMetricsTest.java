@@ -0,0 +1,80 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link GraphMetrics} class.
+ *
+ * @author nichollsmc
+ */
+class GraphMetricsTest {
+
+    @Test
+    void should_record_operations_of_instrumented_graph() {
+        final var registry = new GraphMetricsRegistry();
+        final var graph = GraphMetrics.instrument(new DirectedGraph<Integer, Edge<Integer>>());
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+
+        GraphMetrics.enable(registry);
+        try {
+            graph.addEdge(new SimpleEdge<>(2, 3));
+            graph.addEdge(new SimpleEdge<>(3, 4));
+            graph.removeVertex(4);
+            graph.containsEdge(1, 2);
+        } finally {
+            GraphMetrics.disable();
+        }
+
+        graph.addEdge(new SimpleEdge<>(4, 5));
+
+        assertEquals(2L, registry.operation(GraphOperation.ADD_EDGE).count());
+        assertEquals(1L, registry.operation(GraphOperation.REMOVE_VERTEX).count());
+        assertEquals(1L, registry.operation(GraphOperation.CONTAINS_EDGE).count());
+        assertEquals(0L, registry.operation(GraphOperation.GET_EDGE).count());
+    }
+
+    @Test
+    void should_record_depth_first_search_runs() {
+        final var registry = new GraphMetricsRegistry();
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+        graph.addEdge(new SimpleEdge<>(2, 3));
+        graph.addEdge(new SimpleEdge<>(3, 1));
+
+        GraphMetrics.enable(registry);
+        try {
+            assertTrue(graph.hasCycle());
+        } finally {
+            GraphMetrics.disable();
+        }
+
+        final var statistics = registry.algorithm(GraphMetrics.DEPTH_FIRST_SEARCH);
+
+        assertFalse(GraphMetrics.isEnabled());
+        assertEquals(1L, statistics.runs());
+        assertEquals(3L, statistics.verticesVisited());
+        assertEquals(3L, statistics.edgesRelaxed());
+        assertEquals(1L, statistics.cyclesFound());
+    }
+
+    @Test
+    void histogram_should_report_percentiles() {
+        final var histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(100L, histogram.count());
+        assertEquals(50_500.0, histogram.meanNanos());
+        assertTrue(histogram.percentileNanos(50) >= 50_000L);
+        assertTrue(histogram.percentileNanos(50) < 100_000L);
+        assertTrue(histogram.percentileNanos(100) >= 100_000L);
+    }
+}
@@ -0,0 +1,155 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import griz.jadt.graph.GraphPartitioner.Strategy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link GraphPartitioner} class.
+ *
+ * @author nichollsmc
+ */
+class GraphPartitionerTest {
+
+    @Test
+    void should_separate_weakly_linked_clusters() {
+        final var graph = new DirectedGraph<Integer, SimpleWeightedEdge<Integer>>();
+        for (int cluster = 0; cluster < 4; cluster++) {
+            for (int i = 0; i < 10; i++) {
+                for (int j = 0; j < 10; j++) {
+                    if (i != j) {
+                        graph.addEdge(new SimpleWeightedEdge<>(cluster * 10 + i, cluster * 10 + j, 5));
+                    }
+                }
+            }
+            graph.addEdge(new SimpleWeightedEdge<>(cluster * 10, (cluster + 1) % 4 * 10, 0.5));
+        }
+
+        final var partitioner = new GraphPartitioner<>(graph, 4, Strategy.MULTILEVEL, 0.1);
+
+        assertEquals(2d, partitioner.edgeCut(), 1e-9);
+        assertArrayEquals(new int[] { 10, 10, 10, 10 }, partitioner.sizes());
+        for (int v = 0; v < 40; v++) {
+            assertEquals(partitioner.partOf(v / 10 * 10), partitioner.partOf(v));
+        }
+    }
+
+    @Test
+    void should_export_subgraphs_and_cut_edges() {
+        final var graph = grid(30);
+        final var partitioner = new GraphPartitioner<>(graph, 3);
+        final var subgraphs = partitioner.subgraphs();
+        final var edges = new HashSet<Edge<Integer>>();
+        final var vertices = new HashSet<Integer>();
+        var cutEdges = 0;
+
+        for (int part = 0; part < 3; part++) {
+            final var subgraph = subgraphs.get(part);
+            assertEquals(partitioner.sizes()[part], subgraph.numVertices());
+            assertEquals(Set.copyOf(partitioner.verticesOf(part)), Set.copyOf(vertices(subgraph)));
+            for (final var vertex : subgraph) {
+                assertTrue(vertices.add(vertex));
+                assertEquals(part, partitioner.partOf(vertex));
+                subgraph.edgesFrom(vertex).forEachRemaining(edges::add);
+            }
+            for (final var edge : partitioner.cutEdges(part)) {
+                assertEquals(part, partitioner.partOf(edge.source()));
+                assertTrue(partitioner.partOf(edge.destination()) != part);
+                assertTrue(edges.add(edge));
+                cutEdges++;
+            }
+        }
+
+        assertEquals(900, vertices.size());
+        assertEquals(2 * 30 * 29, edges.size());
+        assertEquals(cutEdges, partitioner.edgeCut(), 1e-9);
+        assertThrows(IndexOutOfBoundsException.class, () -> partitioner.subgraph(3));
+        assertThrows(GraphException.class, () -> partitioner.partOf(-1));
+    }
+
+    @Test
+    void multilevel_should_cut_fewer_edges_than_streaming_and_hashing() {
+        final var graph = grid(141);
+        final var random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            graph.addEdge(new SimpleEdge<>(random.nextInt(141 * 141), random.nextInt(141 * 141)));
+        }
+
+        final var multilevel = new GraphPartitioner<>(graph, 8);
+        final var streaming = new GraphPartitioner<>(graph, 8, Strategy.STREAMING, GraphPartitioner.DEFAULT_IMBALANCE);
+        var hashed = 0;
+        for (final var vertex : graph) {
+            for (final var edges = graph.edgesFrom(vertex); edges.hasNext();) {
+                if (edges.next().destination() % 8 != vertex % 8) {
+                    hashed++;
+                }
+            }
+        }
+
+        assertTrue(multilevel.imbalance() <= GraphPartitioner.DEFAULT_IMBALANCE + 1e-9);
+        assertTrue(streaming.imbalance() <= GraphPartitioner.DEFAULT_IMBALANCE + 1e-9);
+        assertTrue(multilevel.edgeCut() < streaming.edgeCut());
+        assertTrue(multilevel.edgeCut() < hashed);
+        assertTrue(streaming.edgeCut() < hashed);
+    }
+
+    @Test
+    void should_handle_degenerate_inputs() {
+        final var graph = new DirectedGraph<String, Edge<String>>();
+
+        assertEquals(0d, new GraphPartitioner<>(graph, 2).edgeCut());
+
+        graph.addEdge(new SimpleEdge<>("a", "b"));
+        graph.addEdge(new SimpleEdge<>("a", "a"));
+        final var partitioner = new GraphPartitioner<>(graph, 5);
+
+        assertEquals(2, sum(partitioner.sizes()));
+        assertTrue(partitioner.partOf("a") != partitioner.partOf("b"));
+        assertEquals(List.of(new SimpleEdge<>("a", "b")), partitioner.cutEdges(partitioner.partOf("a")));
+        assertThrows(IllegalArgumentException.class, () -> new GraphPartitioner<>(graph, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GraphPartitioner<>(graph, 2, Strategy.MULTILEVEL, -0.5));
+    }
+
+    private static DirectedGraph<Integer, Edge<Integer>> grid(final int size) {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                final var v = row * size + column;
+                if (column + 1 < size) {
+                    graph.addEdge(new SimpleEdge<>(v, v + 1));
+                }
+                if (row + 1 < size) {
+                    graph.addEdge(new SimpleEdge<>(v, v + size));
+                }
+            }
+        }
+
+        return graph;
+    }
+
+    private static <V> List<V> vertices(final Graph<V, ?> graph) {
+        final var result = new ArrayList<V>();
+        graph.forEach(result::add);
+
+        return result;
+    }
+
+    private static int sum(final int[] values) {
+        var sum = 0;
+        for (final var value : values) {
+            sum += value;
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,93 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link GraphResultCache} class.
+ *
+ * @author nichollsmc
+ */
+class GraphResultCacheTest {
+
+    @Test
+    void should_reuse_results_until_graph_is_modified() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        final var cache = new GraphResultCache<>(graph);
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+
+        final var order = cache.topologicalOrder();
+
+        assertSame(order, cache.topologicalOrder());
+        assertEquals(Arrays.asList(1, 2), order);
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+
+        assertSame(order, cache.topologicalOrder());
+
+        graph.addEdge(new SimpleEdge<>(2, 3));
+
+        assertNotSame(order, cache.topologicalOrder());
+        assertEquals(Arrays.asList(1, 2, 3), cache.topologicalOrder());
+
+        graph.addEdge(new SimpleEdge<>(3, 1));
+
+        assertTrue(cache.cycle().isPresent());
+        assertThrows(GraphException.class, cache::topologicalOrder);
+    }
+
+    @Test
+    void should_evict_least_recently_used_results() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        final var cache = new GraphResultCache<>(graph, 2);
+
+        graph.addEdge(new SimpleWeightedEdge<>(1, 2, 1.5));
+        graph.addEdge(new SimpleWeightedEdge<>(2, 3, 2.0));
+        graph.addEdge(new SimpleWeightedEdge<>(1, 3, 4.0));
+
+        final var fromOne = cache.shortestPaths(1);
+        cache.shortestPaths(2);
+
+        assertSame(fromOne, cache.shortestPaths(1));
+
+        cache.shortestPaths(3);
+
+        assertEquals(2, cache.size());
+        assertSame(fromOne, cache.shortestPaths(1));
+        assertEquals(3.5, fromOne.distanceTo(3));
+        assertEquals(2, fromOne.pathTo(3).orElseThrow().size());
+        assertFalse(cache.shortestPaths(3).hasPathTo(1));
+    }
+
+    @Test
+    void should_cache_strongly_connected_components() {
+        final var graph = new DirectedGraph<Character, Edge<Character>>();
+        final var cache = new GraphResultCache<>(graph);
+
+        graph.addEdge(new SimpleEdge<>('a', 'b'));
+        graph.addEdge(new SimpleEdge<>('b', 'a'));
+        graph.addEdge(new SimpleEdge<>('b', 'c'));
+        graph.addEdge(new SimpleEdge<>('c', 'd'));
+        graph.addEdge(new SimpleEdge<>('d', 'c'));
+
+        final var components = cache.stronglyConnectedComponents();
+
+        assertSame(components, cache.stronglyConnectedComponents());
+        assertEquals(2, components.count());
+        assertTrue(components.stronglyConnected('a', 'b'));
+        assertFalse(components.stronglyConnected('b', 'c'));
+        assertTrue(components.componentOf('a') > components.componentOf('c'));
+        assertEquals(Set.of('c', 'd'), components.components().get(0));
+        assertEquals(1L, cache.misses());
+        assertEquals(1L, cache.hits());
+    }
+}
@@ -0,0 +1,178 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link FilteredGraph} and {@link ReversedGraph} views.
+ *
+ * @author nichollsmc
+ */
+class GraphViewsTest {
+
+    @Test
+    void subgraph_should_contain_induced_vertices_and_edges() {
+        final var graph = graph();
+        final var subgraph = graph.subgraph(Set.of("a", "b", "d", "x"));
+
+        assertEquals(3, subgraph.numVertices());
+        assertFalse(subgraph.containsVertex("x"));
+        assertFalse(subgraph.containsVertex("c"));
+        assertTrue(subgraph.containsEdge("a", "b"));
+        assertFalse(subgraph.containsEdge("b", "c"));
+        assertEquals(Set.of("b"), destinations(subgraph.edgesFrom("a")));
+        assertEquals(Set.of(), destinations(subgraph.edgesFrom("c")));
+        assertEquals(Arrays.asList("a", "b"), subgraph.topologicalOrder().subList(0, 2));
+    }
+
+    @Test
+    void filters_should_compose() {
+        final var graph = graph();
+        graph.addEdge(new SimpleEdge<>("d", "a"));
+
+        assertTrue(graph.hasCycle());
+
+        final var acyclic = graph.filterEdges(edge -> !edge.source().equals("d"));
+
+        assertFalse(acyclic.hasCycle());
+        assertEquals(4, acyclic.numVertices());
+        assertNull(acyclic.getEdge("d", "a"));
+
+        final var filtered = acyclic.filterVertices(vertex -> !vertex.equals("b"));
+
+        assertEquals(3, filtered.numVertices());
+        assertEquals(Set.of("c"), destinations(filtered.edgesFrom("a")));
+        assertEquals(Set.of("a"), sources(filtered.edgesTo("c")));
+        assertEquals(Arrays.asList("a", "c", "d"), filtered.topologicalOrder());
+    }
+
+    @Test
+    void reverse_should_swap_edge_directions() {
+        final var graph = graph();
+        final var reversed = graph.reverse();
+
+        assertTrue(reversed.containsEdge("b", "a"));
+        assertFalse(reversed.containsEdge("a", "b"));
+        assertSame(graph.getEdge("a", "b"), reversed.getEdge("b", "a"));
+        assertEquals(Set.of("b", "c"), sources(reversed.edgesFrom("d")));
+        assertSame(graph, reversed.reverse());
+        assertFalse(reversed.hasCycle());
+
+        final var order = reversed.topologicalOrder();
+
+        assertEquals("d", order.get(0));
+        assertEquals("a", order.get(3));
+    }
+
+    @Test
+    void views_should_reflect_changes_to_backing_graph() {
+        final var graph = graph();
+        final var reversed = graph.reverse();
+        final var subgraph = graph.subgraph(Set.of("a", "b"));
+
+        assertFalse(reversed.hasCycle());
+        assertFalse(subgraph.hasCycle());
+
+        graph.addEdge(new SimpleEdge<>("b", "a"));
+
+        assertTrue(reversed.hasCycle());
+        assertTrue(subgraph.hasCycle());
+        assertTrue(subgraph.getCycle().isPresent());
+
+        graph.removeVertex("b");
+
+        assertFalse(reversed.hasCycle());
+        assertEquals(1, subgraph.numVertices());
+    }
+
+    @Test
+    void views_should_reflect_changes_to_vertex_set_and_predicates() {
+        final var graph = graph();
+        graph.addEdge(new SimpleEdge<>("c", "a"));
+        final var vertices = new HashSet<>(Set.of("a", "b"));
+        final var excluded = new HashSet<>(Set.of("c"));
+        final var subgraph = graph.subgraph(vertices);
+        final var filtered = graph.filterVertices(vertex -> !excluded.contains(vertex));
+
+        assertFalse(subgraph.hasCycle());
+        assertFalse(filtered.hasCycle());
+
+        vertices.add("c");
+        excluded.clear();
+
+        assertTrue(subgraph.hasCycle());
+        assertTrue(filtered.hasCycle());
+        assertThrows(GraphException.class, subgraph::topologicalOrder);
+    }
+
+    @Test
+    void algorithms_should_follow_reversed_edges() {
+        final var graph = new DirectedGraph<String, Edge<String>>();
+        graph.addEdge(new SimpleEdge<>("a", "b"));
+        graph.addEdge(new SimpleEdge<>("b", "c"));
+        graph.addEdge(new SimpleEdge<>("c", "a"));
+        graph.addEdge(new SimpleEdge<>("c", "d"));
+        final var reversed = graph.reverse();
+
+        final var components = new StronglyConnectedComponents<>(reversed);
+
+        assertEquals(2, components.count());
+        assertTrue(components.stronglyConnected("a", "c"));
+        assertFalse(components.stronglyConnected("c", "d"));
+
+        final var paths = new ShortestPaths<>(reversed, "d");
+
+        assertEquals(3d, paths.distanceTo("a"));
+        assertEquals(Arrays.asList(graph.getEdge("c", "d"), graph.getEdge("b", "c")), paths.pathTo("b").orElseThrow());
+        assertFalse(new ShortestPaths<>(reversed, "a").hasPathTo("d"));
+    }
+
+    @Test
+    void views_should_be_read_only() {
+        final var view = graph().filterVertices(vertex -> true);
+
+        assertThrows(UnsupportedOperationException.class, () -> view.addVertex("e"));
+        assertThrows(UnsupportedOperationException.class, () -> view.addEdge(new SimpleEdge<>("a", "d")));
+        assertThrows(UnsupportedOperationException.class, () -> view.removeVertex("a"));
+        assertThrows(UnsupportedOperationException.class, () -> view.removeEdge(view.getEdge("a", "b")));
+        assertThrows(UnsupportedOperationException.class, () -> view.iterator().remove());
+    }
+
+    /**
+     * Creates the graph {@code a -> b -> d}, {@code a -> c -> d}.
+     */
+    private static DirectedGraph<String, Edge<String>> graph() {
+        final var graph = new DirectedGraph<String, Edge<String>>();
+
+        graph.addEdge(new SimpleEdge<>("a", "b"));
+        graph.addEdge(new SimpleEdge<>("a", "c"));
+        graph.addEdge(new SimpleEdge<>("b", "d"));
+        graph.addEdge(new SimpleEdge<>("c", "d"));
+
+        return graph;
+    }
+
+    private static Set<String> destinations(final Iterator<Edge<String>> edges) {
+        final var result = new HashSet<String>();
+        edges.forEachRemaining(edge -> result.add(edge.destination()));
+
+        return result;
+    }
+
+    private static Set<String> sources(final Iterator<Edge<String>> edges) {
+        final var result = new HashSet<String>();
+        edges.forEachRemaining(edge -> result.add(edge.source()));
+
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link KHopNeighborhoods} class.
+ *
+ * @author nichollsmc
+ */
+class KHopNeighborhoodsTest {
+
+    @Test
+    void should_respect_hop_limit_and_direction() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+        graph.addEdge(new SimpleEdge<>(2, 3));
+        graph.addEdge(new SimpleEdge<>(3, 4));
+        graph.addEdge(new SimpleEdge<>(5, 2));
+
+        final var neighborhoods = new KHopNeighborhoods<>(graph);
+
+        assertEquals(Set.of(1), neighborhoods.expand(1, 0, Direction.OUT));
+        assertEquals(Set.of(1, 2, 3), neighborhoods.expand(1, 2, Direction.OUT));
+        assertEquals(Set.of(3, 2, 1, 5), neighborhoods.expand(3, 2, Direction.IN));
+        assertEquals(Set.of(1, 2, 3, 5), neighborhoods.expand(1, 2, Direction.BOTH));
+        assertThrows(GraphException.class, () -> neighborhoods.expand(9, 1, Direction.OUT));
+        assertThrows(IllegalArgumentException.class, () -> neighborhoods.expand(1, -1, Direction.OUT));
+    }
+
+    @Test
+    void should_reflect_graph_modifications() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        graph.addEdge(new SimpleEdge<>(1, 2));
+
+        final var neighborhoods = new KHopNeighborhoods<>(graph);
+
+        assertEquals(Set.of(1, 2), neighborhoods.expand(1, 3, Direction.OUT));
+
+        graph.addEdge(new SimpleEdge<>(2, 3));
+
+        assertEquals(Set.of(1, 2, 3), neighborhoods.expand(1, 3, Direction.OUT));
+    }
+
+    @Test
+    void batched_expansion_should_match_individual_traversals() {
+        final var random = new Random(3);
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int i = 0; i < 6_000; i++) {
+            graph.addEdge(new SimpleEdge<>(random.nextInt(2_000), random.nextInt(2_000)));
+        }
+
+        final var sources = new ArrayList<Integer>();
+        for (int i = 0; i < 150; i++) {
+            sources.add(random.nextInt(2_000));
+        }
+
+        final var neighborhoods = new KHopNeighborhoods<>(graph).expand(sources, 3, Direction.BOTH);
+
+        for (final var source : sources) {
+            assertEquals(breadthFirst(graph, source, 3), neighborhoods.get(source));
+        }
+    }
+
+    private static Set<Integer> breadthFirst(final Graph<Integer, Edge<Integer>> graph, final int source,
+            final int hops) {
+        final Map<Integer, Integer> distance = new HashMap<>(Map.of(source, 0));
+        final var queue = new ArrayDeque<>(List.of(source));
+        while (!queue.isEmpty()) {
+            final int vertex = queue.poll();
+            if (distance.get(vertex) == hops) {
+                continue;
+            }
+            for (final var edges : List.of(graph.edgesFrom(vertex), graph.edgesTo(vertex))) {
+                while (edges.hasNext()) {
+                    final var neighbor = AbstractGraph.neighbor(vertex, edges.next());
+                    if (!distance.containsKey(neighbor)) {
+                        distance.put(neighbor, distance.get(vertex) + 1);
+                        queue.add(neighbor);
+                    }
+                }
+            }
+        }
+
+        return distance.keySet();
+    }
+}
@@ -0,0 +1,257 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+/**
+ * Tests the functionality of the {@link LongDirectedGraph} class.
+ *
+ * @author nichollsmc
+ */
+class LongDirectedGraphTest {
+
+    @Test
+    void should_add_edge() {
+        final var graph = new LongDirectedGraph();
+
+        assertTrue(graph.addEdge(1L, 2L));
+        assertTrue(graph.addEdge(2L, 3L));
+        assertTrue(graph.addEdge(2L, 4L));
+        assertFalse(graph.addEdge(1L, 2L));
+
+        assertTrue(graph.containsVertex(4L));
+        assertTrue(graph.containsEdge(1L, 2L));
+        assertFalse(graph.containsEdge(2L, 1L));
+        assertEquals(4, graph.numVertices());
+        assertEquals(3L, graph.numEdges());
+        assertEquals(2, graph.outDegree(2L));
+        assertEquals(1, graph.inDegree(2L));
+    }
+
+    @Test
+    void should_remove_edge() {
+        final var graph = new LongDirectedGraph();
+
+        graph.addEdge(1L, 2L);
+        graph.addEdge(1L, 3L);
+
+        assertTrue(graph.removeEdge(1L, 2L));
+        assertFalse(graph.removeEdge(1L, 2L));
+        assertFalse(graph.containsEdge(1L, 2L));
+        assertTrue(graph.containsEdge(1L, 3L));
+        assertTrue(graph.containsVertex(2L));
+        assertEquals(1L, graph.numEdges());
+    }
+
+    @Test
+    void should_remove_vertices_with_edges() {
+        final var graph = new LongDirectedGraph();
+
+        graph.addEdge(1L, 2L);
+        graph.addEdge(2L, 3L);
+        graph.addEdge(2L, 4L);
+        graph.addEdge(2L, 2L);
+        graph.addEdge(4L, 5L);
+
+        assertTrue(graph.removeVertex(2L));
+        assertFalse(graph.containsVertex(2L));
+        assertEquals(0, graph.outDegree(1L));
+        assertEquals(0, graph.inDegree(3L));
+        assertEquals(0, graph.inDegree(4L));
+        assertEquals(1L, graph.numEdges());
+        assertEquals(4, graph.numVertices());
+
+        graph.addEdge(6L, 1L);
+
+        assertTrue(graph.containsEdge(6L, 1L));
+        assertEquals(5, graph.numVertices());
+    }
+
+    @Test
+    void should_retain_weights() {
+        final var graph = new LongDirectedGraph();
+
+        graph.addEdge(1L, 2L);
+        graph.addEdge(1L, 3L, 2.5);
+        graph.addEdge(1L, 4L, -1.0);
+        graph.addEdge(1L, 5L);
+        graph.removeEdge(1L, 2L);
+
+        assertEquals(2.5, graph.weight(1L, 3L));
+        assertEquals(-1.0, graph.weight(1L, 4L));
+        assertTrue(Double.isNaN(graph.weight(1L, 5L)));
+        assertThrows(GraphException.class, () -> graph.weight(3L, 1L));
+        assertThrows(IllegalArgumentException.class, () -> graph.addEdge(1L, 5L, Double.NaN));
+    }
+
+    @Test
+    void should_add_edges_in_bulk() {
+        final var graph = new LongDirectedGraph();
+        graph.addEdge(1L, 2L);
+        graph.addEdge(3L, 1L, 0.5);
+
+        final long[] sources = { 1, 1, 1, 3, 4, 1, 4 };
+        final long[] destinations = { 2, 3, 4, 4, 4, 3, 1 };
+        final double[] weights = { 9, 1.5, 2.5, 3.5, 4.5, 9, 5.5 };
+
+        assertEquals(5L, graph.addEdges(sources.length, i -> sources[i], i -> destinations[i], i -> weights[i]));
+        assertEquals(4, graph.numVertices());
+        assertEquals(7L, graph.numEdges());
+        assertTrue(Double.isNaN(graph.weight(1L, 2L)));
+        assertEquals(1.5, graph.weight(1L, 3L));
+        assertEquals(0.5, graph.weight(3L, 1L));
+        assertEquals(4.5, graph.weight(4L, 4L));
+        assertEquals(3, graph.outDegree(1L));
+        assertEquals(3, graph.inDegree(4L));
+        assertEquals(2, graph.inDegree(1L));
+        assertThrows(IllegalArgumentException.class, () -> graph.addEdges(1, i -> 7L, i -> 8L, i -> Double.NaN));
+        assertFalse(graph.containsVertex(7L));
+    }
+
+    @Test
+    void should_not_reuse_weights_of_removed_edges() {
+        final var graph = new LongDirectedGraph();
+        graph.addEdge(1L, 2L, 5.0);
+        graph.addEdge(1L, 3L, 7.0);
+        graph.removeEdge(1L, 3L);
+
+        assertEquals(1L, graph.addEdges(1, i -> 1L, i -> 4L, null));
+        assertTrue(Double.isNaN(graph.weight(1L, 4L)));
+        assertEquals(5.0, graph.weight(1L, 2L));
+
+        graph.removeEdge(1L, 4L);
+        graph.addEdge(1L, 5L);
+
+        assertTrue(Double.isNaN(graph.weight(1L, 5L)));
+    }
+
+    @Test
+    void should_handle_large_vertex_ids() {
+        final var graph = new LongDirectedGraph();
+
+        for (long i = 0; i < 10_000; i++) {
+            graph.addEdge(Long.MAX_VALUE - i, Long.MIN_VALUE + i);
+        }
+
+        assertEquals(20_000, graph.numVertices());
+        assertTrue(graph.containsEdge(Long.MAX_VALUE - 42, Long.MIN_VALUE + 42));
+
+        for (long i = 0; i < 10_000; i += 2) {
+            assertTrue(graph.removeVertex(Long.MAX_VALUE - i));
+        }
+
+        assertEquals(15_000, graph.numVertices());
+        assertEquals(5_000L, graph.numEdges());
+        assertFalse(graph.containsEdge(Long.MAX_VALUE - 42, Long.MIN_VALUE + 42));
+        assertTrue(graph.containsEdge(Long.MAX_VALUE - 43, Long.MIN_VALUE + 43));
+    }
+
+    @Test
+    void should_visit_neighbors() {
+        final var graph = new LongDirectedGraph();
+
+        graph.addEdge(1L, 2L);
+        graph.addEdge(1L, 3L);
+        graph.addEdge(4L, 3L);
+
+        final List<Long> successors = new ArrayList<>();
+        graph.forEachSuccessor(1L, successors::add);
+        final List<Long> predecessors = new ArrayList<>();
+        graph.forEachPredecessor(3L, predecessors::add);
+
+        assertEquals(Arrays.asList(2L, 3L), successors);
+        assertEquals(Arrays.asList(1L, 4L), predecessors);
+    }
+
+    @Test
+    void should_adapt_to_graph() {
+        final var graph = new LongDirectedGraph();
+
+        graph.addEdge(1000L, 2000L);
+        graph.addEdge(2000L, 3000L, 4.0);
+
+        final var view = graph.asGraph();
+
+        assertEquals(new SimpleEdge<>(1000L, 2000L), view.getEdge(1000L, 2000L));
+        assertEquals(new SimpleWeightedEdge<>(2000L, 3000L, 4.0), view.getEdge(2000L, 3000L));
+        assertNull(view.getEdge(3000L, 2000L));
+        assertEquals(Arrays.asList(1000L, 2000L, 3000L), view.topologicalOrder());
+        assertTrue(view.edgesTo(3000L).hasNext());
+
+        view.addEdge(new SimpleEdge<>(3000L, 4000L));
+
+        assertTrue(graph.containsEdge(3000L, 4000L));
+        assertFalse(view.containsEdge(null, 2000L));
+        assertFalse(view.containsEdge(1000L, null));
+        assertNull(view.getEdge(null, 2000L));
+        assertNull(view.getEdge(1000L, null));
+    }
+
+    @Test
+    void adapter_should_resolve_in_bound_edges_after_removals() {
+        final var graph = new LongDirectedGraph();
+        for (long v = 1; v <= 5; v++) {
+            graph.addEdge(0L, v, v);
+            graph.addEdge(v, 0L, -v);
+        }
+        graph.addEdges(3, i -> 0L, i -> 6L + i, i -> 6d + i);
+        graph.removeEdge(0L, 2L);
+        graph.removeVertex(4L);
+        graph.removeEdge(0L, 7L);
+
+        final var view = graph.asGraph();
+        for (final long v : new long[] { 1, 3, 5, 6, 8 }) {
+            final var edges = view.edgesTo(v);
+
+            assertEquals(new SimpleWeightedEdge<>(0L, v, v), edges.next());
+            assertFalse(edges.hasNext());
+        }
+        final var predecessors = new ArrayList<Edge<Long>>();
+        view.edgesTo(0L).forEachRemaining(predecessors::add);
+
+        assertEquals(4, predecessors.size());
+        assertTrue(predecessors.contains(new SimpleWeightedEdge<>(2L, 0L, -2d)));
+    }
+
+    @Test
+    void should_use_fewer_than_twenty_bytes_per_unweighted_edge() {
+        final var unweighted = randomGraph(null);
+        final var weighted = randomGraph(i -> i);
+        final var edges = unweighted.numEdges();
+        final var unweightedSize = GraphLayout.parseInstance(unweighted).totalSize();
+        final var weightedSize = GraphLayout.parseInstance(weighted).totalSize();
+
+        assertEquals(edges, weighted.numEdges());
+        assertTrue(unweightedSize < 20 * edges);
+        // a weight adds its own 8 bytes, plus one array per vertex
+        assertTrue(weightedSize - unweightedSize
+                <= Double.BYTES * edges + 2L * VM.current().arrayHeaderSize() * weighted.numVertices());
+    }
+
+    private static LongDirectedGraph randomGraph(final IntToDoubleFunction weights) {
+        final var random = new Random(7);
+        final var graph = new LongDirectedGraph(10_000);
+        final var edges = 200_000;
+        final var sources = new long[edges];
+        final var destinations = new long[edges];
+        for (int i = 0; i < edges; i++) {
+            sources[i] = random.nextInt(10_000);
+            destinations[i] = random.nextInt(10_000);
+        }
+        graph.addEdges(edges, i -> sources[i], i -> destinations[i], weights);
+
+        return graph;
+    }
+}
@@ -0,0 +1,90 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link PersistentMap} class.
+ *
+ * @author nichollsmc
+ */
+class PersistentMapTest {
+
+    @Test
+    void should_not_modify_previous_versions() {
+        final var empty = PersistentMap.<String, Integer>empty();
+        final var one = empty.with("a", 1);
+        final var two = one.with("b", 2);
+        final var replaced = two.with("a", 3);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertNull(one.get("b"));
+        assertEquals(1, (int) two.get("a"));
+        assertEquals(3, (int) replaced.get("a"));
+        assertEquals(2, replaced.size());
+        assertSame(replaced, replaced.with("a", replaced.get("a")));
+        assertSame(two, two.without("c"));
+        assertFalse(two.without("a").containsKey("a"));
+        assertTrue(two.containsKey("a"));
+    }
+
+    @Test
+    void should_behave_like_hash_map() {
+        final var random = new Random(11);
+        final Map<Collider, Integer> expected = new HashMap<>();
+        var actual = PersistentMap.<Collider, Integer>empty();
+
+        for (int i = 0; i < 50_000; i++) {
+            final var key = new Collider(random.nextInt(5_000));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.without(key);
+            } else {
+                expected.put(key, i);
+                actual = actual.with(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), actual.size());
+        for (final var entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+
+        final var keys = new HashSet<Collider>();
+        actual.keys().forEachRemaining(keys::add);
+
+        assertEquals(expected.keySet(), keys);
+    }
+
+    /**
+     * Key type whose hash codes collide frequently.
+     */
+    private static final class Collider {
+
+        private final int value;
+
+        Collider(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 1_024;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof Collider && ((Collider) object).value == value;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+/**
+ * Tests the functionality of the {@link SetMap} class, and the footprint of its {@link AdaptiveSet} values.
+ *
+ * @author nichollsmc
+ */
+class SetMapTest {
+
+    @Test
+    void should_put_and_remove_values() {
+        final var setMap = new SetMap<Integer, Integer>();
+
+        assertTrue(setMap.put0(1, 2));
+        assertTrue(setMap.put0(1, 3));
+        assertFalse(setMap.put0(1, 2));
+        assertEquals(2, setMap.get(1).size());
+
+        assertTrue(setMap.remove(1, 2));
+        assertFalse(setMap.remove(1, 2));
+        assertFalse(setMap.remove(4, 2));
+        assertEquals(Set.of(3), setMap.get(1));
+    }
+
+    @Test
+    void should_adapt_storage_to_size() {
+        final var set = new AdaptiveSet<Integer>();
+
+        for (int i = 0; i < AdaptiveSet.HASH_THRESHOLD; i++) {
+            set.add(i);
+        }
+
+        assertFalse(set.isHashed());
+
+        set.add(AdaptiveSet.HASH_THRESHOLD);
+
+        assertTrue(set.isHashed());
+        assertEquals(AdaptiveSet.HASH_THRESHOLD + 1, set.size());
+
+        for (int i = AdaptiveSet.HASH_THRESHOLD; i >= AdaptiveSet.ARRAY_THRESHOLD; i--) {
+            assertTrue(set.remove(i));
+        }
+
+        assertFalse(set.isHashed());
+        assertEquals(Set.of(0, 1, 2, 3), set);
+    }
+
+    @Test
+    void should_remove_through_iterator() {
+        final var set = new AdaptiveSet<Integer>();
+
+        set.add(1);
+        set.add(2);
+        set.add(3);
+
+        for (final var iterator = set.iterator(); iterator.hasNext();) {
+            if (iterator.next() % 2 == 1) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(Set.of(2), set);
+    }
+
+    @Test
+    void adaptive_adjacency_should_use_less_memory_for_low_degree_vertices() {
+        final var random = new Random(42);
+        final var footprint = footprint(() -> 1 + random.nextInt(4));
+
+        assertTrue(footprint[0] * 3 < footprint[1]);
+    }
+
+    @Test
+    void adaptive_adjacency_should_use_less_memory_for_power_law_degrees() {
+        final var random = new Random(42);
+        final var footprint = footprint(() -> random.nextInt(10) < 9 ? 1 + random.nextInt(4) : 5 + random.nextInt(60));
+
+        assertTrue(footprint[0] < footprint[1]);
+    }
+
+    /**
+     * Measures the footprint of the adjacency sets, excluding the edges themselves, of {@link SetMap} and of a map of
+     * {@link HashSet}s populated with the same edges.
+     *
+     * @param degrees supplies the out-degree of each vertex
+     * @return the footprint in bytes of the {@code SetMap} sets followed by that of the {@code HashSet}s
+     */
+    private static long[] footprint(final IntSupplier degrees) {
+        final var random = new Random(7);
+        final var setMap = new SetMap<Integer, Edge<Integer>>();
+        final Map<Integer, Set<Edge<Integer>>> hashSetMap = new HashMap<>();
+
+        for (int vertex = 0; vertex < 10_000; vertex++) {
+            final var degree = degrees.getAsInt();
+            for (int i = 0; i < degree; i++) {
+                final var edge = new SimpleEdge<>(vertex, random.nextInt(10_000));
+                setMap.put0(vertex, edge);
+                hashSetMap.computeIfAbsent(vertex, v -> new HashSet<>()).add(edge);
+            }
+        }
+
+        final var edges = footprint(setMap.values().stream().flatMap(Set::stream).toArray());
+        final var adaptive = footprint(setMap.values().toArray()) - edges;
+        final var hashed = footprint(hashSetMap.values().toArray()) - edges;
+
+        return new long[] { adaptive, hashed };
+    }
+
+    private static long footprint(final Object[] roots) {
+        return GraphLayout.parseInstance(roots).totalSize() - VM.current().sizeOf(roots);
+    }
+}
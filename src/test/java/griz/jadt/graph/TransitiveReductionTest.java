@@ -0,0 +1,139 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link TransitiveReduction} class.
+ *
+ * @author nichollsmc
+ */
+class TransitiveReductionTest {
+
+    @Test
+    void should_find_redundant_edges() {
+        final var graph = new DirectedGraph<Character, Edge<Character>>();
+        final var ad = new SimpleEdge<>('a', 'd');
+        final var ae = new SimpleEdge<>('a', 'e');
+
+        graph.addEdge(new SimpleEdge<>('a', 'b'));
+        graph.addEdge(new SimpleEdge<>('b', 'c'));
+        graph.addEdge(new SimpleEdge<>('c', 'd'));
+        graph.addEdge(new SimpleEdge<>('b', 'e'));
+        graph.addEdge(ad);
+        graph.addEdge(ae);
+        graph.addVertex('f');
+
+        final var reduction = new TransitiveReduction<>(graph);
+
+        assertEquals(2, reduction.count());
+        assertEquals(Set.of(ad, ae), new HashSet<>(reduction.redundantEdges()));
+        assertEquals(4, reduction.edges().size());
+
+        final var reduced = reduction.reducedGraph();
+
+        assertEquals(6, reduced.numVertices());
+        assertFalse(reduced.containsEdge('a', 'd'));
+        assertTrue(reduced.containsEdge('c', 'd'));
+        assertTrue(graph.containsEdge('a', 'd'));
+    }
+
+    @Test
+    void should_remove_redundant_edges_in_place_as_single_modification() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int i = 0; i < 5; i++) {
+            for (int j = i + 1; j < 5; j++) {
+                graph.addEdge(new SimpleEdge<>(i, j));
+            }
+        }
+
+        final var version = graph.modificationCount();
+
+        assertEquals(6, new TransitiveReduction<>(graph).removeFrom(graph));
+        assertEquals(version + 1, graph.modificationCount());
+        assertEquals(List.of(0, 1, 2, 3, 4), graph.topologicalOrder());
+        assertTrue(graph.containsEdge(3, 4));
+        assertFalse(graph.containsEdge(0, 2));
+    }
+
+    @Test
+    void should_reduce_reversed_views() {
+        final var graph = new DirectedGraph<Character, Edge<Character>>();
+        final var ac = new SimpleEdge<>('a', 'c');
+
+        graph.addEdge(new SimpleEdge<>('a', 'b'));
+        graph.addEdge(new SimpleEdge<>('b', 'c'));
+        graph.addEdge(ac);
+
+        final var reduction = new TransitiveReduction<>(graph.reverse());
+
+        assertEquals(1, reduction.count());
+        assertEquals(List.of(ac), reduction.redundantEdges());
+        assertEquals(2, reduction.edges().size());
+    }
+
+    @Test
+    void should_reject_cyclic_graphs() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+        graph.addEdge(new SimpleEdge<>(2, 1));
+
+        assertThrows(GraphException.class, () -> new TransitiveReduction<>(graph));
+    }
+
+    @Test
+    void should_match_naive_reduction_of_random_dag() {
+        final var random = new Random(11);
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        for (int v = 0; v < 1_500; v++) {
+            graph.addVertex(v);
+            for (int i = 0; i < 3; i++) {
+                final var w = v + 1 + random.nextInt(40);
+                if (w < 1_500) {
+                    graph.addEdge(new SimpleEdge<>(v, w));
+                }
+            }
+        }
+
+        final var redundant = new HashSet<Edge<Integer>>();
+        for (final var vertex : graph) {
+            for (final var edges = graph.edgesFrom(vertex); edges.hasNext();) {
+                final var edge = edges.next();
+                if (reachableWithout(graph, edge)) {
+                    redundant.add(edge);
+                }
+            }
+        }
+
+        assertEquals(redundant, new HashSet<>(new TransitiveReduction<>(graph).redundantEdges()));
+    }
+
+    private static boolean reachableWithout(final Graph<Integer, Edge<Integer>> graph, final Edge<Integer> excluded) {
+        final var visited = new HashSet<Integer>();
+        final var queue = new ArrayDeque<Integer>();
+        queue.add(excluded.source());
+        while (!queue.isEmpty()) {
+            for (final var edges = graph.edgesFrom(queue.poll()); edges.hasNext();) {
+                final var edge = edges.next();
+                if (edge != excluded && visited.add(edge.destination())) {
+                    if (edge.destination().equals(excluded.destination())) {
+                        return true;
+                    }
+                    queue.add(edge.destination());
+                }
+            }
+        }
+
+        return false;
+    }
+}
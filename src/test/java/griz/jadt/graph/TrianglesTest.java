@@ -0,0 +1,118 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link Triangles} class.
+ *
+ * @author nichollsmc
+ */
+class TrianglesTest {
+
+    @Test
+    void should_count_triangles_ignoring_direction() {
+        final var graph = new DirectedGraph<Character, Edge<Character>>();
+
+        graph.addEdge(new SimpleEdge<>('a', 'b'));
+        graph.addEdge(new SimpleEdge<>('b', 'c'));
+        graph.addEdge(new SimpleEdge<>('a', 'c'));
+        graph.addEdge(new SimpleEdge<>('c', 'a'));
+        graph.addEdge(new SimpleEdge<>('d', 'c'));
+        graph.addEdge(new SimpleEdge<>('b', 'd'));
+        graph.addEdge(new SimpleEdge<>('d', 'd'));
+        graph.addEdge(new SimpleEdge<>('d', 'e'));
+
+        final var triangles = new Triangles<>(graph);
+
+        assertEquals(2, triangles.count());
+        assertEquals(2, triangles.trianglesOf('c'));
+        assertEquals(1, triangles.trianglesOf('a'));
+        assertEquals(0, triangles.trianglesOf('e'));
+        assertEquals(1.0, triangles.clusteringCoefficient('a'));
+        assertEquals(1.0 / 3, triangles.clusteringCoefficient('d'), 1e-12);
+        assertEquals(0.0, triangles.clusteringCoefficient('e'));
+        assertEquals(3.0 * 2 / (1 + 3 + 3 + 3 + 0), triangles.transitivity(), 1e-12);
+        assertThrows(GraphException.class, () -> triangles.trianglesOf('x'));
+    }
+
+    @Test
+    void should_count_triangles_between_arrays_of_skewed_lengths() {
+        // vertices 1..100 form a path and outrank both hubs through their leaves, so each hub keeps an array of 100
+        // vertices that is intersected with arrays of at most two
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        final var hubs = new int[] { 0, 101 };
+        var leaf = 102;
+        for (int x = 1; x <= 100; x++) {
+            for (final var hub : hubs) {
+                graph.addEdge(new SimpleEdge<>(hub, x));
+            }
+            if (x < 100) {
+                graph.addEdge(new SimpleEdge<>(x, x + 1));
+            }
+            for (int i = 0; i < 100; i++) {
+                graph.addEdge(new SimpleEdge<>(x, leaf++));
+            }
+        }
+
+        final var triangles = new Triangles<>(graph);
+
+        assertEquals(2 * 99, triangles.count());
+        assertEquals(99, triangles.trianglesOf(0));
+        assertEquals(99, triangles.trianglesOf(101));
+        assertEquals(2, triangles.trianglesOf(1));
+        assertEquals(4, triangles.trianglesOf(50));
+        assertEquals(2, triangles.trianglesOf(100));
+        assertEquals(0, triangles.trianglesOf(leaf - 1));
+    }
+
+    @Test
+    void should_match_brute_force_on_random_graph() {
+        final var random = new Random(29);
+        final var n = 1_500;
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        final var adjacent = new HashSet<Long>();
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+        for (int i = 0; i < 12_000; i++) {
+            final var source = random.nextInt(n);
+            final var destination = random.nextInt(10) == 0 ? random.nextInt(20) : random.nextInt(n);
+            graph.addEdge(new SimpleEdge<>(source, destination));
+            adjacent.add((long) source * n + destination);
+            adjacent.add((long) destination * n + source);
+        }
+
+        final var triangles = new Triangles<>(graph);
+        final var perVertex = new long[n];
+        var expected = 0L;
+        for (int a = 0; a < n; a++) {
+            final Set<Integer> neighbors = new HashSet<>();
+            for (int b = a + 1; b < n; b++) {
+                if (adjacent.contains((long) a * n + b)) {
+                    neighbors.add(b);
+                }
+            }
+            for (final var b : neighbors) {
+                for (final var c : neighbors) {
+                    if (b < c && adjacent.contains((long) b * n + c)) {
+                        expected++;
+                        perVertex[a]++;
+                        perVertex[b]++;
+                        perVertex[c]++;
+                    }
+                }
+            }
+        }
+
+        assertEquals(expected, triangles.count());
+        for (int v = 0; v < n; v++) {
+            assertEquals(perVertex[v], triangles.trianglesOf(v));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link VersionedDirectedGraph} class.
+ *
+ * @author nichollsmc
+ */
+class VersionedDirectedGraphTest {
+
+    @Test
+    void should_add_and_remove_edges() {
+        final var graph = new VersionedDirectedGraph<Integer, Edge<Integer>>();
+
+        final var oneTwo = new SimpleEdge<>(1, 2);
+
+        graph.addEdge(oneTwo);
+        graph.addEdge(new SimpleEdge<>(2, 3));
+
+        assertTrue(graph.containsEdge(1, 2));
+        assertFalse(graph.containsEdge(2, 1));
+        assertEquals(oneTwo, graph.getEdge(1, 2));
+        assertEquals(3, graph.numVertices());
+
+        assertTrue(graph.removeEdge(oneTwo));
+        assertFalse(graph.removeEdge(oneTwo));
+        assertFalse(graph.edgesFrom(1).hasNext());
+        assertFalse(graph.edgesTo(2).hasNext());
+    }
+
+    @Test
+    void should_remove_vertices_with_edges() {
+        final var graph = new VersionedDirectedGraph<Integer, Edge<Integer>>();
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+        graph.addEdge(new SimpleEdge<>(2, 3));
+        graph.addEdge(new SimpleEdge<>(2, 2));
+
+        assertTrue(graph.removeVertex(2));
+        assertFalse(graph.containsVertex(2));
+        assertFalse(graph.edgesFrom(1).hasNext());
+        assertFalse(graph.edgesTo(3).hasNext());
+        assertEquals(2, graph.numVertices());
+    }
+
+    @Test
+    void snapshot_should_be_unaffected_by_writes() {
+        final var graph = new VersionedDirectedGraph<Character, Edge<Character>>();
+
+        graph.addEdge(new SimpleEdge<>('a', 'b'));
+
+        final var snapshot = graph.snapshot();
+
+        graph.addEdge(new SimpleEdge<>('b', 'c'));
+        graph.removeVertex('a');
+
+        assertTrue(snapshot.containsEdge('a', 'b'));
+        assertFalse(snapshot.containsVertex('c'));
+        assertEquals(Arrays.asList('a', 'b'), snapshot.topologicalOrder());
+        assertEquals(Arrays.asList('b', 'c'), graph.topologicalOrder());
+        assertTrue(graph.version() > snapshot.version());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.addVertex('d'));
+    }
+
+    @Test
+    void should_publish_updates_as_single_version() {
+        final var graph = new VersionedDirectedGraph<Integer, Edge<Integer>>();
+        final var before = graph.snapshot();
+
+        final var after = graph.update(g -> {
+            g.addEdge(new SimpleEdge<>(1, 2));
+            g.addEdge(new SimpleEdge<>(2, 3));
+            assertTrue(g.containsEdge(1, 2));
+            assertFalse(graph.containsEdge(1, 2));
+        });
+
+        assertSame(after, graph.snapshot());
+        assertEquals(0, before.numVertices());
+        assertEquals(Arrays.asList(1, 2, 3), graph.topologicalOrder());
+    }
+
+    @Test
+    void should_cache_topological_order_per_version() {
+        final var graph = new VersionedDirectedGraph<Integer, Edge<Integer>>();
+
+        graph.addEdge(new SimpleEdge<>(1, 2));
+
+        final var snapshot = graph.snapshot();
+
+        assertSame(snapshot.topologicalOrder(), snapshot.topologicalOrder());
+
+        graph.addEdge(new SimpleEdge<>(2, 1));
+
+        assertTrue(graph.hasCycle());
+        assertThrows(GraphException.class, graph::topologicalOrder);
+        assertFalse(snapshot.hasCycle());
+    }
+
+    @Test
+    void readers_should_observe_consistent_snapshots_during_writes() throws InterruptedException {
+        final var graph = new VersionedDirectedGraph<Integer, Edge<Integer>>();
+        final var done = new AtomicBoolean();
+        final var failure = new AtomicReference<Throwable>();
+
+        final var reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    final var snapshot = graph.snapshot();
+                    final var order = snapshot.topologicalOrder();
+                    assertEquals(snapshot.numVertices(), order.size());
+                    for (int i = 1; i < order.size(); i++) {
+                        assertTrue(snapshot.containsEdge(order.get(i - 1), order.get(i)));
+                    }
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 2_000; i++) {
+            graph.addEdge(new SimpleEdge<>(i, i + 1));
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(2_001, graph.numVertices());
+    }
+}
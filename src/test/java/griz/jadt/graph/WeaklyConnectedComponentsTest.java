@@ -0,0 +1,94 @@
+package griz.jadt.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link WeaklyConnectedComponents} class.
+ *
+ * @author nichollsmc
+ */
+class WeaklyConnectedComponentsTest {
+
+    @Test
+    void should_ignore_edge_direction() {
+        final var graph = new DirectedGraph<String, Edge<String>>();
+
+        graph.addEdge(new SimpleEdge<>("a", "b"));
+        graph.addEdge(new SimpleEdge<>("c", "b"));
+        graph.addEdge(new SimpleEdge<>("d", "e"));
+        graph.addVertex("f");
+
+        final var components = new WeaklyConnectedComponents<>(graph);
+
+        assertEquals(3, components.count());
+        assertTrue(components.connected("a", "c"));
+        assertFalse(components.connected("a", "d"));
+        assertEquals(3, components.sizeOf("b"));
+        assertEquals(components.componentOf("d"), components.componentOf("e"));
+        assertEquals(Set.of(Set.of("a", "b", "c"), Set.of("d", "e"), Set.of("f")),
+                Set.copyOf(components.components()));
+        assertThrows(GraphException.class, () -> components.componentOf("x"));
+    }
+
+    @Test
+    void should_apply_incremental_updates() {
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        graph.addEdge(new SimpleEdge<>(1, 2));
+        graph.addVertex(3);
+
+        final var components = new WeaklyConnectedComponents<>(graph);
+
+        assertEquals(2, components.count());
+        assertTrue(components.vertexAdded(4));
+        assertFalse(components.vertexAdded(4));
+        assertEquals(3, components.count());
+        assertTrue(components.edgeAdded(new SimpleEdge<>(3, 2)));
+        assertFalse(components.edgeAdded(new SimpleEdge<>(1, 3)));
+        assertTrue(components.edgeAdded(new SimpleEdge<>(5, 6)));
+        assertEquals(3, components.count());
+        assertEquals(3, components.sizeOf(1));
+        assertTrue(components.connected(5, 6));
+
+        for (int i = 6; i < 100; i++) {
+            components.edgeAdded(new SimpleEdge<>(i, i + 1));
+        }
+
+        assertEquals(96, components.sizeOf(5));
+        assertArrayEquals(new int[] { 3, 1, 96 }, components.sizes());
+    }
+
+    @Test
+    void parallel_computation_should_match_sequential_updates() {
+        final var random = new Random(23);
+        final var graph = new DirectedGraph<Integer, Edge<Integer>>();
+        IntStream.range(0, 20_000).forEach(graph::addVertex);
+        for (int i = 0; i < 15_000; i++) {
+            graph.addEdge(new SimpleEdge<>(random.nextInt(20_000), random.nextInt(20_000)));
+        }
+
+        final var components = new WeaklyConnectedComponents<>(graph);
+        final var incremental = new WeaklyConnectedComponents<>(new DirectedGraph<Integer, Edge<Integer>>());
+        for (final var vertex : graph) {
+            incremental.vertexAdded(vertex);
+            graph.edgesFrom(vertex).forEachRemaining(incremental::edgeAdded);
+        }
+
+        assertEquals(incremental.count(), components.count());
+        for (final var vertex : List.of(0, 1, 2, 19_999)) {
+            for (final var other : List.of(3, 4, 5, 6)) {
+                assertEquals(incremental.connected(vertex, other), components.connected(vertex, other));
+            }
+            assertEquals(incremental.sizeOf(vertex), components.sizeOf(vertex));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package griz.jadt.graph.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the functionality of the {@link GraphGenerator} implementations and of {@link EdgeList}.
+ *
+ * @author nichollsmc
+ */
+class GraphGeneratorTest {
+
+    @Test
+    void generators_should_be_deterministic() {
+        final GraphGenerator[] generators = {
+            RMatGenerator.graph500(12),
+            new BarabasiAlbertGenerator(5_000, 4),
+            ErdosRenyiGenerator.withAverageDegree(5_000, 8),
+            new LayeredDagGenerator(20, 500, 2, 0.01),
+            new ErdosRenyiGenerator(2_000, 0.01).weighted(1, 10)
+        };
+
+        for (final var generator : generators) {
+            final var first = generator.generate(42);
+            final var second = generator.generate(42);
+
+            assertArrayEquals(pairs(first), pairs(second));
+            assertArrayEquals(weights(first), weights(second));
+            assertFalse(Arrays.equals(pairs(first), pairs(generator.generate(43))));
+        }
+    }
+
+    @Test
+    void chain_should_link_consecutive_vertices() {
+        final var edges = new ChainGenerator(1_000).generate(0);
+        final var graph = edges.toDirectedGraph();
+
+        assertEquals(999, edges.size());
+        assertEquals(7, edges.source(7));
+        assertEquals(8, edges.destination(7));
+        assertEquals(1_000, graph.numVertices());
+        assertEquals(Integer.valueOf(0), graph.topologicalOrder().get(0));
+        assertEquals(Integer.valueOf(999), graph.topologicalOrder().get(999));
+        assertEquals(0, new ChainGenerator(0).generate(0).size());
+    }
+
+    @Test
+    void rmat_should_generate_skewed_degrees() {
+        final var edges = RMatGenerator.graph500(14).generate(7);
+        final var degrees = new int[edges.numVertices()];
+        for (int i = 0; i < edges.size(); i++) {
+            degrees[edges.source(i)]++;
+        }
+
+        assertEquals(1 << 14, edges.numVertices());
+        assertEquals(16 << 14, edges.size());
+        assertTrue(Arrays.stream(degrees).max().getAsInt() > 20 * 16);
+    }
+
+    @Test
+    void barabasi_albert_should_attach_to_earlier_vertices() {
+        final var edges = new BarabasiAlbertGenerator(10_000, 3).generate(5);
+        final var degrees = new int[edges.numVertices()];
+        for (int i = 0; i < edges.size(); i++) {
+            assertEquals(i / 3, edges.source(i));
+            assertTrue(edges.destination(i) <= edges.source(i));
+            degrees[edges.destination(i)]++;
+        }
+
+        assertEquals(30_000, edges.size());
+        assertTrue(degrees[0] + degrees[1] + degrees[2] > 100);
+    }
+
+    @Test
+    void erdos_renyi_should_generate_distinct_edges_with_expected_density() {
+        final var n = 3_000;
+        final var p = 0.002;
+        final var edges = new ErdosRenyiGenerator(n, p).generate(11);
+        final var pairs = pairs(edges);
+        final var expected = p * n * (n - 1);
+
+        assertEquals(pairs.length, Arrays.stream(pairs).distinct().count());
+        assertTrue(Math.abs(edges.size() - expected) < 5 * Math.sqrt(expected));
+        for (int i = 0; i < edges.size(); i++) {
+            assertNotEquals(edges.source(i), edges.destination(i));
+        }
+        assertEquals(0, new ErdosRenyiGenerator(n, 0).generate(11).size());
+        assertEquals(20 * 19, new ErdosRenyiGenerator(20, 1).generate(11).size());
+    }
+
+    @Test
+    void layered_dag_should_only_link_following_layers() {
+        final var edges = new LayeredDagGenerator(30, 100, 2, 0.02).generate(3);
+
+        for (int i = 0; i < edges.size(); i++) {
+            final var layer = edges.source(i) / 100;
+            final var next = edges.destination(i) / 100;
+            assertTrue(next == layer + 1 || next == layer + 2);
+        }
+        assertTrue(edges.size() > 0);
+        assertFalse(edges.toDirectedGraph().hasCycle());
+    }
+
+    @Test
+    void weighted_edges_should_load_into_graphs() {
+        final var edges = RMatGenerator.graph500(10).weighted(1, 5).generate(9);
+        final var weights = new HashMap<Long, Double>();
+        for (int i = 0; i < edges.size(); i++) {
+            assertTrue(edges.weight(i) >= 1 && edges.weight(i) < 5);
+            final var previous = weights.put((long) edges.source(i) << 32 | edges.destination(i), edges.weight(i));
+            assertTrue(previous == null || previous == edges.weight(i));
+        }
+
+        final var graph = edges.toWeightedGraph();
+        final var longGraph = edges.toLongDirectedGraph();
+        var numEdges = 0;
+        for (final var vertex : graph) {
+            for (final var iterator = graph.edgesFrom(vertex); iterator.hasNext(); numEdges++) {
+                final var edge = iterator.next();
+                assertEquals(longGraph.weight(edge.source(), edge.destination()), edge.weight());
+            }
+        }
+
+        assertEquals(edges.numVertices(), graph.numVertices());
+        assertEquals(edges.numVertices(), longGraph.numVertices());
+        assertEquals(weights.size(), numEdges);
+        assertEquals(weights.size(), longGraph.numEdges());
+        assertThrows(IllegalStateException.class, () -> new ChainGenerator(3).generate(0).toWeightedGraph());
+    }
+
+    @Test
+    void unweighted_edges_should_load_into_long_graph() {
+        final var edges = new BarabasiAlbertGenerator(2_000, 5).generate(1);
+        final var graph = edges.toDirectedGraph();
+        final var longGraph = edges.toLongDirectedGraph();
+        final var distinct = new HashSet<Long>();
+        for (final var pair : pairs(edges)) {
+            distinct.add(pair);
+        }
+
+        assertEquals(distinct.size(), longGraph.numEdges());
+        for (final var vertex : graph) {
+            assertEquals(longGraph.outDegree(vertex), count(graph.edgesFrom(vertex)));
+        }
+    }
+
+    @Test
+    void generators_should_reject_invalid_parameters() {
+        assertThrows(IllegalArgumentException.class, () -> new RMatGenerator(31, 16, 0.57, 0.19, 0.19));
+        assertThrows(IllegalArgumentException.class, () -> new RMatGenerator(30, 4, 0.57, 0.19, 0.19));
+        assertThrows(IllegalArgumentException.class, () -> new RMatGenerator(10, 16, 0.6, 0.3, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new BarabasiAlbertGenerator(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ErdosRenyiGenerator(10, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new LayeredDagGenerator(0, 10, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> new ChainGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ChainGenerator(5).weighted(2, 1));
+    }
+
+    private static long[] pairs(final EdgeList edges) {
+        final var result = new long[edges.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (long) edges.source(i) << 32 | edges.destination(i);
+        }
+
+        return result;
+    }
+
+    private static long[] weights(final EdgeList edges) {
+        final var result = new long[edges.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Double.doubleToLongBits(edges.weight(i));
+        }
+
+        return result;
+    }
+
+    private static int count(final Iterator<?> iterator) {
+        var count = 0;
+        for (; iterator.hasNext(); iterator.next()) {
+            count++;
+        }
+
+        return count;
+    }
+}